@@ -0,0 +1,72 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+
+//add/roll with large amounts, the cost must not grow with the amount
+public class AddBenchmark {
+
+    private static final long BASE_TIME = 1600000000000L;
+
+    public static void main(String[] args) {
+        int iterations = 1000000;
+
+        Object[][] cases = {
+                {"DAY_OF_MONTH", Calendar.DAY_OF_MONTH, 1},
+                {"DAY_OF_MONTH", Calendar.DAY_OF_MONTH, 36500},
+                {"MONTH", Calendar.MONTH, 1200},
+                {"YEAR", Calendar.YEAR, 100},
+                {"WEEK_OF_YEAR", Calendar.WEEK_OF_YEAR, 5200},
+                {"HOUR_OF_DAY", Calendar.HOUR_OF_DAY, 876000},
+                {"MINUTE", Calendar.MINUTE, 52560000},
+        };
+
+        for (Object[] c : cases) {
+            int field  = (Integer) c[1];
+            int amount = (Integer) c[2];
+            new Bench("add(" + c[0] + ", " + amount + ")", 3)
+                    .add("FastPersianCalendar", iterations, () -> testAdd(field, amount, iterations))
+                    .add("GregorianCalendar", iterations, () -> testGregorian(field, amount, iterations))
+                    .run();
+        }
+
+        new Bench("roll(DAY_OF_MONTH, 1000)", 3)
+                .add("FastPersianCalendar", iterations, () -> testRoll(Calendar.DAY_OF_MONTH, 1000, iterations))
+                .run();
+    }
+
+    //Alternate the sign so the date stays in range
+    private static long testAdd(int field, int amount, int iterations) {
+        FastPersianCalendar cal = FastPersianCalendar.ofEpochMillis(BASE_TIME);
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.add(field, (i & 1) == 0 ? amount : -amount);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+
+    private static long testGregorian(int field, int amount, int iterations) {
+        GregorianCalendar cal = new GregorianCalendar();
+        long              sum = 0;
+        cal.setTimeInMillis(BASE_TIME);
+        for (int i = 0; i < iterations; i++) {
+            cal.add(field, (i & 1) == 0 ? amount : -amount);
+            sum += cal.get(Calendar.YEAR);
+        }
+        return sum;
+    }
+
+    private static long testRoll(int field, int amount, int iterations) {
+        FastPersianCalendar cal = FastPersianCalendar.ofEpochMillis(BASE_TIME);
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.roll(field, (i & 1) == 0 ? amount : -amount);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+}
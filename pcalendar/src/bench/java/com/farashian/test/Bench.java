@@ -0,0 +1,93 @@
+package com.farashian.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+
+//Timing loop shared by the benchmark mains. Every case is warmed up, then timed once and reported
+//per operation against the first case. Cases return a value that is summed and printed, so the JIT
+//cannot drop their work. Numbers come from a single run on the current build; to compare builds,
+//run the same main against each of them.
+final class Bench {
+
+    private final String     title;
+    private final int        warmups;
+    private final List<Case> cases = new ArrayList<>();
+
+    private long sink;
+
+    Bench(String title, int warmups) {
+        this.title   = title;
+        this.warmups = warmups;
+    }
+
+    /**
+     * @param ops operations one run performs, to report the time per operation
+     */
+    Bench add(String name, long ops, LongSupplier run) {
+        return add(name, ops, () -> {}, run);
+    }
+
+    /**
+     * @param setup untimed, runs before every run of the case
+     */
+    Bench add(String name, long ops, Runnable setup, LongSupplier run) {
+        cases.add(new Case(name, ops, setup, run));
+        return this;
+    }
+
+    void run() {
+        for (int i = 0; i < warmups; i++) {
+            for (Case c : cases) {
+                c.setup.run();
+                sink += c.run.getAsLong();
+            }
+        }
+
+        System.out.println(title);
+        double first = 0;
+        for (Case c : cases) {
+            c.setup.run();
+            long start = System.nanoTime();
+            sink += c.run.getAsLong();
+            double perOp = (System.nanoTime() - start) / (double) c.ops;
+
+            String line = "  " + c.name + ": " + format(perOp) + "/op";
+            if (c == cases.get(0)) {
+                first = perOp;
+            } else if (perOp <= first) {
+                line += String.format(Locale.US, " (%.1fx faster than %s)", first / perOp, cases.get(0).name);
+            } else {
+                line += String.format(Locale.US, " (%.1fx slower than %s)", perOp / first, cases.get(0).name);
+            }
+            System.out.println(line);
+        }
+        System.out.println("  (sink " + sink + ")");
+    }
+
+    private static String format(double nanos) {
+        if (nanos >= 1e6) {
+            return String.format(Locale.US, "%.1f ms", nanos / 1e6);
+        }
+        if (nanos >= 1e4) {
+            return String.format(Locale.US, "%.1f us", nanos / 1e3);
+        }
+        return String.format(Locale.US, "%.1f ns", nanos);
+    }
+
+    private static final class Case {
+        final String       name;
+        final long         ops;
+        final Runnable     setup;
+        final LongSupplier run;
+
+        Case(String name, long ops, Runnable setup, LongSupplier run) {
+            this.name  = name;
+            this.ops   = ops;
+            this.setup = setup;
+            this.run   = run;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.PersianBuckets;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TimeZone;
+
+
+//Counting events per Persian month: one calendar per event vs PersianBuckets boundary search
+public class BucketingBenchmark {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Asia/Tehran");
+    private static final long     FROM = 1577836800000L; //2020-01-01
+    private static final long     TO   = 1735689600000L; //2025-01-01
+
+    public static void main(String[] args) {
+        int      events = 1_000_000;
+        long[]   millis = new long[events];
+        long[]   values = new long[events];
+        Random   random = new Random(42);
+        for (int i = 0; i < events; i++) {
+            millis[i] = FROM + (long) (random.nextDouble() * (TO - FROM));
+            values[i] = random.nextInt(1000);
+        }
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        PersianBuckets buckets = PersianBuckets.of(PersianBuckets.Granularity.MONTH, ZONE, FROM, TO);
+
+        //Time-ordered input hits the previous bucket
+        new Bench("Count and sum events per Persian month", 3)
+                .add("Calendar per event", events, () -> testCalendar(millis, values))
+                .add("PersianBuckets random", events, () -> testBuckets(buckets, millis, values))
+                .add("PersianBuckets sorted", events, () -> testBuckets(buckets, sorted, values))
+                .run();
+    }
+
+    private static long testCalendar(long[] millis, long[] values) {
+        long[]              counts   = new long[12 * 10];
+        long[]              sums     = new long[12 * 10];
+        FastPersianCalendar calendar = new FastPersianCalendar(ZONE);
+        for (int i = 0; i < millis.length; i++) {
+            calendar.setTimeInMillis(millis[i]);
+            int bucket = (calendar.getYear() - 1398) * 12 + calendar.getMonth() - 1;
+            counts[bucket]++;
+            sums[bucket] += values[i];
+        }
+        return counts[20] + sums[20];
+    }
+
+    private static long testBuckets(PersianBuckets buckets, long[] millis, long[] values) {
+        PersianBuckets.Totals totals = buckets.aggregate(millis, values);
+        return totals.getCount(20) + totals.getSum(20);
+    }
+}
@@ -0,0 +1,47 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+
+//Object creation for a known date, clock read + two conversions vs a single conversion
+public class ConstructionBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = 1000000;
+
+        new Bench("Calendar for a known date", 5)
+                .add("new + setDate", iterations, () -> testNowThenSet(iterations))
+                .add("ofPersian", iterations, () -> testOfPersian(iterations))
+                .add("ofGregorian", iterations, () -> testOfGregorian(iterations))
+                .run();
+    }
+
+    //Computes now, then computes the requested date
+    private static long testNowThenSet(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar cal = new FastPersianCalendar();
+            cal.setDate(1380 + i % 40, 1 + i % 12, 1 + i % 28);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+
+    private static long testOfPersian(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar cal = FastPersianCalendar.ofPersian(1380 + i % 40, 1 + i % 12, 1 + i % 28);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+
+    private static long testOfGregorian(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar cal = FastPersianCalendar.ofGregorian(2000 + i % 40, 1 + i % 12, 1 + i % 28);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+}
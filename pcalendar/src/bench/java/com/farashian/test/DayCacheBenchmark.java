@@ -0,0 +1,48 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+
+//setTimeInMillis + date and week fields, instants on a few days (cache hits) vs a new day every call
+public class DayCacheBenchmark {
+
+    private static final long BASE_TIME = 1700000000000L;
+    private static final long FEW_DAYS  = 86400000L * 3;
+    private static final long NEW_DAY   = 86400000L + 3600000L * 7 + 12345L;
+
+    public static void main(String[] args) {
+        int iterations = 1000000;
+
+        new Bench("setTimeInMillis, then date, week and time fields", 5)
+                .add("New day every call", iterations, FastPersianCalendar::clearDayCache, () -> testNewDays(iterations))
+                .add("Same few days", iterations, FastPersianCalendar::clearDayCache, () -> testFewDays(iterations))
+                .run();
+
+        FastPersianCalendar.clearDayCache();
+        testNewDays(iterations);
+        System.out.println("  New day every call, misses: " + FastPersianCalendar.getDayCacheMisses());
+        FastPersianCalendar.clearDayCache();
+        testFewDays(iterations);
+        System.out.println("  Same few days, hits: " + FastPersianCalendar.getDayCacheHits());
+    }
+
+    private static long testFewDays(int iterations) {
+        FastPersianCalendar cal = new FastPersianCalendar();
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.setTimeInMillis(BASE_TIME + (i * 7919L * 1000) % FEW_DAYS);
+            sum += cal.getYear() + cal.getWeekOfYear() + cal.getHourOfDay();
+        }
+        return sum;
+    }
+
+    private static long testNewDays(int iterations) {
+        FastPersianCalendar cal = new FastPersianCalendar();
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.setTimeInMillis(BASE_TIME + i * NEW_DAY);
+            sum += cal.getYear() + cal.getWeekOfYear() + cal.getHourOfDay();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,111 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.PersianDateSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+//Union and intersection days of two sets of leave intervals,
+//PersianDateSet vs lists of FastPersianCalendar pairs with calculateOverlapDays
+public class IntervalSetBenchmark {
+
+    private static final int  INTERVALS = 2000;
+    private static final long FIRST_DAY = 19000;
+    private static final int  SPAN      = 3650;
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        long[] firstA = new long[INTERVALS];
+        long[] lastA  = new long[INTERVALS];
+        long[] firstB = new long[INTERVALS];
+        long[] lastB  = new long[INTERVALS];
+        fill(random, firstA, lastA);
+        fill(random, firstB, lastB);
+
+        List<FastPersianCalendar[]> pairsA = toPairs(firstA, lastA);
+        List<FastPersianCalendar[]> pairsB = toPairs(firstB, lastB);
+
+        int iterations = 20;
+
+        new Bench("Union and intersection days of " + INTERVALS + " intervals each", 3)
+                .add("Calendar pairs", iterations, () -> testPairs(pairsA, pairsB, iterations))
+                .add("PersianDateSet", iterations, () -> testSets(firstA, lastA, firstB, lastB, iterations))
+                .run();
+    }
+
+    private static void fill(Random random, long[] first, long[] last) {
+        for (int i = 0; i < first.length; i++) {
+            first[i] = FIRST_DAY + random.nextInt(SPAN);
+            last[i]  = first[i] + random.nextInt(10);
+        }
+    }
+
+    private static List<FastPersianCalendar[]> toPairs(long[] first, long[] last) {
+        List<FastPersianCalendar[]> pairs = new ArrayList<>();
+        for (int i = 0; i < first.length; i++) {
+            pairs.add(new FastPersianCalendar[]{
+                    FastPersianCalendar.ofEpochDay(first[i]), FastPersianCalendar.ofEpochDay(last[i])});
+        }
+        return pairs;
+    }
+
+    private static long testSets(long[] firstA, long[] lastA, long[] firstB, long[] lastB, int iterations) {
+        long sum = 0;
+        for (int n = 0; n < iterations; n++) {
+            PersianDateSet a = PersianDateSet.of(firstA, lastA);
+            PersianDateSet b = PersianDateSet.of(firstB, lastB);
+            sum += a.union(b).totalDays() + a.intersect(b).totalDays();
+        }
+        return sum;
+    }
+
+    private static long testPairs(List<FastPersianCalendar[]> pairsA, List<FastPersianCalendar[]> pairsB,
+            int iterations) {
+        long sum = 0;
+        for (int n = 0; n < iterations; n++) {
+            List<FastPersianCalendar[]> a = merge(pairsA);
+            List<FastPersianCalendar[]> b = merge(pairsB);
+
+            List<FastPersianCalendar[]> all = new ArrayList<>(a);
+            all.addAll(b);
+            long unionDays = 0;
+            for (FastPersianCalendar[] pair : merge(all)) {
+                unionDays += pair[0].calculateDaysBetween(pair[1]) + 1;
+            }
+
+            long overlapDays = 0;
+            for (FastPersianCalendar[] x : a) {
+                for (FastPersianCalendar[] y : b) {
+                    overlapDays += FastPersianCalendar.calculateOverlapDays(x[0], x[1], y[0], y[1]);
+                }
+            }
+            sum += unionDays + overlapDays;
+        }
+        return sum;
+    }
+
+    //Sort by start and merge overlapping or adjacent pairs, copying the calendars it extends
+    private static List<FastPersianCalendar[]> merge(List<FastPersianCalendar[]> pairs) {
+        List<FastPersianCalendar[]> sorted = new ArrayList<>(pairs);
+        sorted.sort((x, y) -> x[0].compareTo(y[0]));
+        List<FastPersianCalendar[]> result = new ArrayList<>();
+        for (FastPersianCalendar[] pair : sorted) {
+            FastPersianCalendar[] last = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (last != null) {
+                FastPersianCalendar dayAfter = last[1].clone();
+                dayAfter.addDays(1);
+                if (!pair[0].isAfter(dayAfter)) {
+                    if (pair[1].isAfter(last[1])) {
+                        last[1] = pair[1];
+                    }
+                    continue;
+                }
+            }
+            result.add(new FastPersianCalendar[]{pair[0], pair[1]});
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+import java.util.GregorianCalendar;
+
+
+//setTimeInMillis + getYear vs reading every field group, on the current build.
+//Only uses API that predates the lazy field groups, so running it against an older build
+//shows what the change saves.
+public class LazyFieldsBenchmark {
+
+    private static final long BASE_TIME = 1600000000000L;
+    private static final long STEP      = 86400000L * 3 + 3600000L * 7 + 12345L;
+
+    public static void main(String[] args) {
+        int iterations = 1000000;
+
+        new Bench("setTimeInMillis, then read fields", 5)
+                .add("getYear only", iterations, () -> testYearOnly(iterations))
+                .add("All field groups", iterations, () -> testAllGroups(iterations))
+                .add("GregorianCalendar YEAR", iterations, () -> testGregorian(iterations))
+                .run();
+    }
+
+    private static long testYearOnly(int iterations) {
+        FastPersianCalendar cal = new FastPersianCalendar();
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.setTimeInMillis(BASE_TIME + i * STEP);
+            sum += cal.getYear();
+        }
+        return sum;
+    }
+
+    //Date, week, time of day and zone offsets, so every group is computed
+    private static long testAllGroups(int iterations) {
+        FastPersianCalendar cal = new FastPersianCalendar();
+        long                sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.setTimeInMillis(BASE_TIME + i * STEP);
+            sum += cal.getYear() + cal.getWeekOfYear() + cal.getHourOfDay() + cal.get(FastPersianCalendar.ZONE_OFFSET);
+        }
+        return sum;
+    }
+
+    private static long testGregorian(int iterations) {
+        GregorianCalendar cal = new GregorianCalendar();
+        long              sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            cal.setTimeInMillis(BASE_TIME + i * STEP);
+            sum += cal.get(GregorianCalendar.YEAR);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,56 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.YMD;
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.MonthGrid;
+import com.farashian.pcalendar.fast.MonthGridCache;
+import com.farashian.pcalendar.util.HijriConvertor;
+import com.farashian.pcalendar.util.HolidayCalendar;
+
+
+//6x7 grid with Persian, Gregorian and Hijri days: 42 calendars plus Hijri walks vs MonthGrid
+public class MonthGridBenchmark {
+
+    private static final int FIRST_YEAR = 1400;
+
+    public static void main(String[] args) {
+        int iterations = 2000;
+
+        //Capacity 1 while paging through months builds every grid, capacity 12 over three months hits the cache
+        new Bench("6x7 Persian, Gregorian and Hijri grid", 3)
+                .add("42 calendars + Hijri", iterations, () -> testCalendars(iterations))
+                .add("MonthGrid build", iterations, () -> testGrids(iterations, 1, 60))
+                .add("MonthGrid cached", iterations, () -> testGrids(iterations, 12, 3))
+                .run();
+    }
+
+    private static long testCalendars(int iterations) {
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        long            sum      = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar first = FastPersianCalendar.ofPersian(FIRST_YEAR + i / 12 % 5, i % 12 + 1, 1);
+            long firstCell = first.toEpochDay() - (first.getDayOfWeek() % 7);
+            for (int cell = 0; cell < MonthGrid.CELLS; cell++) {
+                FastPersianCalendar day = FastPersianCalendar.ofEpochDay(firstCell + cell);
+                YMD hijri = HijriConvertor.gregorianToHijri(day.getGrgYear(), day.getGrgMonth() - 1, day.getGrgDay());
+                sum += day.getDayOfMonth() + day.getGrgDay() + hijri.day
+                       + (holidays.isHoliday(firstCell + cell) ? 1 : 0);
+            }
+        }
+        return sum;
+    }
+
+    private static long testGrids(int iterations, int capacity, int months) {
+        MonthGridCache cache = new MonthGridCache(HolidayCalendar.getDefault(), capacity);
+        long           sum   = 0;
+        for (int i = 0; i < iterations; i++) {
+            int month = i % months;
+            MonthGrid grid = cache.get(FIRST_YEAR + month / 12, month % 12 + 1);
+            for (int cell = 0; cell < MonthGrid.CELLS; cell++) {
+                sum += grid.getPersianDay(cell) + grid.getGregorianDay(cell) + grid.getHijriDay(cell)
+                       + (grid.isHoliday(cell) ? 1 : 0);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,43 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.MonthInfo;
+
+import java.util.Calendar;
+
+
+//Month view header facts for the months of a few years, computed through calendars vs MonthInfo
+public class MonthInfoBenchmark {
+
+    private static final int FIRST_YEAR = 1400;
+    private static final int YEARS      = 5;
+
+    public static void main(String[] args) {
+        int iterations = 20000;
+
+        new Bench("Month view header facts", 3)
+                .add("FastPersianCalendar", iterations, () -> testCalendar(iterations))
+                .add("MonthInfo", iterations, () -> testMonthInfo(iterations))
+                .run();
+    }
+
+    private static long testCalendar(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar first = FastPersianCalendar.ofPersian(FIRST_YEAR + i % YEARS, i % 12 + 1, 1);
+            sum += first.getDaysInMonth() + first.getDayOfWeek() + first.getActualMaximum(Calendar.WEEK_OF_MONTH)
+                   + first.get(Calendar.WEEK_OF_YEAR) + first.getGrgYear() + first.getGrgMonth() + first.getGrgDay();
+        }
+        return sum;
+    }
+
+    private static long testMonthInfo(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            MonthInfo month = MonthInfo.of(FIRST_YEAR + i % YEARS, i % 12 + 1);
+            sum += month.getLength() + month.getFirstDayOfWeek() + month.getWeekCount()
+                   + month.getWeekOfYear(1) + month.getGrgYear() + month.getGrgMonth() + month.getGrgDay();
+        }
+        return sum;
+    }
+}
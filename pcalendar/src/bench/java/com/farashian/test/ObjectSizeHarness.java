@@ -0,0 +1,78 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.PersianCalendar;
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+import java.util.GregorianCalendar;
+import java.util.function.IntFunction;
+
+
+//Retained bytes per instance, measured as the heap growth of holding many instances.
+//Exits with status 1 when a type grows past its budget so footprint regressions are caught.
+public class ObjectSizeHarness {
+
+    private static final int COUNT = 200000;
+
+    private static boolean failed;
+
+    public static void main(String[] args) {
+        //Warm up class loading and the zone/locale caches
+        measure(FastPersianCalendar::ofEpochMillis);
+        measure(PersianCalendar::new);
+        measure(i -> new GregorianCalendar());
+
+        report("FastPersianCalendar", measure(i -> FastPersianCalendar.ofEpochMillis(1600000000000L + i * 60000L)), 450);
+        report("FastPersianCalendar.copy()", measure(copyOf(FastPersianCalendar.ofEpochMillis(1600000000000L))), 450);
+        report("PersianCalendar", measure(i -> new PersianCalendar(1600000000000L + i * 60000L)), 0);
+        report("GregorianCalendar", measure(i -> {
+            GregorianCalendar cal = new GregorianCalendar();
+            cal.setTimeInMillis(1600000000000L + i * 60000L);
+            return cal;
+        }), 0);
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static IntFunction<Object> copyOf(FastPersianCalendar source) {
+        return i -> source.copy();
+    }
+
+    private static long measure(IntFunction<?> factory) {
+        Object[] holder = new Object[COUNT];
+        long     before = usedMemory();
+        for (int i = 0; i < COUNT; i++) {
+            holder[i] = factory.apply(i);
+        }
+        long after = usedMemory();
+
+        //Keep the instances reachable until the measurement is taken
+        if (holder[COUNT - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / COUNT;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //A budget of 0 only reports the size
+    private static void report(String name, long bytes, long budget) {
+        boolean over = budget > 0 && bytes > budget;
+        System.out.println(name + ": " + bytes + " bytes/instance"
+                           + (budget > 0 ? " (budget " + budget + ")" : "")
+                           + (over ? " OVER BUDGET" : ""));
+        failed |= over;
+    }
+}
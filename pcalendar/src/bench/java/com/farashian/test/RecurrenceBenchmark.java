@@ -0,0 +1,43 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.PersianRecurrence;
+
+import java.util.Calendar;
+
+
+//Next "last Thursday of the Persian month" after a day, scanning with addDays vs PersianRecurrence
+public class RecurrenceBenchmark {
+
+    private static final long FIRST_DAY = 19000;
+
+    public static void main(String[] args) {
+        int iterations = 20000;
+
+        new Bench("Next last Thursday of the Persian month", 5)
+                .add("addDays scan", iterations, () -> testScan(iterations))
+                .add("PersianRecurrence", iterations, () -> testRecurrence(iterations))
+                .run();
+    }
+
+    private static long testScan(int iterations) {
+        long sum = 0;
+        for (int i = 0; i < iterations; i++) {
+            FastPersianCalendar cal = FastPersianCalendar.ofEpochDay(FIRST_DAY + i % 3650);
+            do {
+                cal.addDays(1);
+            } while (cal.getDayOfWeek() != Calendar.THURSDAY || cal.getDayOfMonth() + 7 <= cal.getDaysInMonth());
+            sum += cal.toEpochDay();
+        }
+        return sum;
+    }
+
+    private static long testRecurrence(int iterations) {
+        PersianRecurrence lastThursday = PersianRecurrence.monthlyOnWeekday(-1, Calendar.THURSDAY);
+        long              sum          = 0;
+        for (int i = 0; i < iterations; i++) {
+            sum += lastThursday.nextAfter(FIRST_DAY + i % 3650);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,88 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.util.ReminderWheel;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TimeZone;
+
+
+//Schedule reminders over 30 days, cancel some, then fire them all minute by minute,
+//PriorityQueue of FastPersianCalendar vs ReminderWheel
+public class ReminderWheelBenchmark {
+
+    private static final TimeZone ZONE      = TimeZone.getTimeZone("Asia/Tehran");
+    private static final long     START     = 1700000000000L;
+    private static final long     SPAN      = 30 * 86400000L;
+    private static final long     MINUTE    = 60000L;
+    private static final int      REMINDERS = 200000;
+    private static final int      CANCELS   = 200;
+
+    private static final class Reminder implements Comparable<Reminder> {
+        final FastPersianCalendar due;
+        final long                id;
+
+        Reminder(FastPersianCalendar due, long id) {
+            this.due = due;
+            this.id  = id;
+        }
+
+        @Override
+        public int compareTo(Reminder other) {
+            return due.compareTo(other.due);
+        }
+    }
+
+    public static void main(String[] args) {
+        long[] dues = new long[REMINDERS];
+        Random random = new Random(11);
+        for (int i = 0; i < REMINDERS; i++) {
+            dues[i] = START + (long) (random.nextDouble() * SPAN);
+        }
+
+        new Bench("Schedule " + REMINDERS + " reminders, cancel " + CANCELS + ", fire all", 2)
+                .add("PriorityQueue<FastPersianCalendar>", 1, () -> testQueue(dues))
+                .add("ReminderWheel", 1, () -> testWheel(dues))
+                .run();
+    }
+
+    private static long testQueue(long[] dues) {
+        PriorityQueue<Reminder> queue     = new PriorityQueue<>();
+        Reminder[]              reminders = new Reminder[dues.length];
+        for (int i = 0; i < dues.length; i++) {
+            FastPersianCalendar due = new FastPersianCalendar(ZONE);
+            due.setTimeInMillis(dues[i]);
+            reminders[i] = new Reminder(due, i);
+            queue.add(reminders[i]);
+        }
+        for (int i = 0; i < CANCELS; i++) {
+            queue.remove(reminders[i * 7]);
+        }
+        FastPersianCalendar now = new FastPersianCalendar(ZONE);
+        long                sum = 0;
+        for (long time = START; time <= START + SPAN; time += MINUTE) {
+            now.setTimeInMillis(time);
+            while (!queue.isEmpty() && !queue.peek().due.after(now)) {
+                sum += queue.poll().id;
+            }
+        }
+        return sum;
+    }
+
+    private static long testWheel(long[] dues) {
+        ReminderWheel wheel   = new ReminderWheel(ZONE, START - MINUTE);
+        long[]        handles = new long[dues.length];
+        for (int i = 0; i < dues.length; i++) {
+            handles[i] = wheel.schedule(dues[i], i);
+        }
+        for (int i = 0; i < CANCELS; i++) {
+            wheel.cancel(handles[i * 7]);
+        }
+        long[] sum = new long[1];
+        for (long time = START; time <= START + SPAN; time += MINUTE) {
+            wheel.advanceTo(time, id -> sum[0] += id);
+        }
+        return sum[0];
+    }
+}
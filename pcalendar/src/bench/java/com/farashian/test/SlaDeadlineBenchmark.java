@@ -0,0 +1,51 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.util.BusinessHours;
+
+
+//Deadline and elapsed business minutes for a dashboard of open tickets, table lookups vs minute stepping
+public class SlaDeadlineBenchmark {
+
+    private static final long BASE_TIME = 1700000000000L;
+    private static final long STEP      = 3600000L * 5 + 60000L * 17;
+    private static final long NOW       = BASE_TIME + STEP * 2000;
+    private static final long SLA       = 3 * 8 * 60;
+
+    public static void main(String[] args) {
+        int tickets = 100000;
+
+        //Stepping is too slow for every ticket, a hundredth of them is timed
+        new Bench("SLA deadline and elapsed business minutes per ticket", 5)
+                .add("Minute stepping", tickets / 100, () -> testStepping(tickets / 100))
+                .add("Work-minute tables", tickets, () -> testTables(tickets))
+                .run();
+    }
+
+    private static long testTables(int tickets) {
+        BusinessHours hours = BusinessHours.getDefault();
+        long          sum   = 0;
+        for (int i = 0; i < tickets; i++) {
+            long opened = BASE_TIME + (i % 2000) * STEP;
+            sum += hours.addBusinessMinutes(opened, SLA) + hours.businessMinutesBetween(opened, NOW);
+        }
+        return sum;
+    }
+
+    private static long testStepping(int tickets) {
+        BusinessHours hours = BusinessHours.getDefault();
+        long          sum   = 0;
+        for (int i = 0; i < tickets; i++) {
+            long opened = BASE_TIME + (i % 2000) * STEP;
+            long due    = opened;
+            for (long left = SLA; left > 0; due += BusinessHours.MILLIS_PER_MINUTE) {
+                if (hours.isWorkingTime(due)) left--;
+            }
+            long elapsed = 0;
+            for (long t = opened; t < NOW; t += BusinessHours.MILLIS_PER_MINUTE) {
+                if (hours.isWorkingTime(t)) elapsed++;
+            }
+            sum += due + elapsed;
+        }
+        return sum;
+    }
+}
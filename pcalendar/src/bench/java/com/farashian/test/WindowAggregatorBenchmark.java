@@ -0,0 +1,64 @@
+package com.farashian.test;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.PersianBuckets.Granularity;
+import com.farashian.pcalendar.fast.PersianWindowAggregator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TimeZone;
+
+
+//Daily tumbling windows over a time-ordered stream: converting every event vs boundary comparison
+public class WindowAggregatorBenchmark {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Asia/Tehran");
+    private static final long     FROM = 1704067200000L; //2024-01-01
+    private static final long     TO   = 1735689600000L; //2025-01-01
+
+    public static void main(String[] args) {
+        int    events = 1_000_000;
+        long[] millis = new long[events];
+        long[] values = new long[events];
+        Random random = new Random(42);
+        for (int i = 0; i < events; i++) {
+            millis[i] = FROM + (long) (random.nextDouble() * (TO - FROM));
+            values[i] = random.nextInt(1000);
+        }
+        Arrays.sort(millis);
+
+        new Bench("Daily tumbling windows over a time-ordered stream", 3)
+                .add("Calendar per event", events, () -> testCalendar(millis, values))
+                .add("PersianWindowAggregator", events, () -> testAggregator(millis, values))
+                .run();
+    }
+
+    private static long testCalendar(long[] millis, long[] values) {
+        FastPersianCalendar calendar = new FastPersianCalendar(ZONE);
+        long                day      = Long.MIN_VALUE;
+        long                sum      = 0;
+        long                total    = 0;
+        for (int i = 0; i < millis.length; i++) {
+            calendar.setTimeInMillis(millis[i]);
+            long eventDay = calendar.toEpochDay();
+            if (eventDay != day) {
+                total += sum + calendar.getDayOfMonth();
+                day   = eventDay;
+                sum   = 0;
+            }
+            sum += values[i];
+        }
+        return total + sum;
+    }
+
+    private static long testAggregator(long[] millis, long[] values) {
+        long[]                  total      = new long[1];
+        PersianWindowAggregator aggregator = PersianWindowAggregator.tumbling(Granularity.DAY, ZONE,
+                window -> total[0] += window.getSum() + window.getCount());
+        for (int i = 0; i < millis.length; i++) {
+            aggregator.add(millis[i], values[i]);
+        }
+        aggregator.advanceTo(TO);
+        return total[0];
+    }
+}
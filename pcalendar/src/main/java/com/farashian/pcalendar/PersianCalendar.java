@@ -57,6 +57,9 @@ public class PersianCalendar extends Calendar {
     private              int[] lastComputedYmd  = {0, 0, 0};
     private static final int[] PERSIAN_OFFSETS  = {0, 1, 2, 3, 4, 5, 6, 0};
 
+    // Derived strings, allocated on first use and dropped whenever fields are recomputed
+    private DerivedStrings derivedStrings;
+
 
     public PersianCalendar() {
         this(TimeZone.getDefault(), PERSIAN_LOCALE);
@@ -283,7 +286,11 @@ public class PersianCalendar extends Calendar {
 
     // Date formatter methods
     public String getMonthName() {
-        return getMonthName(getMonth(), locale); // getMonth() returns 1-based
+        DerivedStrings strings = derivedStrings();
+        if (strings.monthName == null) {
+            strings.monthName = getMonthName(getMonth(), locale); // getMonth() returns 1-based
+        }
+        return strings.monthName;
     }
 
     //=== GREGORIAN DATE METHODS WITHOUT CACHE ===
@@ -767,6 +774,7 @@ public class PersianCalendar extends Calendar {
             computePersianFromGregorian();
             lastComputedTime = time;
             lastComputedYmd  = ymd.clone();
+            derivedStrings   = null;
 
             computeAllCalendarFields();
         }
@@ -919,6 +927,40 @@ public class PersianCalendar extends Calendar {
         }
     }
 
+    /**
+     * Get the string cache for the current time, creating it on first use
+     */
+    private DerivedStrings derivedStrings() {
+        if (!isTimeSet) {
+            //Resolve pending set() calls, which leave time at its old value
+            getTimeInMillis();
+        }
+        ensureComputed();
+        DerivedStrings strings = derivedStrings;
+        if (strings == null || strings.time != time) {
+            strings        = new DerivedStrings(time);
+            derivedStrings = strings;
+        }
+        return strings;
+    }
+
+    /**
+     * Strings derived from one computed time value.
+     * Every field stays null until its getter is first called.
+     */
+    private static final class DerivedStrings {
+        final long time;
+        String     longDate;
+        String     longDateTime;
+        String     shortDate;
+        String     monthName;
+        String     weekdayName;
+
+        DerivedStrings(long time) {
+            this.time = time;
+        }
+    }
+
     @Override
     public void add(int field, int amount) {
         if (amount == 0) return;
@@ -2268,6 +2310,9 @@ public class PersianCalendar extends Calendar {
         clone.lastComputedTime = this.lastComputedTime;
         clone.lastComputedYmd  = this.lastComputedYmd.clone();
 
+        //The string cache is per instance
+        clone.derivedStrings = null;
+
         clone.areFieldsSet = this.areFieldsSet;
         for (int i = 0; i < FIELD_COUNT; i++) {
             if (this.isSet[i]) {
@@ -2699,22 +2744,38 @@ public class PersianCalendar extends Calendar {
     }
 
     public String getWeekdayName() {
-        return getWeekdayName(get(DAY_OF_WEEK), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.weekdayName == null) {
+            strings.weekdayName = getWeekdayName(get(DAY_OF_WEEK), locale);
+        }
+        return strings.weekdayName;
     }
 
     public String getLongDateTime() {
-        return getLongDateTime(
-                getYear(), getMonth(), getDayOfMonth(), get(DAY_OF_WEEK),
-                get(HOUR_OF_DAY), get(MINUTE), get(SECOND), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.longDateTime == null) {
+            strings.longDateTime = getLongDateTime(
+                    getYear(), getMonth(), getDayOfMonth(), get(DAY_OF_WEEK),
+                    get(HOUR_OF_DAY), get(MINUTE), get(SECOND), locale);
+        }
+        return strings.longDateTime;
     }
 
     public String getLongDate() {
-        return getLongDate(
-                getYear(), getMonth(), getDayOfMonth(), get(DAY_OF_WEEK), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.longDate == null) {
+            strings.longDate = getLongDate(
+                    getYear(), getMonth(), getDayOfMonth(), get(DAY_OF_WEEK), locale);
+        }
+        return strings.longDate;
     }
 
     public String getShortDate() {
-        return getShortDate("/");
+        DerivedStrings strings = derivedStrings();
+        if (strings.shortDate == null) {
+            strings.shortDate = getShortDate("/");
+        }
+        return strings.shortDate;
     }
 
     public String getShortDate2() {
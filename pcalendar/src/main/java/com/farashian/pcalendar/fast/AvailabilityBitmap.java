@@ -0,0 +1,462 @@
+package com.farashian.pcalendar.fast;
+
+import java.util.Arrays;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Compressed bitmap of days, one container per Persian month, for availability of a resource.
+ * <p>
+ * A month with some days set is a single int, bit d - 1 standing for day d. Empty months are not
+ * stored and consecutive fully set months share one run entry, so memory follows the number of
+ * partly booked months rather than the length of the range. Entries are sorted by month, tests
+ * are a binary search and and/or/andNot are linear merges. Not thread-safe.
+ * <pre>
+ * AvailabilityBitmap free = new AvailabilityBitmap();
+ * free.set(PersianDateRange.ofPersianYear(1403));
+ * free.clear(booking);
+ * PersianDateRange slot = free.and(otherRoom).findRun(today, 3);
+ * </pre>
+ */
+public final class AvailabilityBitmap {
+
+    //Mask of a month whose days are all set, whatever its length
+    private static final int FULL = -1;
+
+    private static final int OP_AND     = 0;
+    private static final int OP_OR      = 1;
+    private static final int OP_AND_NOT = 2;
+
+    //Entry i covers months [keys[i], keys[i] + spans[i]), spans above 1 only for FULL runs
+    private int[] keys;
+    private int[] spans;
+    private int[] masks;
+    private int   size;
+
+    public AvailabilityBitmap() {
+        keys  = new int[8];
+        spans = new int[8];
+        masks = new int[8];
+    }
+
+    private AvailabilityBitmap(AvailabilityBitmap other) {
+        keys  = Arrays.copyOf(other.keys, Math.max(other.size, 8));
+        spans = Arrays.copyOf(other.spans, keys.length);
+        masks = Arrays.copyOf(other.masks, keys.length);
+        size  = other.size;
+    }
+
+    public AvailabilityBitmap copy() {
+        return new AvailabilityBitmap(this);
+    }
+
+    //=== SINGLE DAYS ===
+
+    public boolean get(long epochDay) {
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        int mask = maskOf(monthIndex(persian[0], persian[1]));
+        return (mask >>> (persian[2] - 1) & 1) != 0;
+    }
+
+    public boolean get(FastPersianCalendar date) {
+        return get(date.toEpochDay());
+    }
+
+    public void set(long epochDay) {
+        update(epochDay, epochDay, true);
+    }
+
+    public void set(FastPersianCalendar date) {
+        set(date.toEpochDay());
+    }
+
+    public void clear(long epochDay) {
+        update(epochDay, epochDay, false);
+    }
+
+    public void clear(FastPersianCalendar date) {
+        clear(date.toEpochDay());
+    }
+
+    //=== RANGES ===
+
+    /**
+     * Set every day in [firstDay, lastDay]
+     */
+    public void set(long firstDay, long lastDay) {
+        update(firstDay, lastDay, true);
+    }
+
+    public void set(PersianDateRange range) {
+        if (!range.isEmpty()) {
+            update(range.getFirstDay(), range.getLastDay(), true);
+        }
+    }
+
+    public void clear(long firstDay, long lastDay) {
+        update(firstDay, lastDay, false);
+    }
+
+    public void clear(PersianDateRange range) {
+        if (!range.isEmpty()) {
+            update(range.getFirstDay(), range.getLastDay(), false);
+        }
+    }
+
+    /**
+     * Days set in a Persian month, bit d - 1 for day d
+     *
+     * @param month 1-based Persian month
+     */
+    public int getMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, got: " + month);
+        }
+        int index = monthIndex(year, month);
+        int mask  = maskOf(index);
+        return mask == FULL ? lengthMask(monthLength(index)) : mask;
+    }
+
+    /**
+     * First run of at least days consecutive set days starting on or after fromDay
+     *
+     * @return the first days of that run, empty when there is none
+     */
+    public PersianDateRange findRun(long fromDay, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Run length must be positive, got: " + days);
+        }
+        long runStart = 0;
+        long runEnd   = Long.MIN_VALUE;
+        for (int i = firstEntryEndingAfter(fromDay); i < size; i++) {
+            long monthStart = monthStart(keys[i]);
+            if (masks[i] == FULL) {
+                long first = Math.max(monthStart, fromDay);
+                long last  = monthStart(keys[i] + spans[i]) - 1;
+                if (first != runEnd + 1) {
+                    runStart = first;
+                }
+                runEnd = last;
+                if (runEnd - runStart + 1 >= days) {
+                    return PersianDateRange.of(runStart, runStart + days - 1);
+                }
+                continue;
+            }
+            int mask = masks[i];
+            while (mask != 0) {
+                int  from  = Integer.numberOfTrailingZeros(mask);
+                int  to    = Integer.numberOfTrailingZeros(~(mask >>> from)) + from - 1;
+                long first = Math.max(monthStart + from, fromDay);
+                long last  = monthStart + to;
+                mask &= ~lengthMask(to + 1);
+                if (last < first) {
+                    continue;
+                }
+                if (first != runEnd + 1) {
+                    runStart = first;
+                }
+                runEnd = last;
+                if (runEnd - runStart + 1 >= days) {
+                    return PersianDateRange.of(runStart, runStart + days - 1);
+                }
+            }
+        }
+        return PersianDateRange.empty();
+    }
+
+    public PersianDateRange findRun(FastPersianCalendar from, int days) {
+        return findRun(from.toEpochDay(), days);
+    }
+
+    //=== WHOLE BITMAP ===
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Number of days set
+     */
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += masks[i] == FULL
+                     ? monthStart(keys[i] + spans[i]) - monthStart(keys[i])
+                     : Integer.bitCount(masks[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Number of stored containers, each a partly set month or a run of full months
+     */
+    public int containerCount() {
+        return size;
+    }
+
+    /**
+     * Days set in both bitmaps
+     */
+    public AvailabilityBitmap and(AvailabilityBitmap other) {
+        return combine(this, other, OP_AND);
+    }
+
+    public AvailabilityBitmap or(AvailabilityBitmap other) {
+        return combine(this, other, OP_OR);
+    }
+
+    /**
+     * Days set here and not in the other bitmap
+     */
+    public AvailabilityBitmap andNot(AvailabilityBitmap other) {
+        return combine(this, other, OP_AND_NOT);
+    }
+
+    public PersianDateSet toDateSet() {
+        PersianDateSet.Builder result = PersianDateSet.builder();
+        for (int i = 0; i < size; i++) {
+            long monthStart = monthStart(keys[i]);
+            if (masks[i] == FULL) {
+                result.append(monthStart, monthStart(keys[i] + spans[i]) - 1);
+                continue;
+            }
+            int mask = masks[i];
+            while (mask != 0) {
+                int from = Integer.numberOfTrailingZeros(mask);
+                int to   = Integer.numberOfTrailingZeros(~(mask >>> from)) + from - 1;
+                result.append(monthStart + from, monthStart + to);
+                mask &= ~lengthMask(to + 1);
+            }
+        }
+        return result.toSet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AvailabilityBitmap)) return false;
+        AvailabilityBitmap other = (AvailabilityBitmap) o;
+        if (size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || spans[i] != other.spans[i] || masks[i] != other.masks[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = (hash * 31 + keys[i]) * 31 + masks[i] + spans[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toDateSet().toString();
+    }
+
+    //=== INTERNALS ===
+
+    private void update(long firstDay, long lastDay, boolean value) {
+        if (lastDay < firstDay) {
+            throw new IllegalArgumentException("Last day is before first day");
+        }
+        int[] persian = new int[3];
+        epochDayToPersian(firstDay, persian);
+        int  month      = monthIndex(persian[0], persian[1]);
+        long monthStart = firstDay - (persian[2] - 1);
+        while (monthStart <= lastDay) {
+            long nextStart = monthStart(month + 1);
+            int  length    = (int) (nextStart - monthStart);
+            int  from      = (int) (Math.max(firstDay, monthStart) - monthStart);
+            int  to        = (int) (Math.min(lastDay, nextStart - 1) - monthStart);
+            int  bits      = lengthMask(to - from + 1) << from;
+            int  old       = maskOf(month);
+            if (old == FULL) {
+                old = lengthMask(length);
+            }
+            setMask(month, normalize(value ? old | bits : old & ~bits, length));
+            month++;
+            monthStart = nextStart;
+        }
+    }
+
+    private int maskOf(int month) {
+        int index = entryAtOrBefore(month);
+        return index >= 0 && month < keys[index] + spans[index] ? masks[index] : 0;
+    }
+
+    //Store the mask of one month, splitting or merging FULL runs as needed
+    private void setMask(int month, int mask) {
+        int index = entryAtOrBefore(month);
+        if (index >= 0 && month < keys[index] + spans[index]) {
+            if (masks[index] == mask) {
+                return;
+            }
+            if (spans[index] == 1) {
+                if (mask == 0) {
+                    remove(index);
+                } else {
+                    masks[index] = mask;
+                    if (mask == FULL) {
+                        mergeAround(index);
+                    }
+                }
+                return;
+            }
+            //Split a FULL run around the month
+            int end = keys[index] + spans[index];
+            spans[index] = month - keys[index];
+            int next = index + 1;
+            if (spans[index] == 0) {
+                remove(index);
+                next = index;
+            }
+            if (mask != 0) {
+                insert(next++, month, 1, mask);
+            }
+            if (end > month + 1) {
+                insert(next, month + 1, end - month - 1, FULL);
+            }
+            return;
+        }
+        if (mask == 0) {
+            return;
+        }
+        insert(index + 1, month, 1, mask);
+        if (mask == FULL) {
+            mergeAround(index + 1);
+        }
+    }
+
+    private void mergeAround(int index) {
+        if (index + 1 < size && masks[index + 1] == FULL && keys[index] + spans[index] == keys[index + 1]) {
+            spans[index] += spans[index + 1];
+            remove(index + 1);
+        }
+        if (index > 0 && masks[index - 1] == FULL && keys[index - 1] + spans[index - 1] == keys[index]) {
+            spans[index - 1] += spans[index];
+            remove(index);
+        }
+    }
+
+    private void insert(int index, int key, int span, int mask) {
+        if (size == keys.length) {
+            keys  = Arrays.copyOf(keys, size * 2);
+            spans = Arrays.copyOf(spans, size * 2);
+            masks = Arrays.copyOf(masks, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(spans, index, spans, index + 1, size - index);
+        System.arraycopy(masks, index, masks, index + 1, size - index);
+        keys[index]  = key;
+        spans[index] = span;
+        masks[index] = mask;
+        size++;
+    }
+
+    private void remove(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(spans, index + 1, spans, index, size - index - 1);
+        System.arraycopy(masks, index + 1, masks, index, size - index - 1);
+        size--;
+    }
+
+    //Add an entry after all others, extending the last FULL run when they touch
+    private void append(int key, int span, int mask) {
+        if (mask == 0) {
+            return;
+        }
+        int last = size - 1;
+        if (mask == FULL && last >= 0 && masks[last] == FULL && keys[last] + spans[last] == key) {
+            spans[last] += span;
+            return;
+        }
+        insert(size, key, span, mask);
+    }
+
+    //Index of the last entry starting on or before month, -1 when there is none
+    private int entryAtOrBefore(int month) {
+        int index = Arrays.binarySearch(keys, 0, size, month);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private int firstEntryEndingAfter(long fromDay) {
+        int[] persian = new int[3];
+        epochDayToPersian(fromDay, persian);
+        int month = monthIndex(persian[0], persian[1]);
+        int index = entryAtOrBefore(month);
+        return index >= 0 && month < keys[index] + spans[index] ? index : index + 1;
+    }
+
+    /**
+     * Merge two bitmaps month by month; runs of FULL or missing months are stepped over at once
+     */
+    private static AvailabilityBitmap combine(AvailabilityBitmap a, AvailabilityBitmap b, int op) {
+        AvailabilityBitmap result = new AvailabilityBitmap();
+        int                i      = 0;
+        int                j      = 0;
+        int                usedA  = 0;
+        int                usedB  = 0;
+        while (i < a.size || j < b.size) {
+            int nextA = i < a.size ? a.keys[i] + usedA : Integer.MAX_VALUE;
+            int nextB = j < b.size ? b.keys[j] + usedB : Integer.MAX_VALUE;
+            int month = Math.min(nextA, nextB);
+            //Both masks stay the same for step months
+            int step = Math.min(nextA == month ? a.spans[i] - usedA : nextA - month,
+                                nextB == month ? b.spans[j] - usedB : nextB - month);
+            int maskA = nextA == month ? a.masks[i] : 0;
+            int maskB = nextB == month ? b.masks[j] : 0;
+
+            int mask;
+            if (op == OP_AND) {
+                mask = maskA & maskB;
+            } else if (op == OP_OR) {
+                mask = maskA | maskB;
+            } else {
+                mask = maskA & ~maskB;
+            }
+            if (mask != FULL && mask != 0) {
+                //Only single months carry partial masks, so step is 1 here
+                mask = normalize(mask, (int) (monthStart(month + 1) - monthStart(month)));
+            }
+            result.append(month, step, mask);
+
+            if (nextA == month && (usedA += step) == a.spans[i]) {
+                i++;
+                usedA = 0;
+            }
+            if (nextB == month && (usedB += step) == b.spans[j]) {
+                j++;
+                usedB = 0;
+            }
+        }
+        return result;
+    }
+
+    //FULL when every day of a month of the given length is set, otherwise the mask without stray bits
+    private static int normalize(int mask, int length) {
+        int all = lengthMask(length);
+        mask &= all;
+        return mask == all ? FULL : mask;
+    }
+
+    private static int lengthMask(int length) {
+        return length >= 32 ? FULL : (1 << length) - 1;
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static long monthStart(int monthIndex) {
+        return persianToEpochDay(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+
+    private static int monthLength(int monthIndex) {
+        return (int) (monthStart(monthIndex + 1) - monthStart(monthIndex));
+    }
+}
@@ -0,0 +1,161 @@
+package com.farashian.pcalendar.fast;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Persian date and week fields of one local day, plus the instants the day covers.
+ * <p>
+ * A small direct-mapped cache keeps recent days per time zone, so setting a calendar to another
+ * instant on a cached day only has to split the time of day. Entries are immutable apart from
+ * the zone offsets, which are resolved on first use through a volatile field, so slots are read
+ * and replaced without locks; a lost race only costs a recomputation. Zones are matched by ID, so
+ * only zones with the same rules as the system zone of their ID are cached; custom zones reusing
+ * an ID and zones changed through setRawOffset are computed every time.
+ */
+final class DayFields {
+
+    private static final int  CACHE_SIZE = 256;
+    private static final long NO_OFFSETS = Long.MIN_VALUE;
+
+    private static final DayFields[] CACHE  = new DayFields[CACHE_SIZE];
+    private static final LongAdder   HITS   = new LongAdder();
+    private static final LongAdder   MISSES = new LongAdder();
+
+    //System zone of each ID seen, to check the rules of the zones we are given
+    private static final ConcurrentMap<String, TimeZone> SYSTEM_ZONES = new ConcurrentHashMap<>();
+
+    final String   zoneId;
+    final TimeZone systemZone;
+    final long     epochDay;
+    final long     startMillis;
+    final long     endMillis;
+    final int      offset;
+
+    final int year;
+    final int month;
+    final int day;
+    final int dayOfYear;
+    final int dayOfWeek;
+    final int weekOfYear;
+    final int weekOfMonth;
+    final int dayOfWeekInMonth;
+
+    //ZONE_OFFSET in the high half and DST_OFFSET in the low half, filled on first use
+    private volatile long zoneOffsets = NO_OFFSETS;
+
+    private DayFields(String zoneId, TimeZone systemZone, long epochDay, long startMillis, long endMillis, int offset) {
+        this.zoneId      = zoneId;
+        this.systemZone  = systemZone;
+        this.epochDay    = epochDay;
+        this.startMillis = startMillis;
+        this.endMillis   = endMillis;
+        this.offset      = offset;
+
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        this.year      = persian[0];
+        this.month     = persian[1] - 1;
+        this.day       = persian[2];
+        this.dayOfYear = persianDayOfYear(persian[1], day);
+        this.dayOfWeek = dayOfWeek(epochDay);
+
+        //Persian weeks start on Saturday
+        int firstDayOfMonth = dayOfWeek(epochDay - (day - 1));
+        this.weekOfYear       = (dayOfYear - 1 + ((dayOfWeek - FastPersianCalendar.FIRST_DAY_OF_WEEK + 7) % 7)) / 7 + 1;
+        this.weekOfMonth      = (day - 1 + ((dayOfWeek - firstDayOfMonth + 7) % 7)) / 7 + 1;
+        this.dayOfWeekInMonth = (day - 1) / 7 + 1;
+    }
+
+    /**
+     * Fields of the local day containing an instant, from the cache when possible
+     */
+    static DayFields of(long epochMillis, TimeZone zone) {
+        String    zoneId = zone.getID();
+        int       slot   = slot(Math.floorDiv(epochMillis, MILLIS_PER_DAY), zoneId);
+        DayFields fields = CACHE[slot];
+        if (fields != null && epochMillis >= fields.startMillis && epochMillis < fields.endMillis
+                && fields.zoneId.equals(zoneId) && fields.systemZone.hasSameRules(zone)) {
+            HITS.increment();
+            return fields;
+        }
+
+        MISSES.increment();
+        TimeZone system   = systemZone(zoneId);
+        int      offset   = zone.getOffset(epochMillis);
+        long     epochDay = Math.floorDiv(epochMillis + offset, MILLIS_PER_DAY);
+        long     start    = epochDay * MILLIS_PER_DAY - offset;
+        long     end      = start + MILLIS_PER_DAY;
+        if (system.hasSameRules(zone) && zone.getOffset(start) == offset && zone.getOffset(end - 1) == offset) {
+            fields      = new DayFields(zoneId, system, epochDay, start, end, offset);
+            CACHE[slot] = fields;
+        } else {
+            //Offset changes during the day or the zone has its own rules, only the instant itself is covered
+            fields = new DayFields(zoneId, system, epochDay, epochMillis, epochMillis + 1, offset);
+        }
+        return fields;
+    }
+
+    /**
+     * Wall clock millis of day for an instant inside this day
+     */
+    int millisOfDay(long epochMillis) {
+        return (int) (epochMillis + offset - epochDay * MILLIS_PER_DAY);
+    }
+
+    /**
+     * ZONE_OFFSET and DST_OFFSET for an instant inside this day, packed as (zone << 32) | dst.
+     * The total offset is constant over a cached day, so the split is resolved once per day.
+     */
+    long zoneOffsets(long epochMillis, TimeZone zone) {
+        long offsets = zoneOffsets;
+        if (offsets == NO_OFFSETS) {
+            GregorianCalendar gregorian = new GregorianCalendar(zone);
+            gregorian.setTimeInMillis(epochMillis);
+            offsets     = (long) gregorian.get(Calendar.ZONE_OFFSET) << 32
+                          | gregorian.get(Calendar.DST_OFFSET) & 0xFFFFFFFFL;
+            zoneOffsets = offsets;
+        }
+        return offsets;
+    }
+
+    static long hits() {
+        return HITS.sum();
+    }
+
+    static long misses() {
+        return MISSES.sum();
+    }
+
+    static void clear() {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            CACHE[i] = null;
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    //Cached entries are shared by ID, so they must only come from zones with the rules of this zone
+    private static TimeZone systemZone(String zoneId) {
+        TimeZone system = SYSTEM_ZONES.get(zoneId);
+        if (system == null) {
+            system = TimeZone.getTimeZone(zoneId);
+            TimeZone raced = SYSTEM_ZONES.putIfAbsent(zoneId, system);
+            if (raced != null) {
+                system = raced;
+            }
+        }
+        return system;
+    }
+
+    //Consecutive days land in consecutive slots, zones are spread by their ID hash
+    private static int slot(long utcDay, String zoneId) {
+        return (int) (utcDay + zoneId.hashCode() * 0x9E3779B9L) & (CACHE_SIZE - 1);
+    }
+}
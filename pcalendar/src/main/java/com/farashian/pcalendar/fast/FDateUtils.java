@@ -16,6 +16,11 @@ import static com.farashian.pcalendar.PCConstants.PERSIAN_MONTH_NAMES;
 
 public class FDateUtils {
 
+    /**
+     * @deprecated read once at class load and only refreshed when {@link Today} rolls over,
+     * use {@link #thisYear()}
+     */
+    @Deprecated
     public static int      THIS_YEAR;
     static        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
 
@@ -37,15 +42,27 @@ public class FDateUtils {
     public static final String TIMESTAMP_FORMAT = "yyyyMMdd_HHmmss";
 
     static {
-        THIS_YEAR = new FastPersianCalendar().getYear();
+        THIS_YEAR = Today.get().getYear();
+    }
+
+    //Called by Today when it rolls over, so the deprecated field is only written here
+    static void setThisYear(int year) {
+        THIS_YEAR = year;
+    }
+
+    /**
+     * Current Persian year, correct across Nowruz
+     */
+    public static int thisYear() {
+        return Today.get().getYear();
     }
 
     public static long now() {
-        return System.currentTimeMillis();
+        return Today.currentTimeMillis();
     }
 
     public static Date nowDate() {
-        return new Date(System.currentTimeMillis());
+        return new Date(Today.currentTimeMillis());
     }
 
     public static Date from(LocalDate localDate) {
@@ -71,7 +88,7 @@ public class FDateUtils {
     }
 
     public static String getTimeStamp() {
-        return new SimpleDateFormat(TIMESTAMP_FORMAT, Locale.US).format(new Date());
+        return new SimpleDateFormat(TIMESTAMP_FORMAT, Locale.US).format(nowDate());
     }
 
     public static long calculateInitialDelay(int targetHour, int targetMinute) {
@@ -93,12 +110,11 @@ public class FDateUtils {
         if (date == null) {
             return false;
         }
-        return date.before(new Date());
+        return date.getTime() < Today.currentTimeMillis();
     }
 
     public static String getDateFarsiDash() {
-        FastPersianCalendar pdate = new FastPersianCalendar();
-        return dashDate.format(pdate);
+        return Today.get().getDashDate();
     }
 
 
@@ -143,8 +159,7 @@ public class FDateUtils {
     }
 
     public static String getFullDateWithDayFarsi() {
-        FastPersianCalendar pdate = new FastPersianCalendar();
-        return fullDateWithDay.format(pdate);
+        return Today.get().getFullDateWithDay();
     }
 
     public static String getFullDateTimeWithDayFarsi() {
@@ -178,8 +193,7 @@ public class FDateUtils {
     }
 
     public static String getDayName() {
-        FastPersianCalendar pdate = new FastPersianCalendar();
-        return dayOfWeek.format(pdate);
+        return Today.get().getDayName();
     }
 
     public static String getDayName(FastPersianCalendar pdate) {
@@ -202,8 +216,7 @@ public class FDateUtils {
     }
 
     public static String getFullDateFarsi() {
-        FastPersianCalendar pdate = new FastPersianCalendar();
-        return fullDate.format(pdate);
+        return Today.get().getFullDate();
     }
 
     public static String getFullDateFarsi(Date date) {
@@ -279,8 +292,7 @@ public class FDateUtils {
     }
 
     public static String getDateSlashFarsi() {
-        FastPersianCalendar pdate = new FastPersianCalendar();
-        return slashDate.format(pdate);
+        return Today.get().getSlashDate();
     }
 
     public static String getDateSlashFarsi(Date date) {
@@ -414,10 +426,7 @@ public class FDateUtils {
     }
 
     public static long getStartDate(FastPersianCalendar calendar) {
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.setStartOfDay();
         return calendar.getTimeInMillis();
     }
 
@@ -437,49 +446,25 @@ public class FDateUtils {
 
     public static long getStartDate(int persianYear, int persianMonth, int persianDay) {
         FastPersianCalendar persianCalendar = new FastPersianCalendar();
-        persianCalendar.setDate(persianYear, persianMonth, persianDay);
-
-        persianCalendar.set(Calendar.HOUR_OF_DAY, 0);
-        persianCalendar.set(Calendar.MINUTE, 0);
-        persianCalendar.set(Calendar.SECOND, 0);
-        persianCalendar.set(Calendar.MILLISECOND, 0);
+        persianCalendar.setDateTime(persianYear, persianMonth, persianDay, 0, 0, 0, 0);
 
         return persianCalendar.getTimeInMillis();
     }
 
     public static long getStartDate(int persianYear) {
         FastPersianCalendar persianCalendar = new FastPersianCalendar();
-        persianCalendar.setDate(persianYear, 1, 1);
-
-        persianCalendar.set(Calendar.HOUR_OF_DAY, 0);
-        persianCalendar.set(Calendar.MINUTE, 0);
-        persianCalendar.set(Calendar.SECOND, 0);
-        persianCalendar.set(Calendar.MILLISECOND, 0);
+        persianCalendar.setDateTime(persianYear, 1, 1, 0, 0, 0, 0);
 
         return persianCalendar.getTimeInMillis();
     }
 
     public static long getStartOfCurrentYear() {
-        FastPersianCalendar persianCalendar = new FastPersianCalendar();
-        int                 currentYear     = persianCalendar.getPersianYear();
-
-        persianCalendar.setDate(currentYear, 1, 1);
-        persianCalendar.set(Calendar.HOUR_OF_DAY, 0);
-        persianCalendar.set(Calendar.MINUTE, 0);
-        persianCalendar.set(Calendar.SECOND, 0);
-        persianCalendar.set(Calendar.MILLISECOND, 0);
-
-        return persianCalendar.getTimeInMillis();
+        return getStartOfYear(Today.get().getYear());
     }
 
     public static long getStartOfYear(int persianYear) {
         FastPersianCalendar persianCalendar = new FastPersianCalendar();
-        persianCalendar.setDate(persianYear, 1, 1);
-
-        persianCalendar.set(Calendar.HOUR_OF_DAY, 0);
-        persianCalendar.set(Calendar.MINUTE, 0);
-        persianCalendar.set(Calendar.SECOND, 0);
-        persianCalendar.set(Calendar.MILLISECOND, 0);
+        persianCalendar.setDateTime(persianYear, 1, 1, 0, 0, 0, 0);
 
         return persianCalendar.getTimeInMillis();
     }
@@ -491,25 +476,14 @@ public class FDateUtils {
         int lastDay = FastPersianCalendar.isLeapYear(persianYear) ? 30 : 29;
 
         // Then set the date to the last day of Esfand
-        persianCalendar.setDate(persianYear, 12, lastDay);
-
-        // Set to end of day
-        persianCalendar.set(Calendar.HOUR_OF_DAY, 23);
-        persianCalendar.set(Calendar.MINUTE, 59);
-        persianCalendar.set(Calendar.SECOND, 59);
-        persianCalendar.set(Calendar.MILLISECOND, 999); // Should be 999, not 59
+        persianCalendar.setDateTime(persianYear, 12, lastDay, 23, 59, 59, 999);
 
         return persianCalendar.getTimeInMillis();
     }
 
     public static long getStartOfMonth(int persianYear, int persianMonth) {
         FastPersianCalendar cal = new FastPersianCalendar();
-        cal.setDate(persianYear, persianMonth, 1);
-
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
+        cal.setDateTime(persianYear, persianMonth, 1, 0, 0, 0, 0);
 
         return cal.getTimeInMillis();
     }
@@ -526,12 +500,7 @@ public class FDateUtils {
             lastDay = FastPersianCalendar.isLeapYear(persianYear) ? 30 : 29;
         }
 
-        cal.setDate(persianYear, persianMonth, lastDay);
-
-        cal.set(Calendar.HOUR_OF_DAY, 23);
-        cal.set(Calendar.MINUTE, 59);
-        cal.set(Calendar.SECOND, 59);
-        cal.set(Calendar.MILLISECOND, 999);
+        cal.setDateTime(persianYear, persianMonth, lastDay, 23, 59, 59, 999);
 
         return cal.getTimeInMillis();
     }
@@ -553,12 +522,7 @@ public class FDateUtils {
 
     public static long getEndDate(int persianYear, int persianMonth, int persianDay) {
         FastPersianCalendar calendar = new FastPersianCalendar();
-        calendar.setDate(persianYear, persianMonth, persianDay);
-
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
+        calendar.setDateTime(persianYear, persianMonth, persianDay, 23, 59, 59, 999);
 
         return calendar.getTimeInMillis();
     }
@@ -574,32 +538,19 @@ public class FDateUtils {
     }
 
     public static long getCurrentDateEndDate() {
-        FastPersianCalendar calendar = new FastPersianCalendar();
-
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
-
-        return calendar.getTimeInMillis();
+        return Today.get().getEndMillis() - 1;
     }
 
     public static long getEndDate(FastPersianCalendar calendar) {
         //Calendar calendar = Calendar.getInstance();
         //calendar.setTimeInMillis(dateTime);
-        calendar.set(Calendar.HOUR_OF_DAY, 23);
-        calendar.set(Calendar.MINUTE, 59);
-        calendar.set(Calendar.SECOND, 59);
-        calendar.set(Calendar.MILLISECOND, 999);
+        calendar.setEndOfDay();
         return calendar.getTimeInMillis();
     }
 
     public static int calculateDaysBetween(FastPersianCalendar startDate,
             FastPersianCalendar endDate) {
-        long startMillis = startDate.getTimeInMillis();
-        long endMillis   = endDate.getTimeInMillis();
-        long diffMillis  = endMillis - startMillis;
-        return (int) (diffMillis / (24 * 60 * 60 * 1000));
+        return (int) endDate.daysBetween(startDate);
     }
 
     public static long convertUTCToLocal(long utcDate) {
@@ -635,7 +586,7 @@ public class FDateUtils {
     public static String getNowInUtc() {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
         dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return dateFormat.format(new Date());
+        return dateFormat.format(nowDate());
     }
 
     public static Date reduceOneMinuteUtc(Date currentDateUTC) {
@@ -2,11 +2,15 @@ package com.farashian.pcalendar.fast;
 
 
 import com.farashian.pcalendar.YMD;
+import com.farashian.pcalendar.util.BusinessHours;
+import com.farashian.pcalendar.util.EpochDayConvertor;
+import com.farashian.pcalendar.util.HolidayCalendar;
 import com.farashian.pcalendar.util.PCalendarUtils;
 
 import java.util.*;
 
 import static com.farashian.pcalendar.PCConstants.*;
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
 import static com.farashian.pcalendar.util.HijriConvertor.*;
 import static com.farashian.pcalendar.util.NumberConvertor.convertToEnglishNumbers;
 import static com.farashian.pcalendar.util.PCalendarUtils.*;
@@ -44,10 +48,23 @@ public class FastPersianCalendar extends Calendar {
     private int persianDay;
 
     //Performance optimizations
-    public final  GregorianCalendar gCal;
-    private final Locale            locale;
-    private       long              lastComputedTime = -1;
-    private       boolean           isDirty          = true;
+    private final Locale  locale;
+    private       long    lastComputedTime = -1;
+    private       boolean isDirty          = true;
+
+    //Derived strings, allocated on first use and dropped whenever fields are recomputed
+    private DerivedStrings derivedStrings;
+
+    //Field groups computed lazily on first get() of one of their fields
+    private static final int DATE_FIELDS      = 1;
+    private static final int WEEK_FIELDS      = 1 << 1;
+    private static final int TIME_FIELDS      = 1 << 2;
+    private static final int ZONE_FIELDS      = 1 << 3;
+    private static final int ALL_FIELD_GROUPS = DATE_FIELDS | WEEK_FIELDS | TIME_FIELDS | ZONE_FIELDS;
+
+    private int  computedGroups;
+    private long localEpochDay;
+    private int  millisOfDay;
 
     //Persian offsets (Persian week starts on Saturday)
     //Java Calendar constants: SUNDAY=1, MONDAY=2, ..., SATURDAY=7
@@ -57,12 +74,12 @@ public class FastPersianCalendar extends Calendar {
 
     public FastPersianCalendar() {
         this(TimeZone.getDefault(), PERSIAN_LOCALE);
-        setTimeInMillis(System.currentTimeMillis());
+        setTimeInMillis(Today.currentTimeMillis());
     }
 
     public FastPersianCalendar(TimeZone zone) {
         this(zone, PERSIAN_LOCALE);
-        setTimeInMillis(System.currentTimeMillis());
+        setTimeInMillis(Today.currentTimeMillis());
     }
 
     public FastPersianCalendar(Date date) {
@@ -78,7 +95,6 @@ public class FastPersianCalendar extends Calendar {
     public FastPersianCalendar(TimeZone zone, Locale locale) {
         super(zone, locale);
         this.locale = locale;
-        this.gCal   = new GregorianCalendar(zone, locale);
         //Initialize with reasonable defaults
         this.persianYear  = 1400;
         this.persianMonth = 0;
@@ -87,12 +103,19 @@ public class FastPersianCalendar extends Calendar {
 
     public FastPersianCalendar(FastPersianCalendar pc) {
         this(TimeZone.getDefault(), PERSIAN_LOCALE);
-        setPersianDateInternal(pc.getYear(), pc.getMonth() - 1, pc.getDayOfMonth());
+        pc.ensureComputed();
+        setPersianDateTimeInternal(pc.persianYear, pc.persianMonth, pc.persianDay, 0);
     }
 
+    /**
+     * Midnight of the given Persian date in the default time zone
+     *
+     * @param month 1-based Persian month
+     */
     public FastPersianCalendar(int year, int month, int dayOfMonth) {
-        this();
-        setPersianDateInternal(year, month - 1, dayOfMonth);
+        this(TimeZone.getDefault(), PERSIAN_LOCALE);
+        validatePersianDateInternal(year, month - 1, dayOfMonth);
+        setPersianDateTimeInternal(year, month - 1, dayOfMonth, 0);
     }
 
     public FastPersianCalendar(int year, int month, int dayOfMonth, int hourOfDay, int minute) {
@@ -101,21 +124,10 @@ public class FastPersianCalendar extends Calendar {
 
     public FastPersianCalendar(int year, int month, int dayOfMonth, int hourOfDay, int minute,
             int second) {
-        this();
-        // First set the date to midnight of the given Persian date
-        setPersianDateInternal(year, month - 1, dayOfMonth);
-        // Now set the time fields directly on the underlying Gregorian calendar
-        gCal.set(Calendar.HOUR_OF_DAY, hourOfDay);
-        gCal.set(Calendar.MINUTE, minute);
-        gCal.set(Calendar.SECOND, second);
-        gCal.set(Calendar.MILLISECOND, 0);
-        // Update the time and recompute Persian fields
-        setTimeInMillis(gCal.getTimeInMillis());  // this will update time and recompute
-        // Also mark the fields as set
-        setInternalField(HOUR_OF_DAY, hourOfDay);
-        setInternalField(MINUTE, minute);
-        setInternalField(SECOND, second);
-        isDirty = false; // setTimeInMillis already computes
+        this(TimeZone.getDefault(), PERSIAN_LOCALE);
+        validatePersianDateInternal(year, month - 1, dayOfMonth);
+        //Lenient like Calendar.set: out of range time values roll into the next fields
+        setPersianDateTimeInternal(year, month - 1, dayOfMonth, toMillisOfDay(hourOfDay, minute, second, 0));
     }
 
 
@@ -125,31 +137,8 @@ public class FastPersianCalendar extends Calendar {
      * @param gregorianCalendar GregorianCalendar object
      */
     public FastPersianCalendar(GregorianCalendar gregorianCalendar) {
-        this(); //Initialize with default constructor
-
-        if (gregorianCalendar == null) {
-            throw new IllegalArgumentException("GregorianCalendar cannot be null");
-        }
-
-        //Get date components from GregorianCalendar
-        int year   = gregorianCalendar.get(Calendar.YEAR);
-        int month  = gregorianCalendar.get(Calendar.MONTH);
-        int day    = gregorianCalendar.get(Calendar.DAY_OF_MONTH);
-        int hour   = gregorianCalendar.get(Calendar.HOUR_OF_DAY);
-        int minute = gregorianCalendar.get(Calendar.MINUTE);
-        int second = gregorianCalendar.get(Calendar.SECOND);
-
-        //Validate Gregorian date
-        validateGregorianDate(year, month + 1, day);
-
-        //Set Gregorian date and convert to Persian
-        setGregorianDate(year, month + 1, day);
-        set(HOUR_OF_DAY, hour);
-        set(MINUTE, minute);
-        set(SECOND, second);
-
-        //Also set the timezone from the provided GregorianCalendar
-        setTimeZone(gregorianCalendar.getTimeZone());
+        this(requireCalendar(gregorianCalendar, "GregorianCalendar cannot be null").getTimeZone(), PERSIAN_LOCALE);
+        setTimeInMillis(gregorianCalendar.getTimeInMillis());
     }
 
     /**
@@ -158,44 +147,92 @@ public class FastPersianCalendar extends Calendar {
      * @param calendar Any Calendar object (Gregorian, Persian, etc.)
      */
     public FastPersianCalendar(Calendar calendar) {
-        this(); //Initialize with default constructor
+        this(requireCalendar(calendar, "Calendar cannot be null").getTimeZone(), PERSIAN_LOCALE);
+        setTimeInMillis(calendar.getTimeInMillis());
+    }
 
+    private static <T extends Calendar> T requireCalendar(T calendar, String message) {
         if (calendar == null) {
-            throw new IllegalArgumentException("Calendar cannot be null");
-        }
-
-        if (calendar instanceof GregorianCalendar) {
-            //Direct conversion from GregorianCalendar
-            GregorianCalendar gCal = (GregorianCalendar) calendar;
-            setTimeInMillis(gCal.getTimeInMillis());
-        } else if (calendar instanceof FastPersianCalendar) {
-            //Copy from another FastPersianCalendar
-            FastPersianCalendar other = (FastPersianCalendar) calendar;
-            this.persianYear  = other.persianYear;
-            this.persianMonth = other.persianMonth;
-            this.persianDay   = other.persianDay;
-            setTimeInMillis(other.getTimeInMillis());
-        } else {
-            //Generic Calendar - use time in millis
-            setTimeInMillis(calendar.getTimeInMillis());
+            throw new IllegalArgumentException(message);
         }
+        return calendar;
+    }
+
+    //=== FACTORIES ===
 
-        //Set timezone
-        setTimeZone(calendar.getTimeZone());
+    /**
+     * Midnight of a Persian date in the default time zone
+     *
+     * @param month 1-based Persian month
+     */
+    public static FastPersianCalendar ofPersian(int year, int month, int day) {
+        return ofPersian(year, month, day, 0, 0, 0, 0, TimeZone.getDefault());
+    }
+
+    /**
+     * Persian date and time of day in the given time zone, converted once
+     *
+     * @param month 1-based Persian month
+     */
+    public static FastPersianCalendar ofPersian(int year, int month, int day, int hour, int minute,
+            int second, int millis, TimeZone zone) {
+        validatePersianDateInternal(year, month - 1, day);
+        validateTimeOfDay(hour, minute, second, millis);
+        FastPersianCalendar result = new FastPersianCalendar(zone, PERSIAN_LOCALE);
+        result.setPersianDateTimeInternal(year, month - 1, day, toMillisOfDay(hour, minute, second, millis));
+        return result;
+    }
+
+    public static FastPersianCalendar ofEpochMillis(long epochMillis) {
+        return ofEpochMillis(epochMillis, TimeZone.getDefault());
+    }
+
+    public static FastPersianCalendar ofEpochMillis(long epochMillis, TimeZone zone) {
+        FastPersianCalendar result = new FastPersianCalendar(zone, PERSIAN_LOCALE);
+        result.setTimeInMillis(epochMillis);
+        return result;
+    }
+
+    /**
+     * Midnight of a local epoch day (days since 1970-01-01)
+     */
+    public static FastPersianCalendar ofEpochDay(long epochDay) {
+        return ofEpochDay(epochDay, TimeZone.getDefault());
+    }
+
+    public static FastPersianCalendar ofEpochDay(long epochDay, TimeZone zone) {
+        FastPersianCalendar result = new FastPersianCalendar(zone, PERSIAN_LOCALE);
+        result.setLocalDateTime(epochDay, 0);
+        return result;
+    }
+
+    /**
+     * Midnight of a (proleptic) Gregorian date in the default time zone
+     *
+     * @param month 1-based Gregorian month
+     */
+    public static FastPersianCalendar ofGregorian(int year, int month, int day) {
+        return ofGregorian(year, month, day, TimeZone.getDefault());
+    }
+
+    public static FastPersianCalendar ofGregorian(int year, int month, int day, TimeZone zone) {
+        validateGregorianDate(year, month, day);
+        int[] persian = new int[3];
+        epochDayToPersian(gregorianToEpochDay(year, month, day), persian);
+        FastPersianCalendar result = new FastPersianCalendar(zone, PERSIAN_LOCALE);
+        result.setPersianDateTimeInternal(persian[0], persian[1] - 1, persian[2], 0);
+        return result;
     }
 
     public int getHourOfDay() {
-        complete();
         return get(HOUR_OF_DAY);
     }
 
     public int getMinute() {
-        complete();
         return get(MINUTE);
     }
 
     public int getSecond() {
-        complete();
         return get(SECOND);
     }
 
@@ -213,7 +250,7 @@ public class FastPersianCalendar extends Calendar {
     }
 
     public GregorianCalendar getGregorianDate() {
-        return gCal;
+        return gregorian();
     }
 
     public void setDate(Date date) {
@@ -231,16 +268,50 @@ public class FastPersianCalendar extends Calendar {
      * Set Persian date with time
      */
     public void setDate(int year, int month, int day, int hour, int minute, int second) {
-        setPersianDateInternal(year, month - 1, day);
-        set(HOUR_OF_DAY, hour);
-        set(MINUTE, minute);
-        set(SECOND, second);
+        validatePersianDateInternal(year, month - 1, day);
+        //Lenient like Calendar.set: out of range time values roll into the next fields
+        setPersianDateTimeInternal(year, month - 1, day,
+                                   toMillisOfDay(hour, minute, second, get(MILLISECOND)));
+    }
+
+    /**
+     * Set Persian date and time of day in one step.
+     * Validates all values once and recomputes once.
+     *
+     * @param month 1-based Persian month
+     */
+    public void setDateTime(int year, int month, int day, int hour, int minute, int second, int millis) {
+        validatePersianDateInternal(year, month - 1, day);
+        validateTimeOfDay(hour, minute, second, millis);
+        setPersianDateTimeInternal(year, month - 1, day, toMillisOfDay(hour, minute, second, millis));
+    }
+
+    /**
+     * Move this calendar to 00:00:00.000 of its current day
+     */
+    public void setStartOfDay() {
+        ensureComputed();
+        setPersianDateTimeInternal(persianYear, persianMonth, persianDay, 0);
+    }
+
+    /**
+     * Move this calendar to 23:59:59.999 of its current day
+     */
+    public void setEndOfDay() {
+        ensureComputed();
+        setPersianDateTimeInternal(persianYear, persianMonth, persianDay, MILLIS_PER_DAY - 1);
+    }
+
+    /**
+     * Start a batch of changes that is validated and computed once by {@link Mutator#apply()}
+     * <pre>cal.mutate().date(1403, 1, 1).time(8, 30, 0).apply();</pre>
+     */
+    public Mutator mutate() {
+        return new Mutator(this);
     }
 
     public static FastPersianCalendar gregorianToPersian(int gYear, int gMonth, int gDay) {
-        FastPersianCalendar result = new FastPersianCalendar();
-        result.setGregorianDate(gYear, gMonth, gDay);
-        return result;
+        return ofGregorian(gYear, gMonth, gDay);
     }
 
     /**
@@ -316,13 +387,30 @@ public class FastPersianCalendar extends Calendar {
     }
 
 
+    /**
+     * Cached layout of the current month, for month views
+     */
+    public MonthInfo getMonthInfo() {
+        ensureComputed();
+        return MonthInfo.of(persianYear, persianMonth + 1);
+    }
+
+    public YearInfo getYearInfo() {
+        ensureComputed();
+        return YearInfo.of(persianYear);
+    }
+
     public static int getMaximumMonthWeeks() {
         return 6;
     }
 
     //Date formatter methods
     public String getMonthName() {
-        return getMonthName(getMonth(), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.monthName == null) {
+            strings.monthName = getMonthName(persianMonth + 1, locale);
+        }
+        return strings.monthName;
     }
 
     public int getPersianYear() {
@@ -341,22 +429,38 @@ public class FastPersianCalendar extends Calendar {
     }
 
     public String getWeekdayName() {
-        return getWeekdayName(get(DAY_OF_WEEK), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.weekdayName == null) {
+            strings.weekdayName = getWeekdayName(get(DAY_OF_WEEK), locale);
+        }
+        return strings.weekdayName;
     }
 
     public String getLongDate() {
-        return getLongDate(
-                persianYear, persianMonth + 1, persianDay, get(DAY_OF_WEEK), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.longDate == null) {
+            strings.longDate = getLongDate(
+                    persianYear, persianMonth + 1, persianDay, get(DAY_OF_WEEK), locale);
+        }
+        return strings.longDate;
     }
 
     public String getLongDateTime() {
-        return getLongDateTime(
-                persianYear, persianMonth + 1, persianDay, get(DAY_OF_WEEK),
-                get(HOUR_OF_DAY), get(MINUTE), get(SECOND), locale);
+        DerivedStrings strings = derivedStrings();
+        if (strings.longDateTime == null) {
+            strings.longDateTime = getLongDateTime(
+                    persianYear, persianMonth + 1, persianDay, get(DAY_OF_WEEK),
+                    get(HOUR_OF_DAY), get(MINUTE), get(SECOND), locale);
+        }
+        return strings.longDateTime;
     }
 
     public String getShortDate() {
-        return getShortDate("/");
+        DerivedStrings strings = derivedStrings();
+        if (strings.shortDate == null) {
+            strings.shortDate = getShortDate(persianYear, persianMonth, persianDay, "/", locale);
+        }
+        return strings.shortDate;
     }
 
     public String getShortDate2() {
@@ -375,7 +479,7 @@ public class FastPersianCalendar extends Calendar {
      */
     public YMD getHijriDate() {
         ensureComputed();
-        return gregorianToHijri(gCal);
+        return gregorianToHijri(gregorian());
     }
 
     /**
@@ -468,9 +572,9 @@ public class FastPersianCalendar extends Calendar {
             // FIXED: parsed.getMonth() returns 1-based, subtract 1 for internal
             setPersianDateInternal(parsed.persianYear, parsed.getMonth() - 1, parsed.persianDay);
             // Copy time fields if they exist
-            if (parsed.isSet[HOUR_OF_DAY]) set(HOUR_OF_DAY, parsed.get(HOUR_OF_DAY));
-            if (parsed.isSet[MINUTE]) set(MINUTE, parsed.get(MINUTE));
-            if (parsed.isSet[SECOND]) set(SECOND, parsed.get(SECOND));
+            if (parsed.isFieldSet(HOUR_OF_DAY)) set(HOUR_OF_DAY, parsed.get(HOUR_OF_DAY));
+            if (parsed.isFieldSet(MINUTE)) set(MINUTE, parsed.get(MINUTE));
+            if (parsed.isFieldSet(SECOND)) set(SECOND, parsed.get(SECOND));
         }
     }
 
@@ -484,8 +588,7 @@ public class FastPersianCalendar extends Calendar {
     @Override
     protected void computeTime() {
         if (isDirty || lastComputedTime != time || !areFieldsSet) {
-            computeGregorianFromPersianFast();
-            time             = gCal.getTimeInMillis();
+            time             = computeTimeFromPersian();
             lastComputedTime = time;
             isDirty          = false;
 
@@ -497,178 +600,199 @@ public class FastPersianCalendar extends Calendar {
     @Override
     protected void computeFields() {
         if (time != lastComputedTime || !areFieldsSet) {
-            gCal.setTimeInMillis(time); //This is needed to sync gCal with current time
-            computePersianFromGregorianFast();
+            computeDateFields();
             lastComputedTime = time;
             isDirty          = false;
-
-            //Compute all calendar fields
-            computeAllFields();
+            derivedStrings   = null;
         }
     }
 
     /**
-     * Compute all calendar fields that parent class expects
-     * Proper field computation with Persian week calculations
+     * Bring every field group up to date, for callers that read fields[] directly
      */
-    private void computeAllFields() {
-        //Use Gregorian calendar to compute all fields reliably
-        gCal.setTimeInMillis(time);
-
-        //Set basic Persian date fields
-        fields[YEAR]         = persianYear;
-        fields[MONTH]        = persianMonth;
-        fields[DAY_OF_MONTH] = persianDay;
-
-        //Set time fields from Gregorian (they're the same)
-        fields[HOUR_OF_DAY] = gCal.get(HOUR_OF_DAY);
-        fields[MINUTE]      = gCal.get(MINUTE);
-        fields[SECOND]      = gCal.get(SECOND);
-        fields[MILLISECOND] = gCal.get(MILLISECOND);
-
-        //CRITICAL FIX: Use Gregorian's properly computed day-of-week
-        //Get Gregorian day of week
-        int gregorianDayOfWeek = gCal.get(DAY_OF_WEEK);
-
-        //Convert to Persian day of week using your offset
-        int persianOffset = calculatePersianOffset(gregorianDayOfWeek);
-
-        //Convert offset to Calendar constant
-        //Your PERSIAN_OFFSETS: Saturday=0, Sunday=1, Monday=2, Tuesday=3,
-        //Wednesday=4, Thursday=5, Friday=6
-        //Calendar expects: Sunday=1, Monday=2, ..., Saturday=7
-
-        //Map: Saturday(0)→7, Sunday(1)→1, Monday(2)→2, Tuesday(3)→3,
-        //Wednesday(4)→4, Thursday(5)→5, Friday(6)→6
-        int persianDayOfWeek;
-        if (persianOffset == 0) {
-            persianDayOfWeek = Calendar.SATURDAY;  //7
-        } else {
-            persianDayOfWeek = persianOffset;      //1-6
-        }
-
-        fields[DAY_OF_WEEK] = persianDayOfWeek;
+    @Override
+    protected void complete() {
+        super.complete();
+        ensureComputed();
+        computeFieldGroups(ALL_FIELD_GROUPS);
+    }
 
-        //Calculate proper Persian day of year and week fields
-        fields[DAY_OF_YEAR] = calculateDayOfYear();
-        calculatePersianWeekFields();
+    /**
+     * Compute the Persian date and week groups from time, through the shared day cache.
+     * The other groups are dropped and computed on first access by computeFieldGroups.
+     */
+    private void computeDateFields() {
+        DayFields day = DayFields.of(time, getTimeZone());
+        installDateFields(day.epochDay, day.millisOfDay(time), day.year, day.month, day.day);
 
-        //Set other fields
-        fields[AM_PM]       = gCal.get(AM_PM);
-        fields[HOUR]        = gCal.get(HOUR);
-        fields[DST_OFFSET]  = gCal.get(DST_OFFSET);
-        fields[ZONE_OFFSET] = gCal.get(ZONE_OFFSET);
+        setInternalField(DAY_OF_WEEK, day.dayOfWeek);
+        setInternalField(WEEK_OF_YEAR, day.weekOfYear);
+        setInternalField(WEEK_OF_MONTH, day.weekOfMonth);
+        setInternalField(DAY_OF_WEEK_IN_MONTH, day.dayOfWeekInMonth);
+        computedGroups |= WEEK_FIELDS;
+    }
 
-        //ERA is always AD for Persian calendar (modern dates)
-        fields[ERA] = AD;
+    /**
+     * Hits of the day cache used by setTimeInMillis, across all instances
+     */
+    public static long getDayCacheHits() {
+        return DayFields.hits();
+    }
 
-        //Mark all fields as set
-        for (int i = 0; i < FIELD_COUNT; i++) {
-            isSet[i] = true;
-        }
-        areFieldsSet = true;
+    public static long getDayCacheMisses() {
+        return DayFields.misses();
     }
 
     /**
-     * Calculate Persian week fields based on Persian calendar rules
+     * Empty the day cache and reset its counters
      */
-    private void calculatePersianWeekFields() {
-        int dayOfYear = fields[DAY_OF_YEAR];
-        int dayOfWeek = fields[DAY_OF_WEEK];
+    public static void clearDayCache() {
+        DayFields.clear();
+    }
 
-        //Calculate week of year (Persian year starts with Farvardin 1 = Saturday)
-        //Use the actual first day of week (Saturday for Persian)
-        int weekOfYear = (dayOfYear - 1 + ((dayOfWeek - FIRST_DAY_OF_WEEK + 7) % 7)) / 7 + 1;
-        fields[WEEK_OF_YEAR] = weekOfYear;
+    /**
+     * Store an already converted local date as the date group
+     */
+    private void installDateFields(long epochDay, int millisOfDay, int year, int month, int day) {
+        localEpochDay = epochDay;
+        this.millisOfDay = millisOfDay;
+        persianYear  = year;
+        persianMonth = month;
+        persianDay   = day;
 
-        //Calculate week of month
-        int dayOfMonth      = fields[DAY_OF_MONTH];
-        int firstDayOfMonth = calculateFirstDayOfMonth();
-        int weekOfMonth     = (dayOfMonth - 1 + ((dayOfWeek - firstDayOfMonth + 7) % 7)) / 7 + 1;
-        fields[WEEK_OF_MONTH] = weekOfMonth;
+        //ERA is always AD for Persian calendar (modern dates)
+        setInternalField(ERA, AD);
+        setInternalField(YEAR, persianYear);
+        setInternalField(MONTH, persianMonth);
+        setInternalField(DAY_OF_MONTH, persianDay);
+        setInternalField(DAY_OF_YEAR, persianDayOfYear(persianMonth + 1, persianDay));
 
-        //Calculate day of week in month
-        fields[DAY_OF_WEEK_IN_MONTH] = (dayOfMonth - 1) / 7 + 1;
+        computedGroups = DATE_FIELDS;
+        areFieldsSet   = true;
     }
 
     /**
-     * Calculate the day of week for the first day of the current month
-     * Now uses local arrays and doesn't modify object state
+     * Compute the requested field groups that are still missing.
+     * Only valid while the date group reflects time.
      */
-    private int calculateFirstDayOfMonth() {
-        //Use local array for conversion
-        int[] temp = new int[3];
-
-        //Convert first day of current month from Persian to Gregorian
-        //Note: persianMonth is 0-based, add 1 for the algorithm
-        jalaliToGregorianFast(persianYear, persianMonth + 1, 1, temp);
-
-        //Create temporary GregorianCalendar for calculation
-        GregorianCalendar tempCal = new GregorianCalendar(getTimeZone(), locale);
-        tempCal.set(temp[0], temp[1] - 1, temp[2]);
+    private void computeFieldGroups(int groups) {
+        int missing = groups & ~computedGroups;
+        if (missing == 0 || (computedGroups & DATE_FIELDS) == 0) {
+            return;
+        }
 
-        //Get Gregorian day of week
-        int gregorianDayOfWeek = tempCal.get(DAY_OF_WEEK);
+        if ((missing & WEEK_FIELDS) != 0) {
+            calculatePersianWeekFields();
+        }
 
-        //Convert to Persian day of week
-        int persianOffset = calculatePersianOffset(gregorianDayOfWeek);
+        if ((missing & TIME_FIELDS) != 0) {
+            int hourOfDay = millisOfDay / 3600000;
+            setInternalField(HOUR_OF_DAY, hourOfDay);
+            setInternalField(MINUTE, (millisOfDay / 60000) % 60);
+            setInternalField(SECOND, (millisOfDay / 1000) % 60);
+            setInternalField(MILLISECOND, millisOfDay % 1000);
+            setInternalField(AM_PM, hourOfDay < 12 ? AM : PM);
+            setInternalField(HOUR, hourOfDay % 12);
+        }
 
-        //Map to Calendar constant
-        if (persianOffset == 0) {
-            return Calendar.SATURDAY;  //7
-        } else {
-            return persianOffset;      //1-6
+        if ((missing & ZONE_FIELDS) != 0) {
+            TimeZone zone    = getTimeZone();
+            long     offsets = DayFields.of(time, zone).zoneOffsets(time, zone);
+            setInternalField(DST_OFFSET, (int) offsets);
+            setInternalField(ZONE_OFFSET, (int) (offsets >> 32));
         }
+
+        computedGroups |= missing;
     }
 
     /**
-     * Calculate day of year for Persian calendar
+     * Field group a calendar field belongs to
      */
-    private int calculateDayOfYear() {
-        int dayOfYear = 0;
-        for (int month = 0; month < persianMonth; month++) {
-            dayOfYear += getDaysInMonthInternal(persianYear, month);
+    private static int fieldGroup(int field) {
+        switch (field) {
+            case DAY_OF_WEEK:
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return WEEK_FIELDS;
+            case AM_PM:
+            case HOUR:
+            case HOUR_OF_DAY:
+            case MINUTE:
+            case SECOND:
+            case MILLISECOND:
+                return TIME_FIELDS;
+            case ZONE_OFFSET:
+            case DST_OFFSET:
+                return ZONE_FIELDS;
+            default:
+                return DATE_FIELDS;
         }
-        dayOfYear += persianDay;
-        return dayOfYear;
     }
 
     /**
-     * Convert Persian date to Gregorian
-     * Now uses local arrays instead of ThreadLocal to avoid thread safety issues
+     * Calculate Persian week fields based on Persian calendar rules
      */
-    private void computeGregorianFromPersianFast() {
-        int[] temp = new int[3];  //Local array - thread safe!
-
-        //Convert 0-based month (0-11) to 1-based month (1-12) for the algorithm
-        jalaliToGregorianFast(persianYear, persianMonth + 1, persianDay, temp);
+    private void calculatePersianWeekFields() {
+        //Calendar.DAY_OF_WEEK is the same for both calendars (SUNDAY=1 ... SATURDAY=7)
+        MonthInfo month = MonthInfo.of(persianYear, persianMonth + 1);
+        setInternalField(DAY_OF_WEEK, month.getDayOfWeek(persianDay));
+        setInternalField(WEEK_OF_YEAR, month.getWeekOfYear(persianDay));
+        setInternalField(WEEK_OF_MONTH, month.getWeekOfMonth(persianDay));
+        setInternalField(DAY_OF_WEEK_IN_MONTH, (persianDay - 1) / 7 + 1);
+    }
 
-        //Get current time fields before setting date
+    /**
+     * Convert the Persian date plus the time of day fields to epoch millis
+     */
+    private long computeTimeFromPersian() {
+        //Keep the current time of day unless a time field was set explicitly
+        computeFieldGroups(TIME_FIELDS);
         int hour   = internalGet(HOUR_OF_DAY, 0);
         int minute = internalGet(MINUTE, 0);
         int second = internalGet(SECOND, 0);
         int millis = internalGet(MILLISECOND, 0);
 
-        //temp[1] is 1-based Gregorian month, convert to 0-based for GregorianCalendar
-        gCal.set(temp[0], temp[1] - 1, temp[2], hour, minute, second);
-        gCal.set(MILLISECOND, millis);
+        long day = persianToEpochDay(persianYear, persianMonth + 1, persianDay);
+        long localMillis = day * MILLIS_PER_DAY
+                           + hour * 3600000L + minute * 60000L + second * 1000L + millis;
+        return toUtcMillis(localMillis, getTimeZone());
     }
 
     /**
-     * Convert Gregorian date to Persian
-     * Now uses local arrays instead of ThreadLocal to avoid thread safety issues
+     * A new GregorianCalendar at the current time, for the rarely used Gregorian views
+     * (week numbers, display names). Plain Gregorian dates come from the epoch day.
      */
-    private void computePersianFromGregorianFast() {
-        int[] temp = new int[3];  //Local array - thread safe!
+    private GregorianCalendar gregorian() {
+        ensureComputed();
+        GregorianCalendar gregorian = new GregorianCalendar(getTimeZone(), locale);
+        gregorian.setTimeInMillis(time);
+        return gregorian;
+    }
 
-        //Convert Gregorian 0-based month to 1-based for the algorithm
-        gregorianToJalaliFast(gCal.get(Calendar.YEAR), gCal.get(Calendar.MONTH) + 1,
-                              gCal.get(Calendar.DAY_OF_MONTH), temp);
+    /**
+     * Proleptic Gregorian year, 1-based month and day of the local date
+     */
+    private int[] gregorianYmd() {
+        ensureComputed();
+        int[] ymd = new int[3];
+        epochDayToGregorian(localEpochDay, ymd);
+        return ymd;
+    }
 
-        //The algorithm returns 1-based month, convert to 0-based for internal storage
-        persianYear  = temp[0];
-        persianMonth = temp[1] - 1;  //Convert 1-based to 0-based
-        persianDay   = temp[2];
+    /**
+     * Move to a local epoch day, keeping the time of day
+     */
+    private void setLocalEpochDay(long epochDay) {
+        ensureComputed();
+        setLocalDateTime(epochDay, millisOfDay);
+    }
+
+    /**
+     * Set a Gregorian date (1-based month), clamping the day to the month length
+     */
+    private void setGregorianDateClamped(int year, int month, int day) {
+        setLocalEpochDay(gregorianToEpochDay(year, month, Math.min(day, getGrgMonthLength(year, month))));
     }
 
     /**
@@ -679,83 +803,53 @@ public class FastPersianCalendar extends Calendar {
         return String.format(Locale.US,
                              "Persian: %d/%d/%d, Gregorian: %d/%d/%d, Month Name: %s, Day of Week: %s",
                              persianYear, persianMonth + 1, persianDay,
-                             gCal.get(Calendar.YEAR), gCal.get(Calendar.MONTH) + 1, gCal.get(Calendar.DAY_OF_MONTH),
+                             getGrgYear(), getGrgMonth(),
+                             getGrgDay(),
                              getMonthName(), getWeekdayName());
     }
 
     private void ensureComputed() {
+        if (!isTimeSet) {
+            //Resolve pending set() calls first, as Calendar.complete() does
+            getTimeInMillis();
+        }
         if (isDirty || time != lastComputedTime || !areFieldsSet) {
             computeFields();
         }
     }
 
     /**
-     * Handle Persian date arithmetic with proper day adjustment
-     * Internal months are 0-based
+     * Get the string cache for the current time, creating it on first use
      */
-    private void handlePersianArithmetic(int field, int amount) {
-        switch (field) {
-            case YEAR:
-                persianYear += amount;
-                if (persianYear < 1) persianYear = 1;
-                adjustDayForMonth();
-                break;
-            case MONTH:
-                int totalMonths = persianYear * 12 + persianMonth + amount;
-                if (totalMonths >= 0) {
-                    persianYear  = totalMonths / 12;
-                    persianMonth = totalMonths % 12;
-                } else {
-                    int yearsToSubtract = (-totalMonths + 11) / 12;
-                    persianYear -= yearsToSubtract;
-                    if (persianYear < 1) persianYear = 1;
-                    persianMonth = (totalMonths % 12 + 12) % 12;
-                }
-                adjustDayForMonth();
-                break;
-            case DAY_OF_MONTH:
-                persianDay += amount;
-                normalizeDate();
-                break;
+    private DerivedStrings derivedStrings() {
+        ensureComputed();
+        DerivedStrings strings = derivedStrings;
+        if (strings == null || strings.time != time) {
+            strings        = new DerivedStrings(time);
+            derivedStrings = strings;
         }
-
-        // Recompute Gregorian date and sync
-        computeGregorianFromPersianFast();
-        setTimeInMillis(gCal.getTimeInMillis());
-        isDirty          = true;
-        lastComputedTime = -1;
-        areFieldsSet     = false;
-    }
-
-    public void addDays(int days) {
-        add(DAY_OF_MONTH, days);
+        return strings;
     }
 
     /**
-     * Normalize date by handling overflow/underflow of days
+     * Strings derived from one computed time value.
+     * Every field stays null until its getter is first called.
      */
+    private static final class DerivedStrings {
+        final long time;
+        String     longDate;
+        String     longDateTime;
+        String     shortDate;
+        String     monthName;
+        String     weekdayName;
 
-    private void normalizeDate() {
-        // Handle positive overflow
-        while (persianDay > getDaysInMonthInternal(persianYear, persianMonth)) {
-            persianDay -= getDaysInMonthInternal(persianYear, persianMonth);
-            persianMonth++;
-            if (persianMonth > 11) {
-                persianMonth = 0;
-                persianYear++;
-            }
+        DerivedStrings(long time) {
+            this.time = time;
         }
+    }
 
-        // Handle negative underflow
-        while (persianDay < 1) {
-            persianMonth--;
-            if (persianMonth < 0) {
-                persianMonth = 11;
-                persianYear--;
-                if (persianYear < 1) persianYear = 1;
-            }
-            persianDay += getDaysInMonthInternal(persianYear, persianMonth);
-        }
+    public void addDays(int days) {
+        add(DAY_OF_MONTH, days);
     }
 
     /**
@@ -769,67 +863,166 @@ public class FastPersianCalendar extends Calendar {
         }
     }
 
+    /**
+     * Calendar.add in constant time: dates move by epoch day or month index,
+     * time fields move the instant.
+     */
     @Override
     public void add(int field, int amount) {
         if (amount == 0) return;
         if (field < 0 || field >= ZONE_OFFSET) return;
 
-        complete();
+        ensureComputed();
 
-        if (field == YEAR || field == MONTH || field == DAY_OF_MONTH) {
-            handlePersianArithmetic(field, amount);
-        } else {
-            computeTime();
-            gCal.add(field, amount);
-            time = gCal.getTimeInMillis();
-            computePersianFromGregorianFast();
-            areFieldsSet = false;
+        switch (field) {
+            case YEAR:
+                setPersianDateClamped(persianYear + amount, persianMonth, persianDay);
+                break;
+            case MONTH:
+                long monthIndex = persianYear * 12L + persianMonth + amount;
+                setPersianDateClamped((int) Math.floorDiv(monthIndex, 12L), (int) Math.floorMod(monthIndex, 12L), persianDay);
+                break;
+            case DAY_OF_MONTH:
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+                setLocalEpochDay(localEpochDay + amount);
+                break;
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                setLocalEpochDay(localEpochDay + 7L * amount);
+                break;
+            case AM_PM:
+                setLocalDateTime(localEpochDay + amount / 2, millisOfDay + 12 * 3600000L * (amount % 2));
+                break;
+            case HOUR:
+            case HOUR_OF_DAY:
+                setTimeInMillis(time + amount * 3600000L);
+                break;
+            case MINUTE:
+                setTimeInMillis(time + amount * 60000L);
+                break;
+            case SECOND:
+                setTimeInMillis(time + amount * 1000L);
+                break;
+            case MILLISECOND:
+                setTimeInMillis(time + amount);
+                break;
+            default:
+                //ERA: the Persian calendar has a single era
+                break;
         }
     }
 
     @Override
     public void roll(int field, boolean up) {
-        complete();
-        int amount = up ? 1 : -1;
+        roll(field, up ? 1 : -1);
+    }
+
+    /**
+     * Calendar.roll in constant time (Calendar's default loops once per unit).
+     * YEAR and MONTH carry into the year like add, the other fields wrap inside their range.
+     */
+    @Override
+    public void roll(int field, int amount) {
+        if (amount == 0) return;
+
+        ensureComputed();
 
         switch (field) {
             case YEAR:
-                persianYear += amount;
-                if (persianYear < 1) persianYear = 1;
-                adjustDayForMonth();
-                break;
             case MONTH:
-                int newMonth = persianMonth + amount;
-                if (newMonth < 0) {
-                    newMonth = 11;
-                    persianYear--;
-                    if (persianYear < 1) persianYear = 1;
-                } else if (newMonth > 11) {
-                    newMonth = 0;
-                    persianYear++;
-                }
-                persianMonth = newMonth;
-                adjustDayForMonth();
+                add(field, amount);
                 break;
             case DAY_OF_MONTH:
-                int maxDays = getDaysInMonthInternal(persianYear, persianMonth);
-                persianDay += amount;
-                if (persianDay < 1) persianDay = maxDays;
-                else if (persianDay > maxDays) persianDay = 1;
+                MonthInfo month = getMonthInfo();
+                rollDay(month.getFirstEpochDay(), month.getLastEpochDay(), amount);
+                break;
+            case DAY_OF_YEAR:
+                YearInfo year = getYearInfo();
+                rollDay(year.getFirstEpochDay(), year.getLastEpochDay(), amount);
+                break;
+            case DAY_OF_WEEK:
+                long weekStart = localEpochDay - persianWeekdayIndex(localEpochDay);
+                rollDay(weekStart, weekStart + 6, amount);
+                break;
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                MonthInfo weekMonth = getMonthInfo();
+                rollWeek(weekMonth.getFirstEpochDay(), weekMonth.getLastEpochDay(), amount);
+                break;
+            case WEEK_OF_YEAR:
+                YearInfo weekYear = getYearInfo();
+                rollWeek(weekYear.getFirstEpochDay(), weekYear.getLastEpochDay(), amount);
+                break;
+            case AM_PM:
+                rollTimeOfDay(12 * 3600000, 2, amount);
+                break;
+            case HOUR:
+                rollTimeOfDay(3600000, 12, amount);
+                break;
+            case HOUR_OF_DAY:
+                rollTimeOfDay(3600000, 24, amount);
+                break;
+            case MINUTE:
+                rollTimeOfDay(60000, 60, amount);
+                break;
+            case SECOND:
+                rollTimeOfDay(1000, 60, amount);
+                break;
+            case MILLISECOND:
+                rollTimeOfDay(1, 1000, amount);
                 break;
             default:
-                computeTime();
-                gCal.roll(field, up);
-                time = gCal.getTimeInMillis();
-                computePersianFromGregorianFast();
+                //ERA and zone offsets cannot be rolled
                 break;
         }
+    }
 
-        computeGregorianFromPersianFast();
-        setTimeInMillis(gCal.getTimeInMillis());
-        isDirty          = true;
-        lastComputedTime = -1;
-        areFieldsSet     = false;
+    /**
+     * Move to a Persian date (0-based month, year at least 1) clamping the day, keeping the time of day
+     */
+    private void setPersianDateClamped(int year, int month, int day) {
+        year = Math.max(1, year);
+        setPersianDateTimeInternal(year, month, Math.min(day, getDaysInMonthInternal(year, month)), millisOfDay);
+    }
+
+    /**
+     * Move to a local epoch day and time of day; out of range times carry into the date
+     */
+    private void setLocalDateTime(long epochDay, long timeOfDay) {
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        setPersianDateTimeInternal(persian[0], persian[1] - 1, persian[2], timeOfDay);
+    }
+
+    /**
+     * Wrap the local day inside the epoch day range [first, last]
+     */
+    private void rollDay(long first, long last, int amount) {
+        setLocalEpochDay(first + Math.floorMod(localEpochDay - first + amount, last - first + 1));
+    }
+
+    /**
+     * Step through the days with the same weekday inside the epoch day range [first, last]
+     */
+    private void rollWeek(long first, long last, int amount) {
+        long firstMatch = first + Math.floorMod(localEpochDay - first, 7L);
+        long weeks      = (last - firstMatch) / 7 + 1;
+        long week       = (localEpochDay - firstMatch) / 7;
+        setLocalEpochDay(firstMatch + 7 * Math.floorMod(week + amount, weeks));
+    }
+
+    /**
+     * Wrap one time field inside its range without touching the date or the larger time fields
+     *
+     * @param unit  millis per unit of the field
+     * @param range number of values the field takes, e.g. 60 for MINUTE
+     */
+    private void rollTimeOfDay(int unit, int range, int amount) {
+        long value  = (millisOfDay / unit) % range;
+        long rolled = Math.floorMod(value + amount, (long) range);
+        setPersianDateTimeInternal(persianYear, persianMonth, persianDay, millisOfDay + (rolled - value) * unit);
     }
 
 
@@ -839,18 +1032,12 @@ public class FastPersianCalendar extends Calendar {
 
     @Override
     public void setTimeInMillis(long millis) {
-        super.setTimeInMillis(millis);
-
-        //Sync gCal with the new time
-        gCal.setTimeInMillis(millis);
-
-        //Force recomputation
+        //Force recomputation, Calendar skips computeFields when time is unchanged
         lastComputedTime = -1;
-        isDirty          = true;
         areFieldsSet     = false;
 
-        //Compute fields immediately
-        computeFields();
+        //Computes the date fields once, the other groups on first access
+        super.setTimeInMillis(millis);
     }
 
     @Override
@@ -878,14 +1065,16 @@ public class FastPersianCalendar extends Calendar {
                 persianDay = value;
                 break;
             default:
+                //Materialize the group so its other fields keep their values
+                ensureComputed();
+                computeFieldGroups(fieldGroup(field));
                 super.set(field, value);
                 return;
         }
 
-        computeGregorianFromPersianFast();
-        setTimeInMillis(gCal.getTimeInMillis());
-        areFieldsSet     = false;
-        lastComputedTime = -1;
+        //Defer the conversion to the next read, as Calendar.set does
+        isTimeSet    = false;
+        areFieldsSet = false;
     }
 
     @Override
@@ -974,8 +1163,35 @@ public class FastPersianCalendar extends Calendar {
         this.lastComputedTime = -1;
         this.areFieldsSet     = false;
 
-        computeGregorianFromPersianFast();
-        setTimeInMillis(gCal.getTimeInMillis());
+        setTimeInMillis(computeTimeFromPersian());
+    }
+
+    /**
+     * Set Persian date (0-based month) and local time of day with a single conversion
+     */
+    private void setPersianDateTimeInternal(int year, int month, int day, long millisOfDay) {
+        long     epochDay    = persianToEpochDay(year, month + 1, day);
+        long     localMillis = epochDay * MILLIS_PER_DAY + millisOfDay;
+        TimeZone zone        = getTimeZone();
+        long     utcMillis   = toUtcMillis(localMillis, zone);
+
+        if (millisOfDay < 0 || millisOfDay >= MILLIS_PER_DAY || toLocalMillis(utcMillis, zone) != localMillis) {
+            //Time rolled into another day or fell into a DST gap, derive the fields from the instant
+            setTimeInMillis(utcMillis);
+            return;
+        }
+
+        //The wall time exists as given, so the Persian fields are already known
+        time      = utcMillis;
+        isTimeSet = true;
+        installDateFields(epochDay, (int) millisOfDay, year, month, day);
+        lastComputedTime = utcMillis;
+        isDirty          = false;
+        derivedStrings   = null;
+    }
+
+    private static long toMillisOfDay(int hour, int minute, int second, int millis) {
+        return hour * 3600000L + minute * 60000L + second * 1000L + millis;
     }
 
     /**
@@ -1014,14 +1230,14 @@ public class FastPersianCalendar extends Calendar {
     /**
      * Validate Persian date (internal: 0-based month)
      */
-    private void validatePersianDateInternal(int year, int month, int day) {
+    private static void validatePersianDateInternal(int year, int month, int day) {
         if (year < 1 || year > 9999) {
             throw new IllegalArgumentException("Year must be between 1 and 9999, got: " + year);
         }
         if (month < 0 || month > 11) {
             throw new IllegalArgumentException("Month must be between 0 and 11, got: " + month);
         }
-        int maxDays = getDaysInMonthInternal(year, month);
+        int maxDays = getDaysInMonthInternalStatic(year, month);
         if (day < 1 || day > maxDays) {
             throw new IllegalArgumentException("Day must be between 1 and " + maxDays + ", got: " + day);
         }
@@ -1030,7 +1246,7 @@ public class FastPersianCalendar extends Calendar {
     /**
      * Validate Gregorian date (1-based month)
      */
-    private void validateGregorianDate(int year, int month, int day) {
+    private static void validateGregorianDate(int year, int month, int day) {
         if (year < 1 || year > 9999) {
             throw new IllegalArgumentException("Year must be between 1 and 9999, got: " + year);
         }
@@ -1043,6 +1259,21 @@ public class FastPersianCalendar extends Calendar {
         }
     }
 
+    private static void validateTimeOfDay(int hour, int minute, int second, int millis) {
+        if (hour < 0 || hour > 23) {
+            throw new IllegalArgumentException("Hour must be between 0 and 23, got: " + hour);
+        }
+        if (minute < 0 || minute > 59) {
+            throw new IllegalArgumentException("Minute must be between 0 and 59, got: " + minute);
+        }
+        if (second < 0 || second > 59) {
+            throw new IllegalArgumentException("Second must be between 0 and 59, got: " + second);
+        }
+        if (millis < 0 || millis > 999) {
+            throw new IllegalArgumentException("Millisecond must be between 0 and 999, got: " + millis);
+        }
+    }
+
     private void setInternalField(int field, int value) {
         fields[field] = value;
         isSet[field]  = true;
@@ -1133,20 +1364,12 @@ public class FastPersianCalendar extends Calendar {
                 int weeks = (dayOfYear - 1 + ((dayOfWeek - SATURDAY + 7) % 7)) / 7 + 1;
                 return Math.min(weeks, 53);
             case WEEK_OF_MONTH:
-                int daysInMonth = getDaysInMonth(getYear(), getMonth());
-                int firstDayOfMonth = getFirstDayOfMonth();
-                int firstDayWeek = (firstDayOfMonth - SATURDAY + 7) % 7;
-                return (daysInMonth - 1 + firstDayWeek) / 7 + 1;
+                return getMonthInfo().getWeekCount();
             default:
                 return getMaximum(field);
         }
     }
 
-    //Helper method to get first day of month
-    private int getFirstDayOfMonth() {
-        return calculateFirstDayOfMonth();
-    }
-
     @Override
     public int getGreatestMinimum(int field) {
         return getMinimum(field);
@@ -1206,6 +1429,8 @@ public class FastPersianCalendar extends Calendar {
         if (obj == null || getClass() != obj.getClass()) return false;
 
         FastPersianCalendar that = (FastPersianCalendar) obj;
+        this.ensureComputed();
+        that.ensureComputed();
         return this.time == that.time &&
                this.persianYear == that.persianYear &&
                this.persianMonth == that.persianMonth &&
@@ -1215,6 +1440,7 @@ public class FastPersianCalendar extends Calendar {
 
     @Override
     public int hashCode() {
+        ensureComputed();
         return Objects.hash(time, persianYear, persianMonth, persianDay, getTimeZone());
     }
 
@@ -1253,12 +1479,12 @@ public class FastPersianCalendar extends Calendar {
             }
 
             //Additional validation for actual month length
-            int maxDays = (new FastPersianCalendar()).getDaysInMonth(year, month);
+            int maxDays = getDaysInMonthInternalStatic(year, month - 1);
             if (day > maxDays) {
                 return null;
             }
 
-            return new FastPersianCalendar(year, month, day);
+            return ofPersian(year, month, day);
         } catch (Exception e) {
             return null;
         }
@@ -1303,13 +1529,12 @@ public class FastPersianCalendar extends Calendar {
     }
 
     /**
-     * Get Gregorian year from the underlying GregorianCalendar
+     * Get Gregorian year
      *
      * @return Gregorian year
      */
     public int getGrgYear() {
-        complete();
-        return gCal.get(Calendar.YEAR);
+        return gregorianYmd()[0];
     }
 
     /**
@@ -1318,8 +1543,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian month (1-12)
      */
     public int getGrgMonth() {
-        complete();
-        return gCal.get(Calendar.MONTH) + 1;
+        return gregorianYmd()[1];
     }
 
 
@@ -1329,8 +1553,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian day of month
      */
     public int getGrgDay() {
-        complete();
-        return gCal.get(Calendar.DAY_OF_MONTH);
+        return gregorianYmd()[2];
     }
 
     /**
@@ -1339,8 +1562,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian week of year (1-53)
      */
     public int getGrgWeekOfYear() {
-        complete();
-        return gCal.get(Calendar.WEEK_OF_YEAR);
+        return gregorian().get(Calendar.WEEK_OF_YEAR);
     }
 
     /**
@@ -1349,8 +1571,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian week of month (1-6)
      */
     public int getGrgWeekOfMonth() {
-        complete();
-        return gCal.get(Calendar.WEEK_OF_MONTH);
+        return gregorian().get(Calendar.WEEK_OF_MONTH);
     }
 
     /**
@@ -1359,8 +1580,8 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian day of week
      */
     public int getGrgDayOfWeek() {
-        complete();
-        return gCal.get(Calendar.DAY_OF_WEEK);
+        ensureComputed();
+        return dayOfWeek(localEpochDay);
     }
 
     /**
@@ -1370,8 +1591,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian weekday name
      */
     public String getGrgDayOfWeekName(Locale locale) {
-        complete();
-        int dayOfWeek = gCal.get(Calendar.DAY_OF_WEEK);
+        int dayOfWeek = getGrgDayOfWeek();
 
         //Map to Persian names if needed
         if (locale.getLanguage().equals("fa")) {
@@ -1380,7 +1600,7 @@ public class FastPersianCalendar extends Calendar {
             //Calendar.DAY_OF_WEEK: 1=SUNDAY, 2=MONDAY, ..., 7=SATURDAY
             return persianWeekdays[dayOfWeek - 1];
         } else {
-            return gCal.getDisplayName(Calendar.DAY_OF_WEEK, Calendar.LONG, locale);
+            return gregorian().getDisplayName(Calendar.DAY_OF_WEEK, Calendar.LONG, locale);
         }
     }
 
@@ -1391,8 +1611,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian month name
      */
     public String getGrgMonthName(Locale locale) {
-        complete();
-        return gCal.getDisplayName(Calendar.MONTH, Calendar.LONG, locale);
+        return gregorian().getDisplayName(Calendar.MONTH, Calendar.LONG, locale);
     }
 
     public String getGrgMonthName() {
@@ -1406,8 +1625,8 @@ public class FastPersianCalendar extends Calendar {
      * @return number of days in current Gregorian month
      */
     public int getGrgMonthLength() {
-        complete();
-        return gCal.getActualMaximum(Calendar.DAY_OF_MONTH);
+        int[] ymd = gregorianYmd();
+        return getGrgMonthLength(ymd[0], ymd[1]);
     }
 
     /**
@@ -1488,13 +1707,11 @@ public class FastPersianCalendar extends Calendar {
      * @return Gregorian month short name
      */
     public String getGrgMonthNameShort(Locale locale) {
-        complete();
-        return gCal.getDisplayName(Calendar.MONTH, Calendar.SHORT, locale);
+        return gregorian().getDisplayName(Calendar.MONTH, Calendar.SHORT, locale);
     }
 
     public String getGrgMonthNameShort() {
-        complete();
-        return gCal.getDisplayName(Calendar.MONTH, Calendar.SHORT, locale);
+        return gregorian().getDisplayName(Calendar.MONTH, Calendar.SHORT, locale);
     }
 
     /**
@@ -1569,9 +1786,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Persian date as FastPersianCalendar
      */
     public static FastPersianCalendar fromGregorian(int year, int month, int day) {
-        FastPersianCalendar result = new FastPersianCalendar();
-        result.setGregorianDate(year, month, day);
-        return result;
+        return ofGregorian(year, month, day);
     }
 
 
@@ -1583,7 +1798,7 @@ public class FastPersianCalendar extends Calendar {
     public static GregorianCalendar currentGregorian() {
         FastPersianCalendar result = new FastPersianCalendar();
         //Set to current time (which is already Gregorian)
-        return result.gCal;
+        return result.getGregorianDate();
     }
 
 
@@ -1654,13 +1869,8 @@ public class FastPersianCalendar extends Calendar {
      * @return true if Gregorian date is today
      */
     public boolean isGrgToday() {
-        GregorianCalendar today = new GregorianCalendar();
-        today.setTimeZone(getTimeZone());
-        today.setTime(new Date());
-
-        return today.get(Calendar.YEAR) == getGrgYear() &&
-               today.get(Calendar.MONTH) == (getGrgMonth() - 1) &&
-               today.get(Calendar.DAY_OF_MONTH) == getGrgDay();
+        //Same local day in this calendar's zone, whichever calendar names it
+        return toEpochDay() == toLocalEpochDay(Today.currentTimeMillis(), getTimeZone());
     }
 
     /**
@@ -1669,8 +1879,7 @@ public class FastPersianCalendar extends Calendar {
      * @return Date object representing the Gregorian date
      */
     public Date toDate() {
-        complete();
-        return gCal.getTime();
+        return new Date(getTimeInMillis());
     }
 
     /**
@@ -1679,8 +1888,7 @@ public class FastPersianCalendar extends Calendar {
      * @return milliseconds since epoch
      */
     public long getGrgTimeInMillis() {
-        complete();
-        return gCal.getTimeInMillis();
+        return getTimeInMillis();
     }
 
     /**
@@ -1698,8 +1906,7 @@ public class FastPersianCalendar extends Calendar {
             throw new IllegalArgumentException("Invalid day for month: " + day);
         }
 
-        gCal.set(year, month - 1, day);
-        setTimeInMillis(gCal.getTimeInMillis());
+        setLocalEpochDay(gregorianToEpochDay(year, month, day));
     }
 
     /**
@@ -1708,9 +1915,8 @@ public class FastPersianCalendar extends Calendar {
      * @param days number of days to add (can be negative)
      */
     public void addGrgDays(int days) {
-        complete();
-        gCal.add(Calendar.DAY_OF_MONTH, days);
-        setTimeInMillis(gCal.getTimeInMillis());
+        ensureComputed();
+        setLocalEpochDay(localEpochDay + days);
     }
 
     /**
@@ -1719,9 +1925,9 @@ public class FastPersianCalendar extends Calendar {
      * @param months number of months to add (can be negative)
      */
     public void addGrgMonths(int months) {
-        complete();
-        gCal.add(Calendar.MONTH, months);
-        setTimeInMillis(gCal.getTimeInMillis());
+        int[] ymd        = gregorianYmd();
+        long  monthIndex = ymd[0] * 12L + (ymd[1] - 1) + months;
+        setGregorianDateClamped((int) Math.floorDiv(monthIndex, 12L), (int) Math.floorMod(monthIndex, 12L) + 1, ymd[2]);
     }
 
     /**
@@ -1730,9 +1936,8 @@ public class FastPersianCalendar extends Calendar {
      * @param years number of years to add (can be negative)
      */
     public void addGrgYears(int years) {
-        complete();
-        gCal.add(Calendar.YEAR, years);
-        setTimeInMillis(gCal.getTimeInMillis());
+        int[] ymd = gregorianYmd();
+        setGregorianDateClamped(ymd[0] + years, ymd[1], ymd[2]);
     }
 
     /**
@@ -1742,9 +1947,7 @@ public class FastPersianCalendar extends Calendar {
      * @return number of days difference
      */
     public long grgDaysBetween(FastPersianCalendar other) {
-        long thisMillis  = this.getGrgTimeInMillis();
-        long otherMillis = other.getGrgTimeInMillis();
-        return Math.abs(thisMillis - otherMillis) / (1000 * 60 * 60 * 24);
+        return Math.abs(daysBetween(other));
     }
 
     /**
@@ -1772,8 +1975,8 @@ public class FastPersianCalendar extends Calendar {
      * @return day of year
      */
     public int getGrgDayOfYear() {
-        complete();
-        return gCal.get(Calendar.DAY_OF_YEAR);
+        int[] ymd = gregorianYmd();
+        return (int) (localEpochDay - gregorianToEpochDay(ymd[0], 1, 1)) + 1;
     }
 
     /**
@@ -1782,7 +1985,7 @@ public class FastPersianCalendar extends Calendar {
      * @return first day of week (Calendar.SUNDAY or Calendar.MONDAY)
      */
     public int getGrgFirstDayOfWeek() {
-        return gCal.getFirstDayOfWeek();
+        return gregorian().getFirstDayOfWeek();
     }
 
     /**
@@ -1984,8 +2187,25 @@ public class FastPersianCalendar extends Calendar {
      * @return number of days between the two dates (positive if this date is later)
      */
     public long daysBetween(FastPersianCalendar other) {
-        long diffMillis = this.getTimeInMillis() - other.getTimeInMillis();
-        return diffMillis / (1000 * 60 * 60 * 24);
+        ensureComputed();
+        other.ensureComputed();
+
+        //Whole days on the local clock, so a 23 or 25 hour DST day still counts as one day
+        long days = this.localEpochDay - other.localEpochDay;
+        if (days > 0 && this.millisOfDay < other.millisOfDay) {
+            days--;
+        } else if (days < 0 && this.millisOfDay > other.millisOfDay) {
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * Local epoch day of this calendar (days since 1970-01-01 in its time zone)
+     */
+    public long toEpochDay() {
+        ensureComputed();
+        return localEpochDay;
     }
 
     /**
@@ -2003,38 +2223,11 @@ public class FastPersianCalendar extends Calendar {
             throw new IllegalArgumentException("Other date cannot be null");
         }
 
-        // Ensure both dates are computed
         ensureComputed();
         other.ensureComputed();
 
-        // If dates are equal, return 0
-        if (this.isSameDay(other)) {
-            return 0;
-        }
-
-        // Convert both dates to milliseconds at midnight (00:00:00.000)
-        long thisMillis  = this.atStartOfDay().getTimeInMillis();
-        long otherMillis = other.atStartOfDay().getTimeInMillis();
-
-        // Calculate difference in days
-        long diffMillis = thisMillis - otherMillis;
-        long diffDays   = diffMillis / (1000 * 60 * 60 * 24);
-
-        // Handle potential rounding errors near daylight saving time boundaries
-        // Check if the calculated days match the actual date difference
-        FastPersianCalendar testDate = other.copy();
-        testDate.addDays((int) diffDays);
-
-        if (!testDate.isSameDay(this)) {
-            // Adjust for daylight saving time or other anomalies
-            if (diffDays > 0) {
-                diffDays--;
-            } else {
-                diffDays++;
-            }
-        }
-
-        return (int) diffDays;
+        //Calendar days between the two local dates
+        return (int) (this.localEpochDay - other.localEpochDay);
     }
 
     /**
@@ -2054,39 +2247,104 @@ public class FastPersianCalendar extends Calendar {
     }
 
     /**
-     * Calculate the number of business days (excluding Fridays) between two dates
+     * Calculate the number of business days between two dates, both ends inclusive, skipping
+     * Fridays and official holidays like {@link #isHoliday()}
      *
      * @param other the other Persian date
      * @return number of business days between this date and the other date
      */
     public int calculateBusinessDaysBetween(FastPersianCalendar other) {
-        if (other == null) {
-            throw new IllegalArgumentException("Other date cannot be null");
+        return calculateBusinessDaysBetween(other, HolidayCalendar.getDefault());
+    }
+
+    /**
+     * Business days between this date and the other, both ends inclusive, skipping the holidays
+     * of a calendar or tenant overlay
+     */
+    public int calculateBusinessDaysBetween(FastPersianCalendar other, HolidayCalendar holidays) {
+        if (other == null || holidays == null) {
+            throw new IllegalArgumentException("Other date and holiday calendar cannot be null");
         }
 
-        int totalDays    = Math.abs(calculateDaysBetween(other));
-        int businessDays = 0;
+        long first = Math.min(toEpochDay(), other.toEpochDay());
+        long last  = Math.max(toEpochDay(), other.toEpochDay());
+        return holidays.countBusinessDays(first, last);
+    }
 
-        // Determine which date is earlier for iteration
-        FastPersianCalendar startDate, endDate;
-        if (this.isBefore(other)) {
-            startDate = this.copy();
-            endDate   = other.copy();
-        } else {
-            startDate = other.copy();
-            endDate   = this.copy();
+    /**
+     * Business days (Fridays and official holidays skipped) between two epoch days, both ends
+     * inclusive, in either order
+     */
+    public static int countBusinessDays(long epochDay1, long epochDay2) {
+        long first = Math.min(epochDay1, epochDay2);
+        long last  = Math.max(epochDay1, epochDay2);
+        return HolidayCalendar.getDefault().countBusinessDays(first, last);
+    }
+
+    /**
+     * Days other than Friday between two epoch days, both ends inclusive, in either order.
+     * Official holidays are counted, see {@link #countBusinessDays(long, long)} to skip them.
+     */
+    public static int countNonFridays(long epochDay1, long epochDay2) {
+        long first = Math.min(epochDay1, epochDay2);
+        long last  = Math.max(epochDay1, epochDay2);
+        return (int) (last - first + 1 - countDaysOfWeek(first, last, WEEKDAY_HOLIDAY_NUMBER));
+    }
+
+    /**
+     * Bulk version of {@link #calculateBusinessDaysBetween(FastPersianCalendar)}
+     *
+     * @return result[i] is the business day count between starts[i] and ends[i]
+     */
+    public static int[] calculateBusinessDaysBetween(FastPersianCalendar[] starts, FastPersianCalendar[] ends) {
+        checkPairs(starts, ends);
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        int[]           result   = new int[starts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = starts[i].calculateBusinessDaysBetween(ends[i], holidays);
         }
+        return result;
+    }
 
-        // Count business days (skip Fridays)
-        FastPersianCalendar currentDate = startDate.copy();
-        while (!currentDate.isAfter(endDate)) {
-            if (!currentDate.isHoliday()) { // Friday is holiday in Persian calendar
-                businessDays++;
-            }
-            currentDate.addDays(1);
+    /**
+     * Bulk business day count over epoch day pairs, Fridays and official holidays skipped
+     *
+     * @return result[i] is the business day count between startEpochDays[i] and endEpochDays[i]
+     */
+    public static int[] countBusinessDays(long[] startEpochDays, long[] endEpochDays) {
+        checkPairs(startEpochDays, endEpochDays);
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        int[]           result   = new int[startEpochDays.length];
+        for (int i = 0; i < result.length; i++) {
+            long first = Math.min(startEpochDays[i], endEpochDays[i]);
+            long last  = Math.max(startEpochDays[i], endEpochDays[i]);
+            result[i] = holidays.countBusinessDays(first, last);
         }
+        return result;
+    }
 
-        return businessDays;
+    /**
+     * Bulk version of {@link #countNonFridays(long, long)}
+     */
+    public static int[] countNonFridays(long[] startEpochDays, long[] endEpochDays) {
+        checkPairs(startEpochDays, endEpochDays);
+        int[] result = new int[startEpochDays.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = countNonFridays(startEpochDays[i], endEpochDays[i]);
+        }
+        return result;
+    }
+
+    private static void checkPairs(long[] starts, long[] ends) {
+        if (starts == null || ends == null || starts.length != ends.length) {
+            throw new IllegalArgumentException("Start and end arrays must be non-null and of equal length");
+        }
+    }
+
+    private static void checkPairs(FastPersianCalendar[] starts, FastPersianCalendar[] ends) {
+        if (starts == null || ends == null || starts.length != ends.length) {
+            throw new IllegalArgumentException("Start and end arrays must be non-null and of equal length");
+        }
     }
 
     /**
@@ -2236,27 +2494,26 @@ public class FastPersianCalendar extends Calendar {
             throw new IllegalArgumentException("Invalid day of week: " + targetDayOfWeek);
         }
 
-        // Determine which date is earlier for iteration
-        FastPersianCalendar startDate, endDate;
-        if (this.isBefore(other)) {
-            startDate = this.copy();
-            endDate   = other.copy();
-        } else {
-            startDate = other.copy();
-            endDate   = this.copy();
-        }
-
-        int                 count       = 0;
-        FastPersianCalendar currentDate = startDate.copy();
+        ensureComputed();
+        other.ensureComputed();
+        long first = Math.min(this.localEpochDay, other.localEpochDay);
+        long last  = Math.max(this.localEpochDay, other.localEpochDay);
+        return (int) countDaysOfWeek(first, last, targetDayOfWeek);
+    }
 
-        while (!currentDate.isAfter(endDate)) {
-            if (currentDate.get(DAY_OF_WEEK) == targetDayOfWeek) {
-                count++;
-            }
-            currentDate.addDays(1);
+    /**
+     * Bulk version of {@link #calculateSpecificWeekdaysBetween(FastPersianCalendar, int)}
+     *
+     * @return result[i] is the weekday count between starts[i] and ends[i]
+     */
+    public static int[] calculateSpecificWeekdaysBetween(FastPersianCalendar[] starts, FastPersianCalendar[] ends,
+            int targetDayOfWeek) {
+        checkPairs(starts, ends);
+        int[] result = new int[starts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = starts[i].calculateSpecificWeekdaysBetween(ends[i], targetDayOfWeek);
         }
-
-        return count;
+        return result;
     }
 
     /**
@@ -2342,6 +2599,13 @@ public class FastPersianCalendar extends Calendar {
         return !this.isBefore(startDate) && !this.isAfter(endDate);
     }
 
+    /**
+     * Local days from this date to the end date, both inclusive
+     */
+    public PersianDateRange rangeTo(FastPersianCalendar endDate) {
+        return PersianDateRange.of(this, endDate);
+    }
+
     /**
      * Calculate overlapping days between two date ranges
      *
@@ -2376,12 +2640,92 @@ public class FastPersianCalendar extends Calendar {
     }
 
     /**
-     * Check if the current date is a holiday (Friday in Persian calendar)
+     * Check if the current date is a holiday (Friday or an official Iranian holiday)
      *
-     * @return true if the day is Friday
+     * @return true if the day is Friday or an official holiday
      */
     public boolean isHoliday() {
-        return get(DAY_OF_WEEK) == WEEKDAY_HOLIDAY_NUMBER;
+        return isHoliday(HolidayCalendar.getDefault());
+    }
+
+    /**
+     * Check the current date against a holiday calendar, e.g. one with a Thursday and Friday weekend
+     */
+    public boolean isHoliday(HolidayCalendar holidays) {
+        return holidays.isHoliday(toEpochDay());
+    }
+
+    /**
+     * Move forward (or back, when negative) by business days, keeping the time of day.
+     * Fridays and official holidays are skipped.
+     */
+    public void addBusinessDays(int days) {
+        addBusinessDays(days, HolidayCalendar.getDefault());
+    }
+
+    public void addBusinessDays(int days, HolidayCalendar holidays) {
+        ensureComputed();
+        setLocalEpochDay(holidays.addBusinessDays(localEpochDay, days));
+    }
+
+    /**
+     * Get the first business day after this date (Fridays and official holidays skipped)
+     *
+     * @return new instance with the same time of day
+     */
+    public FastPersianCalendar nextBusinessDay() {
+        return nextBusinessDay(HolidayCalendar.getDefault());
+    }
+
+    public FastPersianCalendar nextBusinessDay(HolidayCalendar holidays) {
+        FastPersianCalendar result = clone();
+        result.setLocalEpochDay(holidays.nextBusinessDay(toEpochDay()));
+        return result;
+    }
+
+    /**
+     * Get the last business day before this date (Fridays and official holidays skipped)
+     *
+     * @return new instance with the same time of day
+     */
+    public FastPersianCalendar previousBusinessDay() {
+        return previousBusinessDay(HolidayCalendar.getDefault());
+    }
+
+    public FastPersianCalendar previousBusinessDay(HolidayCalendar holidays) {
+        FastPersianCalendar result = clone();
+        result.setLocalEpochDay(holidays.previousBusinessDay(toEpochDay()));
+        return result;
+    }
+
+    /**
+     * Move to the deadline after a number of business minutes
+     * (Saturday to Wednesday 08:00-16:00, Thursday 08:00-12:00, Tehran time)
+     */
+    public void addBusinessMinutes(long minutes) {
+        addBusinessMinutes(minutes, BusinessHours.getDefault());
+    }
+
+    public void addBusinessMinutes(long minutes, BusinessHours hours) {
+        setTimeInMillis(hours.addBusinessMinutes(getTimeInMillis(), minutes));
+    }
+
+    /**
+     * Business minutes from this instant to another, negative when the other is earlier
+     */
+    public long businessMinutesUntil(FastPersianCalendar other) {
+        return businessMinutesUntil(other, BusinessHours.getDefault());
+    }
+
+    public long businessMinutesUntil(FastPersianCalendar other, BusinessHours hours) {
+        return hours.businessMinutesBetween(getTimeInMillis(), other.getTimeInMillis());
+    }
+
+    /**
+     * Check if the current date is an official Iranian holiday, whatever the weekday
+     */
+    public boolean isOfficialHoliday() {
+        return HolidayCalendar.getDefault().isOfficialHoliday(toEpochDay());
     }
 
     /**
@@ -2390,8 +2734,7 @@ public class FastPersianCalendar extends Calendar {
      * @return true if the date represents today
      */
     public boolean isToday() {
-        FastPersianCalendar today = new FastPersianCalendar();
-        return isEqual(today);
+        return toEpochDay() == Today.get().getEpochDay();
     }
 
     /**
@@ -2449,10 +2792,7 @@ public class FastPersianCalendar extends Calendar {
      */
     public FastPersianCalendar atStartOfDay() {
         FastPersianCalendar result = new FastPersianCalendar(this);
-        result.set(HOUR_OF_DAY, 0);
-        result.set(MINUTE, 0);
-        result.set(SECOND, 0);
-        result.set(MILLISECOND, 0);
+        result.setStartOfDay();
         return result;
     }
 
@@ -2463,10 +2803,7 @@ public class FastPersianCalendar extends Calendar {
      */
     public FastPersianCalendar atEndOfDay() {
         FastPersianCalendar result = new FastPersianCalendar(this);
-        result.set(HOUR_OF_DAY, 23);
-        result.set(MINUTE, 59);
-        result.set(SECOND, 59);
-        result.set(MILLISECOND, 999);
+        result.setEndOfDay();
         return result;
     }
 
@@ -2553,22 +2890,28 @@ public class FastPersianCalendar extends Calendar {
         FastPersianCalendar clone = (FastPersianCalendar) super.clone();
 
         //The parent clone() creates a shallow copy
-        //We need to ensure our fields are properly copied
+        //Our int fields, field groups and time are copied correctly by parent clone
 
-        //Our int fields will be copied correctly by parent clone
-        //But we need to ensure gCal is in sync
-        //Since gCal is final and shared, we need to sync it
-
-        //Set gCal to the same time (it's the same object reference, but that's OK)
-        clone.gCal.setTimeInMillis(this.gCal.getTimeInMillis());
-
-        //The time field should already be copied by super.clone()
-        //We need to recompute our Persian fields from the time
-        clone.computePersianFromGregorianFast();
+        //The string cache is per instance
+        clone.derivedStrings = null;
 
         return clone;
     }
 
+    /**
+     * Immutable view of every field and name at the current time, safe to share between threads.
+     * Cheaper than clone() for publishing, since readers never compute anything.
+     */
+    public PersianDateSnapshot snapshot() {
+        complete();
+        int[] values = new int[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            values[field] = internalGet(field);
+        }
+        return new PersianDateSnapshot(time, localEpochDay, (TimeZone) getTimeZone().clone(), locale, values,
+                                       gregorianYmd(), getDaysInMonth(), getMonthName(), getWeekdayName());
+    }
+
     public FastPersianCalendar clone1() {
         //Create a new instance with the same time zone and locale
         FastPersianCalendar clone = new FastPersianCalendar(this.getTimeZone(), this.locale);
@@ -2601,7 +2944,7 @@ public class FastPersianCalendar extends Calendar {
      * @return true if the day is Friday
      */
     public boolean isWeekend() {
-        return isHoliday();
+        return get(DAY_OF_WEEK) == WEEKDAY_HOLIDAY_NUMBER;
     }
 
     /**
@@ -2610,7 +2953,7 @@ public class FastPersianCalendar extends Calendar {
      * @return true if the day is not Friday
      */
     public boolean isWeekday() {
-        return !isHoliday();
+        return !isWeekend();
     }
 
     /**
@@ -2808,20 +3151,20 @@ public class FastPersianCalendar extends Calendar {
     }
 
     public int getGregorianDaysPassedFromStartOfYear() {
-        return gCal.get(Calendar.DAY_OF_YEAR) - 1;
+        return getGrgDayOfYear() - 1;
     }
 
     public int getGregorianRemainingDaysUntilEndOfYear() {
-        int totalDaysInYear = gCal.getActualMaximum(Calendar.DAY_OF_YEAR);
-        int dayOfYear       = gCal.get(Calendar.DAY_OF_YEAR);
+        int totalDaysInYear = isGrgLeapYear() ? 366 : 365;
+        int dayOfYear       = getGrgDayOfYear();
         return totalDaysInYear - dayOfYear + 1;
     }
 
     public int getHijriDaysPassedFromStartOfYear() {
         YMD hijriDate = gregorianToHijri(
-                gCal.get(Calendar.YEAR),
-                gCal.get(Calendar.MONTH) + 1,
-                gCal.get(Calendar.DAY_OF_MONTH)
+                getGrgYear(),
+                getGrgMonth(),
+                getGrgDay()
         );
 
         //Reset both calendars to midnight for accurate day calculation
@@ -2831,7 +3174,7 @@ public class FastPersianCalendar extends Calendar {
         startOfYearGreg.set(Calendar.SECOND, 0);
         startOfYearGreg.set(Calendar.MILLISECOND, 0);
 
-        GregorianCalendar currentGreg = (GregorianCalendar) gCal.clone();
+        GregorianCalendar currentGreg = gregorian();
         currentGreg.set(Calendar.HOUR_OF_DAY, 0);
         currentGreg.set(Calendar.MINUTE, 0);
         currentGreg.set(Calendar.SECOND, 0);
@@ -2847,9 +3190,9 @@ public class FastPersianCalendar extends Calendar {
 
     public int getHijriRemainingDaysUntilEndOfYear() {
         YMD hijriDate = gregorianToHijri(
-                gCal.get(Calendar.YEAR),
-                gCal.get(Calendar.MONTH) + 1,
-                gCal.get(Calendar.DAY_OF_MONTH)
+                getGrgYear(),
+                getGrgMonth(),
+                getGrgDay()
         );
 
         //Get the Gregorian date for start of NEXT Hijri year
@@ -2859,7 +3202,7 @@ public class FastPersianCalendar extends Calendar {
         nextYearStartGreg.set(Calendar.SECOND, 0);
         nextYearStartGreg.set(Calendar.MILLISECOND, 0);
 
-        GregorianCalendar currentGreg = (GregorianCalendar) gCal.clone();
+        GregorianCalendar currentGreg = gregorian();
         currentGreg.set(Calendar.HOUR_OF_DAY, 0);
         currentGreg.set(Calendar.MINUTE, 0);
         currentGreg.set(Calendar.SECOND, 0);
@@ -2876,9 +3219,9 @@ public class FastPersianCalendar extends Calendar {
 
     public int getHijriDayOfYear() {
         YMD hijriDate = gregorianToHijri(
-                gCal.get(Calendar.YEAR),
-                gCal.get(Calendar.MONTH),
-                gCal.get(Calendar.DAY_OF_MONTH)
+                getGrgYear(),
+                getGrgMonth() - 1,
+                getGrgDay()
         );
 
         int dayOfYear = hijriDate.day;
@@ -2897,9 +3240,9 @@ public class FastPersianCalendar extends Calendar {
     //Helper method to find start of Hijri year
     public FastPersianCalendar getStartOfHijriYear() {
         YMD hijriDate = gregorianToHijri(
-                gCal.get(Calendar.YEAR),
-                gCal.get(Calendar.MONTH),
-                gCal.get(Calendar.DAY_OF_MONTH)
+                getGrgYear(),
+                getGrgMonth() - 1,
+                getGrgDay()
         );
 
         GregorianCalendar startGreg = hijriToGregorian(hijriDate.year, 1, 1);
@@ -2909,7 +3252,7 @@ public class FastPersianCalendar extends Calendar {
     //Helper method to find start of Gregorian year
     public Calendar getStartOfGregorianYear() {
         Calendar startCal = Calendar.getInstance();
-        startCal.set(gCal.get(Calendar.YEAR), Calendar.JANUARY, 1, 0, 0, 0);
+        startCal.set(getGrgYear(), Calendar.JANUARY, 1, 0, 0, 0);
         return startCal;
     }
 
@@ -2999,7 +3342,7 @@ public class FastPersianCalendar extends Calendar {
      * @return true if date is before today
      */
     public boolean isPast() {
-        return isBefore(new FastPersianCalendar());
+        return getTimeInMillis() < Today.currentTimeMillis();
     }
 
     /**
@@ -3008,7 +3351,7 @@ public class FastPersianCalendar extends Calendar {
      * @return true if date is after today
      */
     public boolean isFuture() {
-        return isAfter(new FastPersianCalendar());
+        return getTimeInMillis() > Today.currentTimeMillis();
     }
 
     /**
@@ -3112,12 +3455,12 @@ public class FastPersianCalendar extends Calendar {
                              "  Time in millis: %d\n" +
                              "  Persian Date: %04d/%02d/%02d\n" +
                              "  Gregorian Date: %04d/%02d/%02d\n" +
-                             "  gCal time: %d\n" +
+                             "  Gregorian time: %d\n" +
                              "  isDirty: %b, lastComputedTime: %d",
                              getTimeInMillis(),
                              persianYear, persianMonth + 1, persianDay,
-                             gCal.get(Calendar.YEAR), gCal.get(Calendar.MONTH) + 1, gCal.get(Calendar.DAY_OF_MONTH),
-                             gCal.getTimeInMillis(),
+                             getGrgYear(), getGrgMonth(), getGrgDay(),
+                             getTimeInMillis(),
                              isDirty, lastComputedTime);
     }
 
@@ -3293,9 +3636,8 @@ public class FastPersianCalendar extends Calendar {
      * Check if this date is within the last N days
      */
     public boolean isWithinLastDays(int days) {
-        FastPersianCalendar now        = new FastPersianCalendar();
-        long                diffMillis = now.getTimeInMillis() - this.getTimeInMillis();
-        long                diffDays   = diffMillis / (1000 * 60 * 60 * 24);
+        long diffMillis = Today.currentTimeMillis() - this.getTimeInMillis();
+        long diffDays   = diffMillis / (1000 * 60 * 60 * 24);
         return diffDays <= days;
     }
 
@@ -3303,9 +3645,8 @@ public class FastPersianCalendar extends Calendar {
      * Check if this date is within the next N days
      */
     public boolean isWithinNextDays(int days) {
-        FastPersianCalendar now        = new FastPersianCalendar();
-        long                diffMillis = this.getTimeInMillis() - now.getTimeInMillis();
-        long                diffDays   = diffMillis / (1000 * 60 * 60 * 24);
+        long diffMillis = this.getTimeInMillis() - Today.currentTimeMillis();
+        long diffDays   = diffMillis / (1000 * 60 * 60 * 24);
         return diffDays <= days;
     }
 
@@ -3313,9 +3654,8 @@ public class FastPersianCalendar extends Calendar {
      * Get human-readable difference from now
      */
     public String getHumanReadableDifference() {
-        FastPersianCalendar now        = new FastPersianCalendar();
-        long                diffMillis = this.getTimeInMillis() - now.getTimeInMillis();
-        long                diffDays   = diffMillis / (1000 * 60 * 60 * 24);
+        long diffMillis = this.getTimeInMillis() - Today.currentTimeMillis();
+        long diffDays   = diffMillis / (1000 * 60 * 60 * 24);
 
         if (diffDays == 0) return "امروز";
         if (diffDays == 1) return "فردا";
@@ -3392,7 +3732,7 @@ public class FastPersianCalendar extends Calendar {
                              "\"gregorian\":{\"year\":%d,\"month\":%d,\"day\":%d}," +
                              "\"time\":%d,\"timezone\":\"%s\"}",
                              persianYear, persianMonth + 1, persianDay,
-                             gCal.get(Calendar.YEAR), gCal.get(Calendar.MONTH) + 1, gCal.get(Calendar.DAY_OF_MONTH),
+                             getGrgYear(), getGrgMonth(), getGrgDay(),
                              getTimeInMillis(), getTimeZone().getID());
     }
 
@@ -3419,13 +3759,15 @@ public class FastPersianCalendar extends Calendar {
     @Override
     public int get(int field) {
         ensureComputed();
-        return super.get(field);
+        computeFieldGroups(fieldGroup(field));
+        return internalGet(field);
     }
 
     /**
      * Check if the given calendar field is set
      */
     public boolean isFieldSet(int field) {
+        computeFieldGroups(fieldGroup(field));
         return isSet[field];
     }
 
@@ -3448,11 +3790,22 @@ public class FastPersianCalendar extends Calendar {
      * Get the date in a friendly format
      */
     public String toFriendlyString() {
-        if (isToday()) return "امروز";
-        if (isEqual(yesterday())) return "دیروز";
-        if (isEqual(tomorrow())) return "فردا";
+        ensureComputed();
+        Today today   = Today.get();
+        long  dayDiff = localEpochDay - today.getEpochDay();
+        if (dayDiff == 0) return "امروز";
+        if (dayDiff == -1) return "دیروز";
+        if (dayDiff == 1) return "فردا";
+
+        //Same as daysBetween(now), whole days once the time of day is taken into account
+        long diffDays = dayDiff;
+        int  nowOfDay = today.millisOfDay(Today.currentTimeMillis());
+        if (diffDays > 0 && millisOfDay < nowOfDay) {
+            diffDays--;
+        } else if (diffDays < 0 && millisOfDay > nowOfDay) {
+            diffDays++;
+        }
 
-        long diffDays = daysBetween(new FastPersianCalendar());
         if (diffDays > 0 && diffDays <= 7) return diffDays + " روز بعد";
         if (diffDays < 0 && diffDays >= -7) return Math.abs(diffDays) + " روز قبل";
 
@@ -3475,4 +3828,109 @@ public class FastPersianCalendar extends Calendar {
         return false;
     }
 
-}
\ No newline at end of file
+    /**
+     * Fluent batch of Persian date and time changes.
+     * Values not given keep the calendar's current ones, apply() validates once and computes once.
+     */
+    public static final class Mutator {
+        private final FastPersianCalendar calendar;
+
+        private int     year;
+        private int     month; //1-based
+        private int     day;
+        private boolean daySet;
+        private int     hour;
+        private int     minute;
+        private int     second;
+        private int     millis;
+
+        private Mutator(FastPersianCalendar calendar) {
+            this.calendar = calendar;
+            this.year     = calendar.getYear();
+            this.month    = calendar.persianMonth + 1;
+            this.day      = calendar.persianDay;
+
+            int millisOfDay = calendar.millisOfDay;
+            this.hour   = millisOfDay / 3600000;
+            this.minute = (millisOfDay / 60000) % 60;
+            this.second = (millisOfDay / 1000) % 60;
+            this.millis = millisOfDay % 1000;
+        }
+
+        public Mutator year(int year) {
+            this.year = year;
+            return this;
+        }
+
+        /**
+         * @param month 1-based Persian month
+         */
+        public Mutator month(int month) {
+            this.month = month;
+            return this;
+        }
+
+        public Mutator day(int day) {
+            this.day    = day;
+            this.daySet = true;
+            return this;
+        }
+
+        /**
+         * @param month 1-based Persian month
+         */
+        public Mutator date(int year, int month, int day) {
+            return year(year).month(month).day(day);
+        }
+
+        public Mutator hour(int hour) {
+            this.hour = hour;
+            return this;
+        }
+
+        public Mutator minute(int minute) {
+            this.minute = minute;
+            return this;
+        }
+
+        public Mutator second(int second) {
+            this.second = second;
+            return this;
+        }
+
+        public Mutator millis(int millis) {
+            this.millis = millis;
+            return this;
+        }
+
+        public Mutator time(int hour, int minute, int second) {
+            return hour(hour).minute(minute).second(second).millis(0);
+        }
+
+        public Mutator startOfDay() {
+            return time(0, 0, 0);
+        }
+
+        public Mutator endOfDay() {
+            return hour(23).minute(59).second(59).millis(999);
+        }
+
+        /**
+         * Validate and write all changes to the calendar
+         *
+         * @return the calendar
+         */
+        public FastPersianCalendar apply() {
+            validateMonth1Based(month);
+            int maxDays = getDaysInMonthInternalStatic(year, month - 1);
+            //Like set(MONTH), keep the day inside the new month unless it was given explicitly
+            int newDay = daySet ? day : Math.min(day, maxDays);
+
+            validatePersianDateInternal(year, month - 1, newDay);
+            validateTimeOfDay(hour, minute, second, millis);
+            calendar.setPersianDateTimeInternal(year, month - 1, newDay,
+                                                toMillisOfDay(hour, minute, second, millis));
+            return calendar;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+import com.farashian.pcalendar.util.HolidayCalendar;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Immutable 6x7 Saturday-first grid of a Persian month with the Persian, Gregorian and Hijri
+ * day of every cell, for calendar UIs.
+ * <p>
+ * All cells are filled in one pass from the first cell: the three dates are converted once and
+ * then advanced day by day against their month lengths, so a grid costs no calendar objects and
+ * no Hijri walks per cell. Cells are stored in primitive arrays indexed row * 7 + column.
+ * The TODAY flag is added when read, so cached grids stay valid across midnight.
+ * Get grids through {@link MonthGridCache}.
+ */
+public final class MonthGrid {
+
+    public static final int ROWS    = 6;
+    public static final int COLUMNS = 7;
+    public static final int CELLS   = ROWS * COLUMNS;
+
+    //Cell flags
+    public static final int IN_MONTH              = 1;
+    public static final int WEEKEND               = 2;
+    public static final int HOLIDAY               = 4;
+    public static final int TODAY                 = 8;
+    public static final int GREGORIAN_MONTH_START = 16;
+    public static final int HIJRI_MONTH_START     = 32;
+
+    private final MonthInfo month;
+    private final long      firstCellDay;
+    private final long      holidayVersion;
+
+    private final byte[] persianDays    = new byte[CELLS];
+    private final byte[] gregorianDays  = new byte[CELLS];
+    private final byte[] gregorianMonth = new byte[CELLS];
+    private final byte[] hijriDays      = new byte[CELLS];
+    private final byte[] hijriMonth     = new byte[CELLS];
+    private final byte[] flags          = new byte[CELLS];
+
+    MonthGrid(MonthInfo month, HolidayCalendar holidays) {
+        this.month          = month;
+        this.firstCellDay   = month.getFirstEpochDay() - month.getFirstWeekdayIndex();
+        this.holidayVersion = holidays.dataVersion();
+
+        int[] persian   = new int[3];
+        int[] gregorian = new int[3];
+        int[] hijri     = new int[3];
+        epochDayToPersian(firstCellDay, persian);
+        epochDayToGregorian(firstCellDay, gregorian);
+        HijriConvertor.epochDayToHijri(firstCellDay, hijri);
+        int persianLength   = FastPersianCalendar.getDaysInMonthStatic(persian[0], persian[1]);
+        int gregorianLength = gregorianMonthLength(gregorian[0], gregorian[1]);
+        int hijriLength     = HijriConvertor.getMonthLength(hijri[0], hijri[1]);
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            long epochDay = firstCellDay + cell;
+            persianDays[cell]    = (byte) persian[2];
+            gregorianDays[cell]  = (byte) gregorian[2];
+            gregorianMonth[cell] = (byte) gregorian[1];
+            hijriDays[cell]      = (byte) hijri[2];
+            hijriMonth[cell]     = (byte) hijri[1];
+
+            int cellFlags = 0;
+            if (month.contains(epochDay)) cellFlags |= IN_MONTH;
+            if (holidays.isWeekend(epochDay)) cellFlags |= WEEKEND;
+            if (holidays.isOfficialHoliday(epochDay)) cellFlags |= HOLIDAY;
+            if (gregorian[2] == 1) cellFlags |= GREGORIAN_MONTH_START;
+            if (hijri[2] == 1) cellFlags |= HIJRI_MONTH_START;
+            flags[cell] = (byte) cellFlags;
+
+            //Step the three dates to the next cell
+            if (++persian[2] > persianLength) {
+                persian[2] = 1;
+                if (++persian[1] > 12) {
+                    persian[1] = 1;
+                    persian[0]++;
+                }
+                persianLength = FastPersianCalendar.getDaysInMonthStatic(persian[0], persian[1]);
+            }
+            if (++gregorian[2] > gregorianLength) {
+                gregorian[2] = 1;
+                if (++gregorian[1] > 12) {
+                    gregorian[1] = 1;
+                    gregorian[0]++;
+                }
+                gregorianLength = gregorianMonthLength(gregorian[0], gregorian[1]);
+            }
+            if (++hijri[2] > hijriLength) {
+                hijri[2] = 1;
+                if (++hijri[1] > 12) {
+                    hijri[1] = 1;
+                    hijri[0]++;
+                }
+                hijriLength = HijriConvertor.getMonthLength(hijri[0], hijri[1]);
+            }
+        }
+    }
+
+    public MonthInfo getMonthInfo() {
+        return month;
+    }
+
+    public int getYear() {
+        return month.getYear();
+    }
+
+    /**
+     * @return 1-based Persian month
+     */
+    public int getMonth() {
+        return month.getMonth();
+    }
+
+    /**
+     * Rows the month actually uses, the rest only hold days of the next month
+     */
+    public int getUsedRows() {
+        return month.getWeekCount();
+    }
+
+    /**
+     * Epoch day of the top left cell, the Saturday on or before the 1st
+     */
+    public long getFirstCellEpochDay() {
+        return firstCellDay;
+    }
+
+    public long getEpochDay(int cell) {
+        validateCell(cell);
+        return firstCellDay + cell;
+    }
+
+    /**
+     * Cell of a day of this month
+     */
+    public int cellOf(int day) {
+        return month.getFirstWeekdayIndex() + (int) (month.getEpochDay(day) - month.getFirstEpochDay());
+    }
+
+    public int getPersianDay(int cell) {
+        return persianDays[cell];
+    }
+
+    public int getGregorianDay(int cell) {
+        return gregorianDays[cell];
+    }
+
+    /**
+     * @return 1-based Gregorian month
+     */
+    public int getGregorianMonth(int cell) {
+        return gregorianMonth[cell];
+    }
+
+    public int getHijriDay(int cell) {
+        return hijriDays[cell];
+    }
+
+    /**
+     * @return 1-based Hijri month
+     */
+    public int getHijriMonth(int cell) {
+        return hijriMonth[cell];
+    }
+
+    /**
+     * Flag bits of a cell, TODAY included when the cell is the current day
+     */
+    public int getFlags(int cell) {
+        int cellFlags = flags[cell];
+        return firstCellDay + cell == Today.get().getEpochDay() ? cellFlags | TODAY : cellFlags;
+    }
+
+    public boolean isInMonth(int cell) {
+        return (flags[cell] & IN_MONTH) != 0;
+    }
+
+    /**
+     * Weekend or official holiday
+     */
+    public boolean isHoliday(int cell) {
+        return (flags[cell] & (WEEKEND | HOLIDAY)) != 0;
+    }
+
+    public boolean isToday(int cell) {
+        return (getFlags(cell) & TODAY) != 0;
+    }
+
+    long getHolidayVersion() {
+        return holidayVersion;
+    }
+
+    private static void validateCell(int cell) {
+        if (cell < 0 || cell >= CELLS) {
+            throw new IllegalArgumentException("Cell must be between 0 and " + (CELLS - 1) + ", got: " + cell);
+        }
+    }
+
+    private static int gregorianMonthLength(int year, int month) {
+        long next = month == 12 ? gregorianToEpochDay(year + 1, 1, 1) : gregorianToEpochDay(year, month + 1, 1);
+        return (int) (next - gregorianToEpochDay(year, month, 1));
+    }
+
+    @Override
+    public String toString() {
+        return "MonthGrid " + month;
+    }
+}
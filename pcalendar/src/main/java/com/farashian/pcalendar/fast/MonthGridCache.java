@@ -0,0 +1,101 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HolidayCalendar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * LRU cache of recently shown {@link MonthGrid}s for one HolidayCalendar.
+ * <p>
+ * Grids are built outside the lock, so a slow build never blocks readers of other months, and
+ * a grid is rebuilt when the holiday calendar's data changes. prefetchAdjacent builds the
+ * months on either side ahead of paging, optionally on an executor.
+ * <pre>
+ * MonthGrid grid = MonthGridCache.getDefault().get(1403, 7);
+ * MonthGridCache.getDefault().prefetchAdjacent(1403, 7, backgroundExecutor);
+ * </pre>
+ */
+public final class MonthGridCache {
+
+    private static final MonthGridCache DEFAULT = new MonthGridCache(HolidayCalendar.getDefault(), 12);
+
+    private final HolidayCalendar         holidays;
+    private final Map<Integer, MonthGrid> grids;
+
+    public MonthGridCache(HolidayCalendar holidays, int capacity) {
+        if (holidays == null) {
+            throw new IllegalArgumentException("Holiday calendar cannot be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got: " + capacity);
+        }
+        this.holidays = holidays;
+        this.grids    = new LinkedHashMap<Integer, MonthGrid>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MonthGrid> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Shared cache of 12 grids with the default holiday calendar
+     */
+    public static MonthGridCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param month 1-based Persian month
+     */
+    public MonthGrid get(int year, int month) {
+        MonthInfo info = MonthInfo.of(year, month);
+        Integer   key  = year * 12 + month - 1;
+        MonthGrid grid;
+        synchronized (grids) {
+            grid = grids.get(key);
+        }
+        if (grid != null && grid.getHolidayVersion() == holidays.dataVersion()) {
+            return grid;
+        }
+        grid = new MonthGrid(info, holidays);
+        synchronized (grids) {
+            grids.put(key, grid);
+        }
+        return grid;
+    }
+
+    public MonthGrid get(FastPersianCalendar date) {
+        return get(date.getYear(), date.getMonth());
+    }
+
+    /**
+     * Build the months before and after a month now
+     */
+    public void prefetchAdjacent(int year, int month) {
+        int index = year * 12 + month - 1;
+        get(Math.floorDiv(index - 1, 12), Math.floorMod(index - 1, 12) + 1);
+        get(Math.floorDiv(index + 1, 12), Math.floorMod(index + 1, 12) + 1);
+    }
+
+    /**
+     * Build the months before and after a month on an executor
+     */
+    public void prefetchAdjacent(int year, int month, Executor executor) {
+        executor.execute(() -> prefetchAdjacent(year, month));
+    }
+
+    public int size() {
+        synchronized (grids) {
+            return grids.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (grids) {
+            grids.clear();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Immutable facts about one Persian month for month views: where it starts, how long it is,
+ * its weekday layout and the Gregorian and Hijri dates of its first day.
+ * <p>
+ * Instances are built once per year by {@link YearInfo} and shared from its cache, so month
+ * view and week of month questions are answered from these fields without date conversions.
+ * The Hijri date is converted on first use; racing threads compute equal arrays.
+ * <pre>
+ * MonthInfo month = MonthInfo.of(1403, 1);
+ * int leadingBlanks = month.getFirstWeekdayIndex();
+ * </pre>
+ */
+public final class MonthInfo {
+
+    private final int  year;
+    private final int  month;
+    private final long firstEpochDay;
+    private final int  length;
+    private final int  firstDayOfYear;
+    private final int  firstDayOfWeek;
+
+    private final int grgYear;
+    private final int grgMonth;
+    private final int grgDay;
+
+    //Hijri year, month and day of the 1st, see the class comment
+    private volatile int[] hijri;
+
+    MonthInfo(int year, int month, long firstEpochDay, int length, int[] gregorian) {
+        this.year           = year;
+        this.month          = month;
+        this.firstEpochDay  = firstEpochDay;
+        this.length         = length;
+        this.firstDayOfYear = persianDayOfYear(month, 1);
+        this.firstDayOfWeek = dayOfWeek(firstEpochDay);
+        this.grgYear        = gregorian[0];
+        this.grgMonth       = gregorian[1];
+        this.grgDay         = gregorian[2];
+    }
+
+    /**
+     * @param month 1-based Persian month
+     */
+    public static MonthInfo of(int year, int month) {
+        return YearInfo.of(year).getMonth(month);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return 1-based month (1=Farvardin, 12=Esfand)
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    public long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public long getLastEpochDay() {
+        return firstEpochDay + length - 1;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay < firstEpochDay + length;
+    }
+
+    public PersianDateRange toRange() {
+        return PersianDateRange.of(firstEpochDay, getLastEpochDay());
+    }
+
+    /**
+     * Weekday of the 1st as a Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     */
+    public int getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * Weekday of the 1st counted from Saturday=0, the number of blank cells before it in a view
+     */
+    public int getFirstWeekdayIndex() {
+        return (firstDayOfWeek - Calendar.SATURDAY + 7) % 7;
+    }
+
+    /**
+     * Number of Saturday to Friday rows the month spans, 4 to 6
+     */
+    public int getWeekCount() {
+        return (length - 1 + getFirstWeekdayIndex()) / 7 + 1;
+    }
+
+    public long getEpochDay(int day) {
+        validateDay(day);
+        return firstEpochDay + day - 1;
+    }
+
+    /**
+     * @return Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     */
+    public int getDayOfWeek(int day) {
+        validateDay(day);
+        return (firstDayOfWeek - 1 + day - 1) % 7 + 1;
+    }
+
+    public int getDayOfYear(int day) {
+        validateDay(day);
+        return firstDayOfYear + day - 1;
+    }
+
+    /**
+     * 0-based row of a day in a Saturday-first month view
+     */
+    public int getRow(int day) {
+        validateDay(day);
+        return (day - 1 + getFirstWeekdayIndex()) / 7;
+    }
+
+    /**
+     * Same value as FastPersianCalendar.get(WEEK_OF_MONTH) on that day
+     */
+    public int getWeekOfMonth(int day) {
+        validateDay(day);
+        return (day - 1 + ((getDayOfWeek(day) - firstDayOfWeek + 7) % 7)) / 7 + 1;
+    }
+
+    /**
+     * Same value as FastPersianCalendar.get(WEEK_OF_YEAR) on that day
+     */
+    public int getWeekOfYear(int day) {
+        validateDay(day);
+        int dayOfWeek = getDayOfWeek(day);
+        return (getDayOfYear(day) - 1 + ((dayOfWeek - FastPersianCalendar.FIRST_DAY_OF_WEEK + 7) % 7)) / 7 + 1;
+    }
+
+    public int getGrgYear() {
+        return grgYear;
+    }
+
+    /**
+     * @return 1-based Gregorian month of the 1st
+     */
+    public int getGrgMonth() {
+        return grgMonth;
+    }
+
+    public int getGrgDay() {
+        return grgDay;
+    }
+
+    public int getHijriYear() {
+        return hijri()[0];
+    }
+
+    /**
+     * @return 1-based Hijri month of the 1st
+     */
+    public int getHijriMonth() {
+        return hijri()[1];
+    }
+
+    public int getHijriDay() {
+        return hijri()[2];
+    }
+
+    private int[] hijri() {
+        int[] value = hijri;
+        if (value == null) {
+            value = new int[3];
+            HijriConvertor.epochDayToHijri(firstEpochDay, value);
+            hijri = value;
+        }
+        return value;
+    }
+
+    private void validateDay(int day) {
+        if (day < 1 || day > length) {
+            throw new IllegalArgumentException("Day must be between 1 and " + length + ", got: " + day);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MonthInfo)) return false;
+        MonthInfo other = (MonthInfo) o;
+        return firstEpochDay == other.firstEpochDay && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(firstEpochDay) * 31 + length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%04d/%02d (%d days)", year, month, length);
+    }
+}
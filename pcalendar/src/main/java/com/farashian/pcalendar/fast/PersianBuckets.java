@@ -0,0 +1,323 @@
+package com.farashian.pcalendar.fast;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Dense buckets of Persian days, Saturday-first weeks, months, quarters or years over a span of
+ * time in one zone, for grouping event timestamps.
+ * <p>
+ * The instants where buckets start are computed once into a sorted table, so mapping a timestamp
+ * is a binary search with no calendar and no time zone lookup. The bulk methods first try the
+ * bucket of the previous timestamp, which makes time-ordered input close to one comparison.
+ * Immutable and safe to share.
+ * <pre>
+ * PersianBuckets months = PersianBuckets.of(Granularity.MONTH, zone, from, to);
+ * PersianBuckets.Totals totals = events.stream().collect(months.collector(Event::getTime, Event::getAmount));
+ * </pre>
+ */
+public final class PersianBuckets {
+
+    public enum Granularity {
+        DAY, WEEK, MONTH, QUARTER, YEAR
+    }
+
+    private final Granularity granularity;
+    private final TimeZone    zone;
+
+    //Bucket i covers [startMillis[i], startMillis[i + 1]), its local first day is firstDays[i]
+    private final long[] startMillis;
+    private final long[] firstDays;
+
+    private PersianBuckets(Granularity granularity, TimeZone zone, long[] firstDays) {
+        this.granularity = granularity;
+        this.zone        = zone;
+        this.firstDays   = firstDays;
+        this.startMillis = new long[firstDays.length];
+        for (int i = 0; i < firstDays.length; i++) {
+            startMillis[i] = toUtcMillis(firstDays[i] * MILLIS_PER_DAY, zone);
+        }
+    }
+
+    /**
+     * Buckets covering every instant from fromMillis to toMillis, both included
+     */
+    public static PersianBuckets of(Granularity granularity, TimeZone zone, long fromMillis, long toMillis) {
+        if (granularity == null || zone == null) {
+            throw new IllegalArgumentException("Granularity and time zone cannot be null");
+        }
+        if (toMillis < fromMillis) {
+            throw new IllegalArgumentException("End is before start");
+        }
+        TimeZone copy    = (TimeZone) zone.clone();
+        long     lastDay = toLocalEpochDay(toMillis, copy);
+        long     day     = bucketStart(granularity, toLocalEpochDay(fromMillis, copy));
+
+        //One extra boundary closes the last bucket
+        long[] days  = new long[16];
+        int    count = 0;
+        while (true) {
+            if (count == days.length) {
+                days = Arrays.copyOf(days, count * 2);
+            }
+            days[count++] = day;
+            if (day > lastDay) {
+                break;
+            }
+            day = nextBucketStart(granularity, day);
+        }
+        return new PersianBuckets(granularity, copy, Arrays.copyOf(days, count));
+    }
+
+    public static PersianBuckets of(Granularity granularity, FastPersianCalendar from, FastPersianCalendar to) {
+        return of(granularity, from.getTimeZone(), from.getTimeInMillis(), to.getTimeInMillis());
+    }
+
+    //=== LOOKUP ===
+
+    public int bucketCount() {
+        return firstDays.length - 1;
+    }
+
+    /**
+     * Bucket of an instant, -1 when it is outside the buckets
+     */
+    public int bucketOf(long epochMillis) {
+        int index = Arrays.binarySearch(startMillis, epochMillis);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 && index < bucketCount() ? index : -1;
+    }
+
+    /**
+     * Bucket of each instant, -1 for instants outside the buckets
+     *
+     * @param out receives one bucket per instant, at least as long as epochMillis
+     */
+    public void bucketsOf(long[] epochMillis, int[] out) {
+        if (out.length < epochMillis.length) {
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        }
+        int last = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            last   = bucketOf(epochMillis[i], last);
+            out[i] = last;
+            if (last < 0) {
+                last = 0;
+            }
+        }
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    public long getStartMillis(int bucket) {
+        validateBucket(bucket);
+        return startMillis[bucket];
+    }
+
+    /**
+     * First instant after the bucket
+     */
+    public long getEndMillis(int bucket) {
+        validateBucket(bucket);
+        return startMillis[bucket + 1];
+    }
+
+    /**
+     * Local days of a bucket
+     */
+    public PersianDateRange getRange(int bucket) {
+        validateBucket(bucket);
+        return PersianDateRange.of(firstDays[bucket], firstDays[bucket + 1] - 1);
+    }
+
+    /**
+     * 1403/01/05 for days and weeks (first day), 1403/01 for months, 1403-Q1 for quarters, 1403 for years
+     */
+    public String getLabel(int bucket) {
+        validateBucket(bucket);
+        return label(granularity, firstDays[bucket]);
+    }
+
+    //=== AGGREGATION ===
+
+    /**
+     * Count and sum values per bucket
+     *
+     * @param values value of each event, or null to only count
+     */
+    public Totals aggregate(long[] epochMillis, long[] values) {
+        if (values != null && values.length != epochMillis.length) {
+            throw new IllegalArgumentException("Timestamp and value arrays must have the same length");
+        }
+        Totals totals = newTotals();
+        int    last   = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            int bucket = bucketOf(epochMillis[i], last);
+            if (bucket < 0) {
+                totals.outside++;
+                continue;
+            }
+            totals.counts[bucket]++;
+            if (values != null) {
+                totals.sums[bucket] += values[i];
+            }
+            last = bucket;
+        }
+        return totals;
+    }
+
+    /**
+     * Collector of counts and sums per bucket; works for parallel streams
+     */
+    public <T> Collector<T, Totals, Totals> collector(ToLongFunction<? super T> timestamp,
+                                                      ToLongFunction<? super T> value) {
+        return Collector.of(this::newTotals,
+                            (totals, item) -> totals.add(bucketOf(timestamp.applyAsLong(item)), value.applyAsLong(item)),
+                            Totals::merge,
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public <T> Collector<T, Totals, Totals> counting(ToLongFunction<? super T> timestamp) {
+        return collector(timestamp, item -> 0);
+    }
+
+    public Totals newTotals() {
+        return new Totals(bucketCount());
+    }
+
+    //=== INTERNALS ===
+
+    //Binary search, trying the hinted bucket and the one after it first
+    private int bucketOf(long epochMillis, int hint) {
+        if (hint < bucketCount() && epochMillis >= startMillis[hint]) {
+            if (epochMillis < startMillis[hint + 1]) {
+                return hint;
+            }
+            if (hint + 1 < bucketCount() && epochMillis < startMillis[hint + 2]) {
+                return hint + 1;
+            }
+        }
+        return bucketOf(epochMillis);
+    }
+
+    private void validateBucket(int bucket) {
+        if (bucket < 0 || bucket >= bucketCount()) {
+            throw new IllegalArgumentException("Invalid bucket: " + bucket);
+        }
+    }
+
+    static String label(Granularity granularity, long firstDay) {
+        int[] persian = new int[3];
+        epochDayToPersian(firstDay, persian);
+        switch (granularity) {
+            case YEAR:
+                return String.valueOf(persian[0]);
+            case QUARTER:
+                return persian[0] + "-Q" + ((persian[1] - 1) / 3 + 1);
+            case MONTH:
+                return String.format(Locale.US, "%04d/%02d", persian[0], persian[1]);
+            default:
+                return String.format(Locale.US, "%04d/%02d/%02d", persian[0], persian[1], persian[2]);
+        }
+    }
+
+    //First local day of the bucket holding a day
+    static long bucketStart(Granularity granularity, long epochDay) {
+        if (granularity == Granularity.DAY) {
+            return epochDay;
+        }
+        if (granularity == Granularity.WEEK) {
+            return epochDay - persianWeekdayIndex(epochDay);
+        }
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        switch (granularity) {
+            case YEAR:
+                return persianToEpochDay(persian[0], 1, 1);
+            case QUARTER:
+                return persianToEpochDay(persian[0], (persian[1] - 1) / 3 * 3 + 1, 1);
+            default:
+                return epochDay - (persian[2] - 1);
+        }
+    }
+
+    static long nextBucketStart(Granularity granularity, long firstDay) {
+        switch (granularity) {
+            case DAY:
+                return firstDay + 1;
+            case WEEK:
+                return firstDay + 7;
+            case YEAR:
+                return bucketStart(granularity, firstDay + 366);
+            case QUARTER:
+                return bucketStart(granularity, firstDay + 93);
+            default:
+                return bucketStart(granularity, firstDay + 31);
+        }
+    }
+
+    /**
+     * Event counts and value sums per bucket, plus the events that fell outside all buckets
+     */
+    public static final class Totals {
+        private final long[] counts;
+        private final long[] sums;
+        private       long   outside;
+
+        private Totals(int buckets) {
+            counts = new long[buckets];
+            sums   = new long[buckets];
+        }
+
+        public long getCount(int bucket) {
+            return counts[bucket];
+        }
+
+        public long getSum(int bucket) {
+            return sums[bucket];
+        }
+
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        public long[] getSums() {
+            return sums.clone();
+        }
+
+        public long getOutside() {
+            return outside;
+        }
+
+        private void add(int bucket, long value) {
+            if (bucket < 0) {
+                outside++;
+                return;
+            }
+            counts[bucket]++;
+            sums[bucket] += value;
+        }
+
+        private Totals merge(Totals other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                sums[i]   += other.sums[i];
+            }
+            outside += other.outside;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.farashian.pcalendar.fast;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Immutable range of whole local days, both ends inclusive, stored as epoch days.
+ * <p>
+ * contains, length, intersect and overlapDays are O(1). Streams are SIZED and SUBSIZED, so a
+ * parallel stream over a multi-year range splits in halves without walking it.
+ * <pre>PersianDateRange.ofPersianYear(1403).months().forEach(...)</pre>
+ */
+public final class PersianDateRange {
+
+    private static final PersianDateRange EMPTY = new PersianDateRange(0, -1);
+
+    private final long firstDay;
+    private final long lastDay;
+
+    private PersianDateRange(long firstDay, long lastDay) {
+        this.firstDay = firstDay;
+        this.lastDay  = lastDay;
+    }
+
+    /**
+     * @param firstDay first epoch day
+     * @param lastDay  last epoch day, not before firstDay
+     */
+    public static PersianDateRange of(long firstDay, long lastDay) {
+        if (lastDay < firstDay) {
+            throw new IllegalArgumentException("Last day is before first day");
+        }
+        return new PersianDateRange(firstDay, lastDay);
+    }
+
+    /**
+     * Local days of two calendars, whatever their time of day
+     */
+    public static PersianDateRange of(FastPersianCalendar start, FastPersianCalendar end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end dates cannot be null");
+        }
+        return of(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * @param month 1-based Persian month
+     */
+    public static PersianDateRange ofPersianMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, got: " + month);
+        }
+        long first = persianToEpochDay(year, month, 1);
+        return new PersianDateRange(first, first + FastPersianCalendar.getDaysInMonthStatic(year, month) - 1);
+    }
+
+    /**
+     * @param quarter 1 to 4, three Persian months each
+     */
+    public static PersianDateRange ofPersianQuarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("Quarter must be between 1 and 4, got: " + quarter);
+        }
+        int firstMonth = (quarter - 1) * 3 + 1;
+        return new PersianDateRange(persianToEpochDay(year, firstMonth, 1),
+                                    ofPersianMonth(year, firstMonth + 2).lastDay);
+    }
+
+    public static PersianDateRange ofPersianYear(int year) {
+        return new PersianDateRange(persianToEpochDay(year, 1, 1), persianToEpochDay(year + 1, 1, 1) - 1);
+    }
+
+    /**
+     * Range with no days, as returned by intersect for disjoint ranges
+     */
+    public static PersianDateRange empty() {
+        return EMPTY;
+    }
+
+    public long getFirstDay() {
+        return firstDay;
+    }
+
+    public long getLastDay() {
+        return lastDay;
+    }
+
+    public boolean isEmpty() {
+        return lastDay < firstDay;
+    }
+
+    /**
+     * Number of days, 0 for the empty range
+     */
+    public long length() {
+        return isEmpty() ? 0 : lastDay - firstDay + 1;
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= firstDay && epochDay <= lastDay;
+    }
+
+    public boolean contains(FastPersianCalendar date) {
+        return contains(date.toEpochDay());
+    }
+
+    public boolean contains(PersianDateRange other) {
+        return other.isEmpty() || other.firstDay >= firstDay && other.lastDay <= lastDay;
+    }
+
+    public boolean overlaps(PersianDateRange other) {
+        return overlapDays(other) > 0;
+    }
+
+    /**
+     * Days in both ranges, empty when they do not overlap
+     */
+    public PersianDateRange intersect(PersianDateRange other) {
+        long first = Math.max(firstDay, other.firstDay);
+        long last  = Math.min(lastDay, other.lastDay);
+        return last < first ? EMPTY : new PersianDateRange(first, last);
+    }
+
+    public long overlapDays(PersianDateRange other) {
+        return Math.max(0, Math.min(lastDay, other.lastDay) - Math.max(firstDay, other.firstDay) + 1);
+    }
+
+    //=== SLICING ===
+
+    /**
+     * The parts of this range in each Persian month, first and last clipped to the range
+     */
+    public List<PersianDateRange> months() {
+        List<PersianDateRange> result  = new ArrayList<>();
+        int[]                  persian = new int[3];
+        for (long day = firstDay; day <= lastDay; ) {
+            epochDayToPersian(day, persian);
+            long monthEnd = day - persian[2] + FastPersianCalendar.getDaysInMonthStatic(persian[0], persian[1]);
+            result.add(new PersianDateRange(day, Math.min(monthEnd, lastDay)));
+            day = monthEnd + 1;
+        }
+        return result;
+    }
+
+    /**
+     * The parts of this range in each Persian quarter (Farvardin-Khordad, ...), clipped to the range
+     */
+    public List<PersianDateRange> quarters() {
+        List<PersianDateRange> result  = new ArrayList<>();
+        int[]                  persian = new int[3];
+        for (long day = firstDay; day <= lastDay; ) {
+            epochDayToPersian(day, persian);
+            long quarterEnd = ofPersianQuarter(persian[0], (persian[1] - 1) / 3 + 1).lastDay;
+            result.add(new PersianDateRange(day, Math.min(quarterEnd, lastDay)));
+            day = quarterEnd + 1;
+        }
+        return result;
+    }
+
+    /**
+     * The parts of this range in each Saturday to Friday week, clipped to the range
+     */
+    public List<PersianDateRange> weeks() {
+        List<PersianDateRange> result = new ArrayList<>();
+        for (long day = firstDay; day <= lastDay; ) {
+            long weekEnd = day - persianWeekdayIndex(day) + 6;
+            result.add(new PersianDateRange(day, Math.min(weekEnd, lastDay)));
+            day = weekEnd + 1;
+        }
+        return result;
+    }
+
+    //=== ITERATION ===
+
+    /**
+     * Epoch days in order, splittable in O(1)
+     */
+    public Spliterator.OfLong spliterator() {
+        return new EpochDaySpliterator(firstDay, lastDay + 1);
+    }
+
+    public LongStream epochDays() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * Midnight of each day in the default time zone
+     */
+    public Stream<FastPersianCalendar> stream() {
+        return stream(TimeZone.getDefault());
+    }
+
+    public Stream<FastPersianCalendar> stream(TimeZone zone) {
+        return epochDays().mapToObj(day -> FastPersianCalendar.ofEpochDay(day, zone));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersianDateRange)) return false;
+        PersianDateRange other = (PersianDateRange) o;
+        return isEmpty() ? other.isEmpty() : firstDay == other.firstDay && lastDay == other.lastDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return isEmpty() ? 0 : Long.hashCode(firstDay) * 31 + Long.hashCode(lastDay);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+        int[] first = new int[3];
+        int[] last  = new int[3];
+        epochDayToPersian(firstDay, first);
+        epochDayToPersian(lastDay, last);
+        return String.format(Locale.US, "[%04d/%02d/%02d..%04d/%02d/%02d]",
+                             first[0], first[1], first[2], last[0], last[1], last[2]);
+    }
+
+    /**
+     * Epoch days in [next, end), split in halves
+     */
+    private static final class EpochDaySpliterator implements Spliterator.OfLong {
+        private       long next;
+        private final long end;
+
+        EpochDaySpliterator(long next, long end) {
+            this.next = next;
+            this.end  = end;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(next++);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long day = next;
+            next = end;
+            for (; day < end; day++) {
+                action.accept(day);
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long size = end - next;
+            if (size < 2) {
+                return null;
+            }
+            long middle = next + size / 2;
+            Spliterator.OfLong prefix = new EpochDaySpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.max(0, end - next);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HolidayCalendar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of days stored as sorted, disjoint, non-adjacent intervals of epoch days.
+ * <p>
+ * Intervals live in two primitive arrays. union, intersect and difference are single linear
+ * merges, contains is a binary search, and totals are summed per interval instead of per day.
+ * <pre>
+ * PersianDateSet away = PersianDateSet.builder().add(leave1).add(leave2).build();
+ * long workedDays = PersianDateSet.of(quarter).difference(away).businessDays();
+ * </pre>
+ */
+public final class PersianDateSet {
+
+    private static final PersianDateSet EMPTY = new PersianDateSet(new long[0], new long[0], 0);
+
+    //Interval i is [firstDays[i], lastDays[i]], only the first size entries are used
+    private final long[] firstDays;
+    private final long[] lastDays;
+    private final int    size;
+
+    private PersianDateSet(long[] firstDays, long[] lastDays, int size) {
+        this.firstDays = firstDays;
+        this.lastDays  = lastDays;
+        this.size      = size;
+    }
+
+    public static PersianDateSet empty() {
+        return EMPTY;
+    }
+
+    public static PersianDateSet of(PersianDateRange range) {
+        if (range.isEmpty()) {
+            return EMPTY;
+        }
+        return new PersianDateSet(new long[]{range.getFirstDay()}, new long[]{range.getLastDay()}, 1);
+    }
+
+    /**
+     * Set of any number of possibly overlapping intervals
+     *
+     * @param firstDays first epoch day of each interval
+     * @param lastDays  last epoch day of each interval, inclusive
+     */
+    public static PersianDateSet of(long[] firstDays, long[] lastDays) {
+        if (firstDays == null || lastDays == null || firstDays.length != lastDays.length) {
+            throw new IllegalArgumentException("First and last day arrays must be non-null and of equal length");
+        }
+        Builder builder = new Builder(firstDays.length);
+        for (int i = 0; i < firstDays.length; i++) {
+            builder.add(firstDays[i], lastDays[i]);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    //=== QUERIES ===
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Number of disjoint intervals
+     */
+    public int intervalCount() {
+        return size;
+    }
+
+    public PersianDateRange interval(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Invalid interval index: " + index);
+        }
+        return PersianDateRange.of(firstDays[index], lastDays[index]);
+    }
+
+    public List<PersianDateRange> intervals() {
+        List<PersianDateRange> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(PersianDateRange.of(firstDays[i], lastDays[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Binary search for the interval holding a day
+     */
+    public boolean contains(long epochDay) {
+        int index = intervalAtOrBefore(epochDay);
+        return index >= 0 && epochDay <= lastDays[index];
+    }
+
+    public boolean contains(FastPersianCalendar date) {
+        return contains(date.toEpochDay());
+    }
+
+    public long totalDays() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += lastDays[i] - firstDays[i] + 1;
+        }
+        return total;
+    }
+
+    /**
+     * Days in the set that are not Fridays or official holidays
+     */
+    public long businessDays() {
+        return businessDays(HolidayCalendar.getDefault());
+    }
+
+    public long businessDays(HolidayCalendar holidays) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += holidays.countBusinessDays(firstDays[i], lastDays[i]);
+        }
+        return total;
+    }
+
+    //=== ALGEBRA ===
+
+    public PersianDateSet union(PersianDateSet other) {
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return other;
+
+        Builder result = new Builder(size + other.size);
+        int     i      = 0;
+        int     j      = 0;
+        //Take intervals in order of first day, the builder coalesces overlaps
+        while (i < size || j < other.size) {
+            if (j >= other.size || i < size && firstDays[i] <= other.firstDays[j]) {
+                result.append(firstDays[i], lastDays[i++]);
+            } else {
+                result.append(other.firstDays[j], other.lastDays[j++]);
+            }
+        }
+        return result.toSet();
+    }
+
+    public PersianDateSet intersect(PersianDateSet other) {
+        Builder result = new Builder(Math.min(size, other.size) * 2 + 1);
+        int     i      = 0;
+        int     j      = 0;
+        while (i < size && j < other.size) {
+            long first = Math.max(firstDays[i], other.firstDays[j]);
+            long last  = Math.min(lastDays[i], other.lastDays[j]);
+            if (first <= last) {
+                result.append(first, last);
+            }
+            //The interval ending first cannot meet anything further in the other set
+            if (lastDays[i] < other.lastDays[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result.toSet();
+    }
+
+    /**
+     * Days in this set and not in the other
+     */
+    public PersianDateSet difference(PersianDateSet other) {
+        if (isEmpty() || other.isEmpty()) return this;
+
+        Builder result = new Builder(size + other.size);
+        int     j      = 0;
+        for (int i = 0; i < size; i++) {
+            long first = firstDays[i];
+            long last  = lastDays[i];
+            //Skip removals that end before this interval
+            while (j < other.size && other.lastDays[j] < first) {
+                j++;
+            }
+            //Cut out every removal that starts inside, the last one may reach the next interval
+            int k = j;
+            while (k < other.size && other.firstDays[k] <= last) {
+                if (other.firstDays[k] > first) {
+                    result.append(first, other.firstDays[k] - 1);
+                }
+                first = Math.max(first, other.lastDays[k] + 1);
+                k++;
+            }
+            if (first <= last) {
+                result.append(first, last);
+            }
+        }
+        return result.toSet();
+    }
+
+    //Index of the last interval starting on or before epochDay, -1 when there is none
+    private int intervalAtOrBefore(long epochDay) {
+        int index = Arrays.binarySearch(firstDays, 0, size, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersianDateSet)) return false;
+        PersianDateSet other = (PersianDateSet) o;
+        if (size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (firstDays[i] != other.firstDays[i] || lastDays[i] != other.lastDays[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = hash * 31 + Long.hashCode(firstDays[i]);
+            hash = hash * 31 + Long.hashCode(lastDays[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return intervals().toString();
+    }
+
+    /**
+     * Collects intervals in any order, build() sorts and coalesces them once
+     */
+    public static final class Builder {
+        private long[]  firstDays;
+        private long[]  lastDays;
+        private int     size;
+        private boolean sorted = true;
+
+        private Builder(int capacity) {
+            firstDays = new long[Math.max(capacity, 4)];
+            lastDays  = new long[firstDays.length];
+        }
+
+        public Builder add(long firstDay, long lastDay) {
+            if (lastDay < firstDay) {
+                throw new IllegalArgumentException("Last day is before first day");
+            }
+            if (size > 0 && firstDay < firstDays[size - 1]) {
+                sorted = false;
+            }
+            grow();
+            firstDays[size] = firstDay;
+            lastDays[size]  = lastDay;
+            size++;
+            return this;
+        }
+
+        public Builder add(PersianDateRange range) {
+            return range.isEmpty() ? this : add(range.getFirstDay(), range.getLastDay());
+        }
+
+        public Builder add(FastPersianCalendar start, FastPersianCalendar end) {
+            return add(PersianDateRange.of(start, end));
+        }
+
+        public PersianDateSet build() {
+            if (!sorted) {
+                sortByFirstDay();
+            }
+            //Coalesce a copy in place, so the builder can keep collecting
+            long[] first = Arrays.copyOf(firstDays, size);
+            long[] last  = Arrays.copyOf(lastDays, size);
+            int    count = 0;
+            for (int i = 0; i < size; i++) {
+                if (count > 0 && first[i] <= last[count - 1] + 1) {
+                    last[count - 1] = Math.max(last[count - 1], last[i]);
+                } else {
+                    first[count] = first[i];
+                    last[count]  = last[i];
+                    count++;
+                }
+            }
+            return count == 0 ? EMPTY : new PersianDateSet(first, last, count);
+        }
+
+        //Add an interval that starts on or after the last one, merging overlapping or adjacent days
+        void append(long firstDay, long lastDay) {
+            if (size > 0 && firstDay <= lastDays[size - 1] + 1) {
+                lastDays[size - 1] = Math.max(lastDays[size - 1], lastDay);
+                return;
+            }
+            grow();
+            firstDays[size] = firstDay;
+            lastDays[size]  = lastDay;
+            size++;
+        }
+
+        PersianDateSet toSet() {
+            return size == 0 ? EMPTY : new PersianDateSet(firstDays, lastDays, size);
+        }
+
+        private void grow() {
+            if (size == firstDays.length) {
+                firstDays = Arrays.copyOf(firstDays, size * 2);
+                lastDays  = Arrays.copyOf(lastDays, size * 2);
+            }
+        }
+
+        //Sort the pairs by first day through one index array
+        private void sortByFirstDay() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = firstDays[i];
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+            long[] first = new long[firstDays.length];
+            long[] last  = new long[lastDays.length];
+            for (int i = 0; i < size; i++) {
+                first[i] = firstDays[order[i]];
+                last[i]  = lastDays[order[i]];
+            }
+            firstDays = first;
+            lastDays  = last;
+            sorted    = true;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.farashian.pcalendar.fast;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Immutable view of a FastPersianCalendar at one instant, from {@link FastPersianCalendar#snapshot()}.
+ * <p>
+ * Every calendar field is computed when the snapshot is taken, so reads never compute and
+ * instances can be shared between threads or kept in caches without synchronization.
+ * The formatted dates are built on first use; racing threads build equal strings, and
+ * Strings are safe to publish without a lock.
+ */
+public final class PersianDateSnapshot {
+
+    private final long     timeInMillis;
+    private final long     epochDay;
+    private final TimeZone zone;
+    private final Locale   locale;
+    private final int[]    fields;
+
+    private final int    grgYear;
+    private final int    grgMonth;
+    private final int    grgDay;
+    private final int    daysInMonth;
+    private final String monthName;
+    private final String weekdayName;
+
+    //Built on first use, see the class comment
+    private String longDate;
+    private String longDateTime;
+    private String shortDate;
+
+    PersianDateSnapshot(long timeInMillis, long epochDay, TimeZone zone, Locale locale, int[] fields,
+                        int[] gregorian, int daysInMonth, String monthName, String weekdayName) {
+        this.timeInMillis = timeInMillis;
+        this.epochDay     = epochDay;
+        this.zone         = zone;
+        this.locale       = locale;
+        this.fields       = fields;
+        this.grgYear      = gregorian[0];
+        this.grgMonth     = gregorian[1];
+        this.grgDay       = gregorian[2];
+        this.daysInMonth  = daysInMonth;
+        this.monthName    = monthName;
+        this.weekdayName  = weekdayName;
+    }
+
+    /**
+     * Value of a Calendar field, as FastPersianCalendar.get would return it
+     */
+    public int get(int field) {
+        if (field < 0 || field >= Calendar.FIELD_COUNT) {
+            throw new IllegalArgumentException("Invalid calendar field: " + field);
+        }
+        return fields[field];
+    }
+
+    public long getTimeInMillis() {
+        return timeInMillis;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Local date as days since 1970-01-01
+     */
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    public int getYear() {
+        return fields[Calendar.YEAR];
+    }
+
+    /**
+     * @return 1-based month (1=Farvardin, 12=Esfand)
+     */
+    public int getMonth() {
+        return fields[Calendar.MONTH] + 1;
+    }
+
+    public int getDayOfMonth() {
+        return fields[Calendar.DAY_OF_MONTH];
+    }
+
+    public int getDayOfYear() {
+        return fields[Calendar.DAY_OF_YEAR];
+    }
+
+    public int getDayOfWeek() {
+        return fields[Calendar.DAY_OF_WEEK];
+    }
+
+    public int getWeekOfYear() {
+        return fields[Calendar.WEEK_OF_YEAR];
+    }
+
+    public int getHourOfDay() {
+        return fields[Calendar.HOUR_OF_DAY];
+    }
+
+    public int getMinute() {
+        return fields[Calendar.MINUTE];
+    }
+
+    public int getSecond() {
+        return fields[Calendar.SECOND];
+    }
+
+    public int getMillisecond() {
+        return fields[Calendar.MILLISECOND];
+    }
+
+    public int getDaysInMonth() {
+        return daysInMonth;
+    }
+
+    public boolean isLeapYear() {
+        return FastPersianCalendar.isLeapYear(getYear());
+    }
+
+    public int getGrgYear() {
+        return grgYear;
+    }
+
+    /**
+     * @return 1-based Gregorian month
+     */
+    public int getGrgMonth() {
+        return grgMonth;
+    }
+
+    public int getGrgDay() {
+        return grgDay;
+    }
+
+    public String getMonthName() {
+        return monthName;
+    }
+
+    public String getWeekdayName() {
+        return weekdayName;
+    }
+
+    public String getLongDate() {
+        String value = longDate;
+        if (value == null) {
+            value    = FastPersianCalendar.getLongDate(getYear(), getMonth(), getDayOfMonth(), getDayOfWeek(), locale);
+            longDate = value;
+        }
+        return value;
+    }
+
+    public String getLongDateTime() {
+        String value = longDateTime;
+        if (value == null) {
+            value        = FastPersianCalendar.getLongDateTime(getYear(), getMonth(), getDayOfMonth(), getDayOfWeek(),
+                                                               getHourOfDay(), getMinute(), getSecond(), locale);
+            longDateTime = value;
+        }
+        return value;
+    }
+
+    /**
+     * Same text as FastPersianCalendar.getShortDate()
+     */
+    public String getShortDate() {
+        String value = shortDate;
+        if (value == null) {
+            value     = FastPersianCalendar.getShortDate(getYear(), fields[Calendar.MONTH], getDayOfMonth(), "/", locale);
+            shortDate = value;
+        }
+        return value;
+    }
+
+    /**
+     * A new mutable calendar at the same instant, zone and locale
+     */
+    public FastPersianCalendar toCalendar() {
+        FastPersianCalendar calendar = new FastPersianCalendar(getTimeZone(), locale);
+        calendar.setTimeInMillis(timeInMillis);
+        return calendar;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersianDateSnapshot)) return false;
+        PersianDateSnapshot other = (PersianDateSnapshot) o;
+        return timeInMillis == other.timeInMillis
+               && zone.getID().equals(other.zone.getID())
+               && locale.equals(other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(timeInMillis) * 31 + zone.getID().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%04d/%02d/%02d %02d:%02d:%02d.%03d %s",
+                             getYear(), getMonth(), getDayOfMonth(),
+                             getHourOfDay(), getMinute(), getSecond(), getMillisecond(), zone.getID());
+    }
+}
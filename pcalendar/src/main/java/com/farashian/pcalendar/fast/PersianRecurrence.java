@@ -0,0 +1,318 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+
+import java.util.Calendar;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TimeZone;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Repeating day rule over Persian months and years, Hijri years or Saturday-based weeks.
+ * <p>
+ * Every rule has at most one occurrence per period (month, year or week). The next occurrence
+ * is computed from the period holding a day instead of stepping through days, so nextAfter is
+ * constant time apart from the few periods a rule can skip, such as the 31st in 30-day months.
+ * Days of month may be negative to count from the end, -1 being the last day.
+ * <pre>
+ * PersianRecurrence.monthlyOnWeekday(-1, Calendar.THURSDAY).stream(today).limit(12)
+ * PersianRecurrence.yearlyOnHijri(8, 15).nextAfter(today)
+ * </pre>
+ */
+public final class PersianRecurrence {
+
+    //Returned by nextAfter when a rule has no occurrence within MAX_SKIPPED_PERIODS periods
+    public static final long NONE = Long.MIN_VALUE;
+
+    //The 30th of a Hijri month can be 14 years apart in the official month lengths
+    private static final int MAX_HIJRI_GAP_YEARS = 14;
+
+    //Esfand 30 and the 30th of a Hijri month skip the most periods, a 31st at most 6 months
+    private static final int MAX_SKIPPED_PERIODS = Math.max(MAX_LEAP_GAP_YEARS, MAX_HIJRI_GAP_YEARS) + 2;
+
+    private enum Period {
+        PERSIAN_MONTH, PERSIAN_YEAR, HIJRI_YEAR, WEEK
+    }
+
+    private final Period period;
+    private final int    month;
+    private final int    day;
+    private final int    ordinal;
+    private final int    dayOfWeek;
+
+    private PersianRecurrence(Period period, int month, int day, int ordinal, int dayOfWeek) {
+        this.period    = period;
+        this.month     = month;
+        this.day       = day;
+        this.ordinal   = ordinal;
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * Day of every Persian month, months too short for it are skipped
+     *
+     * @param day 1 to 31, or -1 to -31 counting from the end of the month
+     */
+    public static PersianRecurrence monthlyOnDay(int day) {
+        validateDay(day, 31);
+        return new PersianRecurrence(Period.PERSIAN_MONTH, 0, day, 0, 0);
+    }
+
+    /**
+     * Nth weekday of every Persian month, such as the last Thursday
+     *
+     * @param ordinal   1 to 5, or -1 to -5 counting from the end of the month
+     * @param dayOfWeek Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     */
+    public static PersianRecurrence monthlyOnWeekday(int ordinal, int dayOfWeek) {
+        if (ordinal == 0 || ordinal < -5 || ordinal > 5) {
+            throw new IllegalArgumentException("Ordinal must be between 1 and 5 or -5 and -1, got: " + ordinal);
+        }
+        validateDayOfWeek(dayOfWeek);
+        return new PersianRecurrence(Period.PERSIAN_MONTH, 0, 0, ordinal, dayOfWeek);
+    }
+
+    /**
+     * Persian date every year, such as 1 Farvardin. Esfand 30 only occurs in leap years.
+     *
+     * @param month 1-based Persian month
+     * @param day   1 to 31, or negative counting from the end of the month
+     */
+    public static PersianRecurrence yearlyOnPersian(int month, int day) {
+        validateMonth(month);
+        validateDay(day, month <= 6 ? 31 : 30);
+        return new PersianRecurrence(Period.PERSIAN_YEAR, month, day, 0, 0);
+    }
+
+    /**
+     * Hijri date every Hijri year, such as 15 Sha'ban, using HijriConvertor month lengths
+     *
+     * @param month 1-based Hijri month
+     * @param day   1 to 30, or negative counting from the end of the month
+     */
+    public static PersianRecurrence yearlyOnHijri(int month, int day) {
+        validateMonth(month);
+        validateDay(day, 30);
+        return new PersianRecurrence(Period.HIJRI_YEAR, month, day, 0, 0);
+    }
+
+    /**
+     * @param dayOfWeek Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     */
+    public static PersianRecurrence weekly(int dayOfWeek) {
+        validateDayOfWeek(dayOfWeek);
+        return new PersianRecurrence(Period.WEEK, 0, 0, 0, dayOfWeek);
+    }
+
+    //=== QUERIES ===
+
+    /**
+     * First occurrence strictly after an epoch day, or NONE
+     */
+    public long nextAfter(long epochDay) {
+        int first = periodOf(epochDay);
+        for (int p = first; p <= first + MAX_SKIPPED_PERIODS; p++) {
+            long occurrence = occurrenceIn(p);
+            if (occurrence != NONE && occurrence > epochDay) {
+                return occurrence;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * First occurrence on or after an epoch day, or NONE
+     */
+    public long nextOnOrAfter(long epochDay) {
+        return nextAfter(epochDay - 1);
+    }
+
+    public boolean matches(long epochDay) {
+        return occurrenceIn(periodOf(epochDay)) == epochDay;
+    }
+
+    /**
+     * Midnight of the first occurrence after a date, in the date's time zone, or null
+     */
+    public FastPersianCalendar nextAfter(FastPersianCalendar date) {
+        long next = nextAfter(date.toEpochDay());
+        return next == NONE ? null : FastPersianCalendar.ofEpochDay(next, date.getTimeZone());
+    }
+
+    public boolean matches(FastPersianCalendar date) {
+        return matches(date.toEpochDay());
+    }
+
+    //=== ITERATION ===
+
+    /**
+     * Occurrences on or after an epoch day, computed one at a time
+     */
+    public PrimitiveIterator.OfLong iterator(long fromDay) {
+        return iterator(fromDay, Long.MAX_VALUE);
+    }
+
+    /**
+     * Unbounded stream of occurrences on or after fromDay, use limit or between to end it
+     */
+    public LongStream epochDays(long fromDay) {
+        return toStream(iterator(fromDay));
+    }
+
+    /**
+     * Occurrences in [firstDay, lastDay]
+     */
+    public LongStream between(long firstDay, long lastDay) {
+        return toStream(iterator(firstDay, lastDay));
+    }
+
+    public LongStream between(PersianDateRange range) {
+        return range.isEmpty() ? LongStream.empty() : between(range.getFirstDay(), range.getLastDay());
+    }
+
+    /**
+     * Midnight of each occurrence on or after a date, in the date's time zone
+     */
+    public Stream<FastPersianCalendar> stream(FastPersianCalendar from) {
+        TimeZone zone = from.getTimeZone();
+        return epochDays(from.toEpochDay()).mapToObj(day -> FastPersianCalendar.ofEpochDay(day, zone));
+    }
+
+    //=== INTERNALS ===
+
+    private PrimitiveIterator.OfLong iterator(long fromDay, long lastDay) {
+        return new PrimitiveIterator.OfLong() {
+            private long next = nextOnOrAfter(fromDay);
+
+            @Override
+            public boolean hasNext() {
+                return next != NONE && next <= lastDay;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long current = next;
+                next = nextAfter(current);
+                return current;
+            }
+        };
+    }
+
+    private static LongStream toStream(PrimitiveIterator.OfLong iterator) {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                              | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
+    //Index of the period holding an epoch day, consecutive periods have consecutive indexes
+    private int periodOf(long epochDay) {
+        switch (period) {
+            case WEEK:
+                //Epoch day 2 was a Saturday
+                return (int) Math.floorDiv(epochDay - 2, 7L);
+            case HIJRI_YEAR:
+                return HijriConvertor.hijriYearOf(epochDay);
+            default:
+                int[] persian = new int[3];
+                epochDayToPersian(epochDay, persian);
+                return period == Period.PERSIAN_YEAR ? persian[0] : persian[0] * 12 + persian[1] - 1;
+        }
+    }
+
+    //Epoch day of the occurrence in a period, NONE when the period has none
+    private long occurrenceIn(int index) {
+        switch (period) {
+            case WEEK:
+                return index * 7L + 2 + Math.floorMod(dayOfWeek - Calendar.SATURDAY, 7);
+            case HIJRI_YEAR: {
+                int length = HijriConvertor.getMonthLength(index, month);
+                int target = resolveDay(length);
+                return target == 0 ? NONE : HijriConvertor.hijriToEpochDay(index, month, target);
+            }
+            case PERSIAN_YEAR: {
+                int target = resolveDay(FastPersianCalendar.getDaysInMonthStatic(index, month));
+                return target == 0 ? NONE : persianToEpochDay(index, month, target);
+            }
+            default: {
+                int  year   = Math.floorDiv(index, 12);
+                int  month1 = Math.floorMod(index, 12) + 1;
+                int  length = FastPersianCalendar.getDaysInMonthStatic(year, month1);
+                long start  = persianToEpochDay(year, month1, 1);
+                if (ordinal == 0) {
+                    int target = resolveDay(length);
+                    return target == 0 ? NONE : start + target - 1;
+                }
+                long occurrence;
+                if (ordinal > 0) {
+                    occurrence = start + Math.floorMod(dayOfWeek - dayOfWeek(start), 7) + (ordinal - 1) * 7L;
+                } else {
+                    long last = start + length - 1;
+                    occurrence = last - Math.floorMod(dayOfWeek(last) - dayOfWeek, 7) + (ordinal + 1) * 7L;
+                }
+                return occurrence >= start && occurrence < start + length ? occurrence : NONE;
+            }
+        }
+    }
+
+    //Day of month for a month of the given length, 0 when the month is too short
+    private int resolveDay(int length) {
+        int target = day > 0 ? day : length + day + 1;
+        return target >= 1 && target <= length ? target : 0;
+    }
+
+    private static void validateDay(int day, int max) {
+        if (day == 0 || day < -max || day > max) {
+            throw new IllegalArgumentException("Day must be between 1 and " + max + " or -" + max + " and -1, got: " + day);
+        }
+    }
+
+    private static void validateMonth(int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, got: " + month);
+        }
+    }
+
+    private static void validateDayOfWeek(int dayOfWeek) {
+        if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("Invalid day of week: " + dayOfWeek);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersianRecurrence)) return false;
+        PersianRecurrence other = (PersianRecurrence) o;
+        return period == other.period && month == other.month && day == other.day
+               && ordinal == other.ordinal && dayOfWeek == other.dayOfWeek;
+    }
+
+    @Override
+    public int hashCode() {
+        return (((period.hashCode() * 31 + month) * 31 + day) * 31 + ordinal) * 31 + dayOfWeek;
+    }
+
+    @Override
+    public String toString() {
+        switch (period) {
+            case WEEK:
+                return "weekly(" + dayOfWeek + ")";
+            case HIJRI_YEAR:
+                return "yearlyOnHijri(" + month + ", " + day + ")";
+            case PERSIAN_YEAR:
+                return "yearlyOnPersian(" + month + ", " + day + ")";
+            default:
+                return ordinal == 0 ? "monthlyOnDay(" + day + ")" : "monthlyOnWeekday(" + ordinal + ", " + dayOfWeek + ")";
+        }
+    }
+}
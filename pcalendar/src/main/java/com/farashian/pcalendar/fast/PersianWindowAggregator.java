@@ -0,0 +1,296 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.fast.PersianBuckets.Granularity;
+
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Streaming count, sum, min and max over tumbling or sliding windows aligned to local Persian
+ * days, Saturday-first weeks, months, quarters or years.
+ * <p>
+ * Events must arrive in time order. The instant where the current period ends is computed when
+ * the period opens, so adding an event is one comparison against it; dates are only converted
+ * once per period. A sliding window spans the last N periods and is emitted every time a period
+ * closes; periods without events are emitted as empty windows. Events older than the current
+ * period are counted as late and dropped. Not thread-safe, use one instance per stream.
+ * <pre>
+ * PersianWindowAggregator lastWeek = PersianWindowAggregator.sliding(Granularity.DAY, 7, zone, dashboard::update);
+ * lastWeek.add(event.getTime(), event.getAmount());
+ * </pre>
+ */
+public final class PersianWindowAggregator {
+
+    private final Granularity      granularity;
+    private final TimeZone         zone;
+    private final int              periods;
+    private final Consumer<Window> listener;
+
+    //Closed periods of the sliding window, the current period is slot head
+    private final long[] startDays;
+    private final long[] startMillis;
+    private final long[] counts;
+    private final long[] sums;
+    private final long[] mins;
+    private final long[] maxs;
+    private       int    head;
+
+    //Current period
+    private boolean started;
+    private long    nextDay;
+    private long    nextBoundary;
+    private long    count;
+    private long    sum;
+    private long    min = Long.MAX_VALUE;
+    private long    max = Long.MIN_VALUE;
+
+    private long lateCount;
+
+    private PersianWindowAggregator(Granularity granularity, int periods, TimeZone zone, Consumer<Window> listener) {
+        if (granularity == null || zone == null || listener == null) {
+            throw new IllegalArgumentException("Granularity, time zone and listener cannot be null");
+        }
+        if (periods < 1) {
+            throw new IllegalArgumentException("Window must span at least one period, got: " + periods);
+        }
+        this.granularity = granularity;
+        this.zone        = (TimeZone) zone.clone();
+        this.periods     = periods;
+        this.listener    = listener;
+        this.startDays   = new long[periods];
+        this.startMillis = new long[periods];
+        this.counts      = new long[periods];
+        this.sums        = new long[periods];
+        this.mins        = new long[periods];
+        this.maxs        = new long[periods];
+    }
+
+    /**
+     * One window per period, emitted when the period ends
+     */
+    public static PersianWindowAggregator tumbling(Granularity granularity, TimeZone zone, Consumer<Window> listener) {
+        return new PersianWindowAggregator(granularity, 1, zone, listener);
+    }
+
+    /**
+     * Windows of the last periods, emitted each time a period ends
+     *
+     * @param periods periods in a window, 7 with DAY for a rolling week
+     */
+    public static PersianWindowAggregator sliding(Granularity granularity, int periods, TimeZone zone,
+                                                  Consumer<Window> listener) {
+        return new PersianWindowAggregator(granularity, periods, zone, listener);
+    }
+
+    /**
+     * Add an event, first emitting the windows that ended before it
+     */
+    public void add(long epochMillis, long value) {
+        if (epochMillis >= nextBoundary || !started) {
+            if (!advance(epochMillis)) {
+                return;
+            }
+        } else if (epochMillis < startMillis[head]) {
+            lateCount++;
+            return;
+        }
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Emit the windows that end at or before an instant, for when no events arrive
+     */
+    public void advanceTo(long epochMillis) {
+        if (started) {
+            while (epochMillis >= nextBoundary) {
+                closePeriod();
+            }
+        }
+    }
+
+    /**
+     * Window ending with the current period, holding the events added so far, or null before the first event
+     */
+    public Window getOpenWindow() {
+        return started ? window() : null;
+    }
+
+    /**
+     * Events dropped because their period was already closed
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int getPeriods() {
+        return periods;
+    }
+
+    //Returns false when the event is late
+    private boolean advance(long epochMillis) {
+        if (!started) {
+            start(epochMillis);
+            return true;
+        }
+        if (epochMillis < startMillis[head]) {
+            lateCount++;
+            return false;
+        }
+        while (epochMillis >= nextBoundary) {
+            closePeriod();
+        }
+        return true;
+    }
+
+    //Open the period of the first event, earlier periods of the window are empty
+    private void start(long epochMillis) {
+        long day = PersianBuckets.bucketStart(granularity, toLocalEpochDay(epochMillis, zone));
+        for (int i = periods - 1; i >= 0; i--) {
+            startDays[i]   = day;
+            startMillis[i] = toUtcMillis(day * MILLIS_PER_DAY, zone);
+            mins[i]        = Long.MAX_VALUE;
+            maxs[i]        = Long.MIN_VALUE;
+            if (i > 0) {
+                day = PersianBuckets.bucketStart(granularity, day - 1);
+            }
+        }
+        head         = periods - 1;
+        nextDay      = PersianBuckets.nextBucketStart(granularity, startDays[head]);
+        nextBoundary = toUtcMillis(nextDay * MILLIS_PER_DAY, zone);
+        started      = true;
+    }
+
+    private void closePeriod() {
+        Window window = window();
+
+        head = head + 1 == periods ? 0 : head + 1;
+        startDays[head]   = nextDay;
+        startMillis[head] = nextBoundary;
+        nextDay           = PersianBuckets.nextBucketStart(granularity, nextDay);
+        nextBoundary      = toUtcMillis(nextDay * MILLIS_PER_DAY, zone);
+        count             = 0;
+        sum               = 0;
+        min               = Long.MAX_VALUE;
+        max               = Long.MIN_VALUE;
+
+        listener.accept(window);
+    }
+
+    //Stores the current period in its slot and totals the window ending with it
+    private Window window() {
+        counts[head] = count;
+        sums[head]   = sum;
+        mins[head]   = min;
+        maxs[head]   = max;
+
+        long windowCount = 0;
+        long windowSum   = 0;
+        long windowMin   = Long.MAX_VALUE;
+        long windowMax   = Long.MIN_VALUE;
+        for (int i = 0; i < periods; i++) {
+            windowCount += counts[i];
+            windowSum   += sums[i];
+            windowMin   = Math.min(windowMin, mins[i]);
+            windowMax   = Math.max(windowMax, maxs[i]);
+        }
+        int oldest = head + 1 == periods ? 0 : head + 1;
+        return new Window(granularity, startDays[oldest], startDays[head], nextDay - 1,
+                          startMillis[oldest], nextBoundary, windowCount, windowSum, windowMin, windowMax);
+    }
+
+    /**
+     * Totals of one window of periods
+     */
+    public static final class Window {
+        private final Granularity granularity;
+        private final long        firstDay;
+        private final long        lastPeriodDay;
+        private final long        lastDay;
+        private final long        startMillis;
+        private final long        endMillis;
+        private final long        count;
+        private final long        sum;
+        private final long        min;
+        private final long        max;
+
+        private Window(Granularity granularity, long firstDay, long lastPeriodDay, long lastDay,
+                       long startMillis, long endMillis, long count, long sum, long min, long max) {
+            this.granularity   = granularity;
+            this.firstDay      = firstDay;
+            this.lastPeriodDay = lastPeriodDay;
+            this.lastDay       = lastDay;
+            this.startMillis   = startMillis;
+            this.endMillis     = endMillis;
+            this.count         = count;
+            this.sum           = sum;
+            this.min           = min;
+            this.max           = max;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        /**
+         * First instant after the window
+         */
+        public long getEndMillis() {
+            return endMillis;
+        }
+
+        /**
+         * Local days of the window
+         */
+        public PersianDateRange getRange() {
+            return PersianDateRange.of(firstDay, lastDay);
+        }
+
+        /**
+         * Label of the period, like 1403/01 for a month, or first and last period joined by " - "
+         */
+        public String getLabel() {
+            String last = PersianBuckets.label(granularity, lastPeriodDay);
+            return firstDay == lastPeriodDay ? last : PersianBuckets.label(granularity, firstDay) + " - " + last;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Long.MAX_VALUE when the window is empty
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * Long.MIN_VALUE when the window is empty
+         */
+        public long getMax() {
+            return max;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        @Override
+        public String toString() {
+            return getLabel() + " count=" + count + " sum=" + sum;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.farashian.pcalendar.fast;
+
+import java.time.Clock;
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Shared snapshot of the current Persian date in the default time zone, with the clock behind
+ * every "now" in this package.
+ * <p>
+ * The snapshot is immutable and published through a volatile field, so reads take no lock. It is
+ * rebuilt on the first read after local midnight, after {@link #setClock(Clock)} and after
+ * {@link #refresh()}. The default time zone is only read on a rebuild, so call {@link #refresh()}
+ * after {@link TimeZone#setDefault(TimeZone)}.
+ * <pre>if (Today.get().getEpochDay() == cal.toEpochDay()) ...</pre>
+ */
+public final class Today {
+
+    private static volatile Clock clock = Clock.systemUTC();
+    private static volatile Today current;
+
+    private final int      year;
+    private final int      month;
+    private final int      day;
+    private final int      dayOfWeek;
+    private final long     epochDay;
+    private final long     startMillis;
+    private final long     endMillis;
+    private final TimeZone zone;
+
+    private final String slashDate;
+    private final String dashDate;
+    private final String fullDate;
+    private final String fullDateWithDay;
+    private final String dayName;
+
+    private Today(long now, TimeZone zone) {
+        int[] persian = new int[3];
+        this.zone     = zone;
+        this.epochDay = toLocalEpochDay(now, zone);
+        epochDayToPersian(epochDay, persian);
+        this.year        = persian[0];
+        this.month       = persian[1];
+        this.day         = persian[2];
+        this.dayOfWeek   = dayOfWeek(epochDay);
+        this.startMillis = toUtcMillis(epochDay * MILLIS_PER_DAY, zone);
+        this.endMillis   = toUtcMillis((epochDay + 1) * MILLIS_PER_DAY, zone);
+
+        //Rendered once per day instead of on every call
+        FastPersianCalendar cal = FastPersianCalendar.ofEpochMillis(now, zone);
+        this.slashDate       = new FastPersianDateFormat("yyyy/MM/dd").format(cal);
+        this.dashDate        = new FastPersianDateFormat("yyyy-MM-dd").format(cal);
+        this.fullDate        = new FastPersianDateFormat("dd MMMM yyyy").format(cal);
+        this.fullDateWithDay = new FastPersianDateFormat("dddd, dd MMMM yyyy").format(cal);
+        this.dayName         = new FastPersianDateFormat("dddd").format(cal);
+    }
+
+    /**
+     * Snapshot for the current day, rebuilt at most once per local day
+     */
+    public static Today get() {
+        long  now   = clock.millis();
+        Today today = current;
+        if (today == null || now < today.startMillis || now >= today.endMillis) {
+            //TimeZone.getDefault() clones the zone, so it stays off the per-call path
+            today   = new Today(now, TimeZone.getDefault());
+            current = today;
+            //Keep the legacy field in step with the snapshot
+            FDateUtils.setThisYear(today.year);
+        }
+        return today;
+    }
+
+    /**
+     * Current time in millis from the injected clock
+     */
+    public static long currentTimeMillis() {
+        return clock.millis();
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replace the clock, e.g. with Clock.fixed(...) in tests. Only its millis are used.
+     */
+    public static void setClock(Clock newClock) {
+        if (newClock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        clock   = newClock;
+        current = null;
+    }
+
+    /**
+     * Drop the snapshot, e.g. after TimeZone.setDefault or after changing the default zone's rules
+     */
+    public static void refresh() {
+        current = null;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return 1-based Persian month
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    /**
+     * @return Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     */
+    public int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * First instant of the day
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * First instant of the next day
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    /**
+     * yyyy/MM/dd in Farsi digits
+     */
+    public String getSlashDate() {
+        return slashDate;
+    }
+
+    /**
+     * yyyy-MM-dd in Farsi digits
+     */
+    public String getDashDate() {
+        return dashDate;
+    }
+
+    public String getFullDate() {
+        return fullDate;
+    }
+
+    public String getFullDateWithDay() {
+        return fullDateWithDay;
+    }
+
+    public String getDayName() {
+        return dayName;
+    }
+
+    //Wall clock millis of day for an instant, in the snapshot's zone
+    int millisOfDay(long epochMillis) {
+        return (int) Math.floorMod(toLocalMillis(epochMillis, zone), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Today at midnight as a new calendar
+     */
+    public FastPersianCalendar toCalendar() {
+        return FastPersianCalendar.ofEpochMillis(startMillis, zone);
+    }
+}
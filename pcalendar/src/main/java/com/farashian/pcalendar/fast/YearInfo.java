@@ -0,0 +1,119 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Immutable facts about one Persian year and its 12 {@link MonthInfo}s.
+ * <p>
+ * Years are kept in a small direct-mapped cache, one slot per year modulo CACHE_SIZE, so memory
+ * stays bounded and lookups take no lock; a lost race only builds a year twice. A year is
+ * rebuilt when HijriConvertor data changes, dropping Hijri dates converted from the old data.
+ */
+public final class YearInfo {
+
+    private static final int CACHE_SIZE = 64;
+
+    private static final YearInfo[] CACHE = new YearInfo[CACHE_SIZE];
+
+    private final int         year;
+    private final long        firstEpochDay;
+    private final int         length;
+    private final MonthInfo[] months;
+    private final int         hijriVersion;
+
+    private YearInfo(int year, int hijriVersion) {
+        this.year          = year;
+        this.firstEpochDay = persianToEpochDay(year, 1, 1);
+        this.length        = (int) (persianToEpochDay(year + 1, 1, 1) - firstEpochDay);
+        this.hijriVersion  = hijriVersion;
+        this.months        = new MonthInfo[12];
+
+        int[] gregorian = new int[3];
+        long  first     = firstEpochDay;
+        for (int month = 1; month <= 12; month++) {
+            int monthLength = FastPersianCalendar.getDaysInMonthStatic(year, month);
+            epochDayToGregorian(first, gregorian);
+            months[month - 1] = new MonthInfo(year, month, first, monthLength, gregorian);
+            first += monthLength;
+        }
+    }
+
+    public static YearInfo of(int year) {
+        int      version = HijriConvertor.getDataVersion();
+        int      slot    = Math.floorMod(year, CACHE_SIZE);
+        YearInfo info    = CACHE[slot];
+        if (info == null || info.year != year || info.hijriVersion != version) {
+            info        = new YearInfo(year, version);
+            CACHE[slot] = info;
+        }
+        return info;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public long getLastEpochDay() {
+        return firstEpochDay + length - 1;
+    }
+
+    /**
+     * 365, or 366 in leap years
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isLeapYear() {
+        return length == 366;
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay < firstEpochDay + length;
+    }
+
+    /**
+     * @param month 1-based Persian month
+     */
+    public MonthInfo getMonth(int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, got: " + month);
+        }
+        return months[month - 1];
+    }
+
+    public List<MonthInfo> getMonths() {
+        return Collections.unmodifiableList(Arrays.asList(months));
+    }
+
+    /**
+     * Month holding an epoch day of this year
+     */
+    public MonthInfo monthOf(long epochDay) {
+        if (!contains(epochDay)) {
+            throw new IllegalArgumentException("Epoch day " + epochDay + " is not in year " + year);
+        }
+        int dayOfYear = (int) (epochDay - firstEpochDay);
+        //The first six months have 31 days, the rest 30
+        return months[dayOfYear < 186 ? dayOfYear / 31 : 6 + (dayOfYear - 186) / 30];
+    }
+
+    public PersianDateRange toRange() {
+        return PersianDateRange.of(firstEpochDay, getLastEpochDay());
+    }
+
+    @Override
+    public String toString() {
+        return year + " (" + length + " days)";
+    }
+}
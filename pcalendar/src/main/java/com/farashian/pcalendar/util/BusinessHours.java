@@ -0,0 +1,271 @@
+package com.farashian.pcalendar.util;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Working hours per weekday on top of a HolidayCalendar, for SLA deadlines in business minutes.
+ * <p>
+ * Every Persian year gets a running total of work minutes per day, so whole days and years are
+ * skipped by table lookups and a deadline costs one binary search. Instances are immutable and
+ * safe to share between threads.
+ * <pre>long due = BusinessHours.getDefault().addBusinessMinutes(openedAt, 4 * 60);</pre>
+ */
+public final class BusinessHours {
+
+    public static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    private static final int DEFAULT_START = 8 * 60;
+
+    private static final BusinessHours PERSIAN_WORK_WEEK = persianWorkWeek(
+            HolidayCalendar.getDefault(), TimeZone.getTimeZone("Asia/Tehran"));
+
+    private final HolidayCalendar holidays;
+    private final TimeZone        zone;
+
+    //Work window per Calendar weekday constant, in minutes of day, start == end for days off
+    private final int[] startMinute;
+    private final int[] endMinute;
+
+    private final ConcurrentHashMap<Integer, WorkYear> years = new ConcurrentHashMap<>();
+
+    //Year of the last lookup, consecutive lookups usually fall in the same year
+    private volatile WorkYear lastYear;
+
+    private BusinessHours(HolidayCalendar holidays, TimeZone zone, int[] startMinute, int[] endMinute) {
+        int weekMinutes = 0;
+        for (int dow = Calendar.SUNDAY; dow <= Calendar.SATURDAY; dow++) {
+            if (!holidays.getWeekendPolicy().isWeekend(dow)) {
+                weekMinutes += endMinute[dow] - startMinute[dow];
+            }
+        }
+        if (weekMinutes == 0) {
+            throw new IllegalArgumentException("At least one working day is required");
+        }
+        this.holidays    = holidays;
+        this.zone        = (TimeZone) zone.clone();
+        this.startMinute = startMinute;
+        this.endMinute   = endMinute;
+    }
+
+    /**
+     * Saturday to Wednesday 08:00-16:00, Thursday 08:00-12:00, Fridays and official holidays off,
+     * on Tehran time
+     */
+    public static BusinessHours getDefault() {
+        return PERSIAN_WORK_WEEK;
+    }
+
+    /**
+     * The Persian work week with another holiday calendar or time zone
+     */
+    public static BusinessHours persianWorkWeek(HolidayCalendar holidays, TimeZone zone) {
+        if (holidays == null || zone == null) {
+            throw new IllegalArgumentException("Holiday calendar and time zone cannot be null");
+        }
+        int[] start = new int[Calendar.SATURDAY + 1];
+        int[] end   = new int[Calendar.SATURDAY + 1];
+        for (int dow = Calendar.SUNDAY; dow <= Calendar.SATURDAY; dow++) {
+            start[dow] = DEFAULT_START;
+            end[dow]   = dow == Calendar.FRIDAY ? DEFAULT_START
+                    : dow == Calendar.THURSDAY ? 12 * 60 : 16 * 60;
+        }
+        return new BusinessHours(holidays, zone, start, end);
+    }
+
+    /**
+     * Copy with other working hours on one weekday
+     *
+     * @param dayOfWeek   Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     * @param startMinute start of work in minutes of day
+     * @param endMinute   end of work in minutes of day, equal to startMinute for a day off
+     */
+    public BusinessHours withWorkingHours(int dayOfWeek, int startMinute, int endMinute) {
+        if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("Invalid day of week: " + dayOfWeek);
+        }
+        if (startMinute < 0 || endMinute < startMinute || endMinute > 24 * 60) {
+            throw new IllegalArgumentException("Invalid working hours: " + startMinute + "-" + endMinute);
+        }
+        int[] start = this.startMinute.clone();
+        int[] end   = this.endMinute.clone();
+        start[dayOfWeek] = startMinute;
+        end[dayOfWeek]   = endMinute;
+        return new BusinessHours(holidays, zone, start, end);
+    }
+
+    public HolidayCalendar getHolidayCalendar() {
+        return holidays;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    /**
+     * Work minutes on a day, 0 for holidays
+     *
+     * @param epochDay days since 1970-01-01
+     */
+    public int workMinutes(long epochDay) {
+        WorkYear year  = yearOf(epochDay, holidays.dataVersion());
+        int      index = (int) (epochDay - year.firstDay);
+        return year.minutesBefore[index + 1] - year.minutesBefore[index];
+    }
+
+    /**
+     * True when the instant falls inside working hours on a business day
+     */
+    public boolean isWorkingTime(long epochMillis) {
+        long local  = toLocalMillis(epochMillis, zone);
+        long day    = Math.floorDiv(local, MILLIS_PER_DAY);
+        long minute = Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE;
+        int  dow    = dayOfWeek(day);
+        return minute >= startMinute[dow] && minute < endMinute[dow] && workMinutes(day) > 0;
+    }
+
+    /**
+     * Deadline after a number of business minutes. A start outside working hours counts from the
+     * next opening, and a deadline landing on the end of a working day stays on that day.
+     *
+     * @param epochMillis start instant
+     * @param minutes     business minutes, not negative
+     * @return the deadline instant, or epochMillis when minutes is 0
+     */
+    public long addBusinessMinutes(long epochMillis, long minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("Business minutes cannot be negative: " + minutes);
+        }
+        if (minutes == 0) {
+            return epochMillis;
+        }
+        long     version = holidays.dataVersion();
+        long     local   = toLocalMillis(epochMillis, zone);
+        long     day     = Math.floorDiv(local, MILLIS_PER_DAY);
+        WorkYear year    = yearOf(day, version);
+
+        //Business millis from the start of the year to the deadline
+        long target = position(year, day, Math.floorMod(local, MILLIS_PER_DAY)) + minutes * MILLIS_PER_MINUTE;
+        while (target > year.totalMinutes() * MILLIS_PER_MINUTE) {
+            target -= year.totalMinutes() * MILLIS_PER_MINUTE;
+            year = workYear(year.persianYear + 1, version);
+        }
+
+        //First day whose running total reaches the target
+        int[] before = year.minutesBefore;
+        int   low    = 1;
+        int   high   = year.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (before[mid] * MILLIS_PER_MINUTE >= target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        int  index       = low - 1;
+        long deadlineDay = year.firstDay + index;
+        long millisOfDay = startMinute[dayOfWeek(deadlineDay)] * MILLIS_PER_MINUTE
+                + target - before[index] * MILLIS_PER_MINUTE;
+        return toUtcMillis(deadlineDay * MILLIS_PER_DAY + millisOfDay, zone);
+    }
+
+    /**
+     * Business minutes elapsed between two instants, whole minutes only
+     *
+     * @return negative when endMillis is before startMillis
+     */
+    public long businessMinutesBetween(long startMillis, long endMillis) {
+        if (endMillis < startMillis) {
+            return -businessMinutesBetween(endMillis, startMillis);
+        }
+        long version = holidays.dataVersion();
+        long from    = toLocalMillis(startMillis, zone);
+        long to      = toLocalMillis(endMillis, zone);
+        long fromDay = Math.floorDiv(from, MILLIS_PER_DAY);
+        long toDay   = Math.floorDiv(to, MILLIS_PER_DAY);
+
+        WorkYear year   = yearOf(fromDay, version);
+        long     millis = -position(year, fromDay, Math.floorMod(from, MILLIS_PER_DAY));
+        while (!year.contains(toDay)) {
+            millis += year.totalMinutes() * MILLIS_PER_MINUTE;
+            year = workYear(year.persianYear + 1, version);
+        }
+        millis += position(year, toDay, Math.floorMod(to, MILLIS_PER_DAY));
+        return millis / MILLIS_PER_MINUTE;
+    }
+
+    //Business millis from the start of the year up to a wall time
+    private long position(WorkYear year, long epochDay, long millisOfDay) {
+        int  index  = (int) (epochDay - year.firstDay);
+        long before = year.minutesBefore[index] * MILLIS_PER_MINUTE;
+        int  work   = year.minutesBefore[index + 1] - year.minutesBefore[index];
+        if (work == 0) {
+            return before;
+        }
+        long start = startMinute[dayOfWeek(epochDay)] * MILLIS_PER_MINUTE;
+        return before + Math.max(0, Math.min(millisOfDay - start, work * MILLIS_PER_MINUTE));
+    }
+
+    private WorkYear yearOf(long epochDay, long version) {
+        WorkYear year = lastYear;
+        if (year == null || !year.contains(epochDay) || year.version != version) {
+            int[] persian = new int[3];
+            epochDayToPersian(epochDay, persian);
+            year     = workYear(persian[0], version);
+            lastYear = year;
+        }
+        return year;
+    }
+
+    private WorkYear workYear(int persianYear, long version) {
+        WorkYear year = years.get(persianYear);
+        if (year != null && year.version == version) {
+            return year;
+        }
+        return years.compute(persianYear, (key, old) ->
+                old != null && old.version == version ? old : build(key, version));
+    }
+
+    private WorkYear build(int persianYear, long version) {
+        long  firstDay = persianToEpochDay(persianYear, 1, 1);
+        int   length   = (int) (persianToEpochDay(persianYear + 1, 1, 1) - firstDay);
+        int[] before   = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            long day = firstDay + i;
+            int  dow = dayOfWeek(day);
+            before[i + 1] = before[i] + (holidays.isHoliday(day) ? 0 : endMinute[dow] - startMinute[dow]);
+        }
+        return new WorkYear(persianYear, firstDay, length, version, before);
+    }
+
+    /**
+     * One Persian year, minutesBefore[i] is the work minutes of days before day of year i + 1
+     */
+    private static final class WorkYear {
+        final int   persianYear;
+        final long  firstDay;
+        final int   length;
+        final long  version;
+        final int[] minutesBefore;
+
+        WorkYear(int persianYear, long firstDay, int length, long version, int[] minutesBefore) {
+            this.persianYear   = persianYear;
+            this.firstDay      = firstDay;
+            this.length        = length;
+            this.version       = version;
+            this.minutesBefore = minutesBefore;
+        }
+
+        long totalMinutes() {
+            return minutesBefore[length];
+        }
+
+        boolean contains(long epochDay) {
+            return epochDay >= firstDay && epochDay < firstDay + length;
+        }
+    }
+}
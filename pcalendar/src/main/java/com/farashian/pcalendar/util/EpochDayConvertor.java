@@ -0,0 +1,209 @@
+package com.farashian.pcalendar.util;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Closed-form conversions between Persian dates, proleptic Gregorian dates and epoch days.
+ * <p>
+ * An epoch day is the number of days since 1970-01-01 (Gregorian), which is 1348/10/11 (Persian).
+ * The Persian side uses the same 33-year arithmetic as FastPersianCalendar, so results
+ * match gregorianToJalaliFast / jalaliToGregorianFast exactly.
+ * <p>
+ * Every method is O(1) and allocation free, apart from the caller supplied out arrays.
+ */
+public final class EpochDayConvertor {
+
+    public static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000L;
+
+    //Leap years, and so Esfand 30, are at most 5 years apart in the 33-year cycle
+    public static final int MAX_LEAP_GAP_YEARS = 5;
+
+    //Days from 0000-03-01 (proleptic Gregorian) to 1970-01-01
+    private static final long DAYS_0000_TO_1970 = 719468L;
+
+    //Day number of 1970-01-01 in the running count used by the 33-year Persian algorithm
+    private static final long PERSIAN_EPOCH_OFFSET = 1075195L;
+
+    private EpochDayConvertor() {
+    }
+
+    //=== PERSIAN ===
+
+    /**
+     * Convert a Persian date to an epoch day
+     *
+     * @param year  Persian year
+     * @param month 1-based Persian month (1=Farvardin)
+     * @param day   day of month
+     * @return days since 1970-01-01
+     */
+    public static long persianToEpochDay(int year, int month, int day) {
+        long jy = year + 1595L;
+        long days = 365L * jy + (jy / 33) * 8 + ((jy % 33) + 3) / 4 + day + persianDaysBeforeMonth(month);
+        return days - 355668L - 719528L;
+    }
+
+    /**
+     * Convert an epoch day to a Persian date
+     *
+     * @param epochDay days since 1970-01-01
+     * @param out      receives year, 1-based month and day
+     */
+    public static void epochDayToPersian(long epochDay, int[] out) {
+        long days = epochDay + PERSIAN_EPOCH_OFFSET;
+
+        long jy = -1595L + 33L * (days / 12053);
+        days %= 12053;
+        jy += 4L * (days / 1461);
+        days %= 1461;
+
+        if (days > 365) {
+            jy += (days - 1) / 365;
+            days = (days - 1) % 365;
+        }
+
+        int dayOfYear = (int) days;
+        out[0] = (int) jy;
+        if (dayOfYear < 186) {
+            out[1] = 1 + dayOfYear / 31;
+            out[2] = 1 + (dayOfYear % 31);
+        } else {
+            out[1] = 7 + (dayOfYear - 186) / 30;
+            out[2] = 1 + ((dayOfYear - 186) % 30);
+        }
+    }
+
+    /**
+     * Number of days in the Persian year before the given month
+     *
+     * @param month 1-based Persian month
+     */
+    public static int persianDaysBeforeMonth(int month) {
+        return month <= 7 ? (month - 1) * 31 : 186 + (month - 7) * 30;
+    }
+
+    /**
+     * Persian day of year (1-based)
+     *
+     * @param month 1-based Persian month
+     * @param day   day of month
+     */
+    public static int persianDayOfYear(int month, int day) {
+        return persianDaysBeforeMonth(month) + day;
+    }
+
+    //=== GREGORIAN ===
+
+    /**
+     * Convert a proleptic Gregorian date to an epoch day
+     *
+     * @param year  Gregorian year
+     * @param month 1-based Gregorian month
+     * @param day   day of month
+     * @return days since 1970-01-01
+     */
+    public static long gregorianToEpochDay(int year, int month, int day) {
+        long y   = month <= 2 ? year - 1L : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long mp  = (month + 9) % 12;
+        long doy = (153 * mp + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Convert an epoch day to a proleptic Gregorian date
+     *
+     * @param epochDay days since 1970-01-01
+     * @param out      receives year, 1-based month and day
+     */
+    public static void epochDayToGregorian(long epochDay, int[] out) {
+        long z   = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp  = (5 * doy + 2) / 153;
+        int  d   = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int  m   = (int) (mp < 10 ? mp + 3 : mp - 9);
+        out[0] = (int) (yoe + era * 400 + (m <= 2 ? 1 : 0));
+        out[1] = m;
+        out[2] = d;
+    }
+
+    //=== WEEKDAYS ===
+
+    /**
+     * Day of week as a Calendar constant (Calendar.SUNDAY=1 ... Calendar.SATURDAY=7)
+     */
+    public static int dayOfWeek(long epochDay) {
+        //1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 4, 7L) + Calendar.SUNDAY;
+    }
+
+    /**
+     * Persian weekday index where Saturday=0, Sunday=1, ..., Friday=6
+     */
+    public static int persianWeekdayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 5, 7L);
+    }
+
+    /**
+     * Number of days in [firstDay, lastDay] falling on a weekday, in constant time
+     *
+     * @param dayOfWeek Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+     * @return 0 when lastDay is before firstDay
+     */
+    public static long countDaysOfWeek(long firstDay, long lastDay, int dayOfWeek) {
+        //First matching day on or after firstDay, then whole weeks up to lastDay
+        long firstMatch = firstDay + Math.floorMod(dayOfWeek - dayOfWeek(firstDay), 7);
+        return firstMatch > lastDay ? 0 : (lastDay - firstMatch) / 7 + 1;
+    }
+
+    //=== MILLIS ===
+
+    /**
+     * Wall clock millis (UTC millis shifted by the zone offset) for an instant
+     */
+    public static long toLocalMillis(long utcMillis, TimeZone zone) {
+        return utcMillis + zone.getOffset(utcMillis);
+    }
+
+    /**
+     * Local epoch day of an instant in the given zone
+     */
+    public static long toLocalEpochDay(long utcMillis, TimeZone zone) {
+        return Math.floorDiv(toLocalMillis(utcMillis, zone), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Resolve a wall clock time to an instant.
+     * Follows GregorianCalendar for skipped and repeated wall times.
+     *
+     * @param localMillis wall clock millis (epoch day * MILLIS_PER_DAY + millis of day)
+     * @param zone        time zone of the wall clock
+     * @return UTC millis
+     */
+    public static long toUtcMillis(long localMillis, TimeZone zone) {
+        int offset = zone.getOffset(localMillis - zone.getRawOffset());
+        int actual = zone.getOffset(localMillis - offset);
+        if (actual != offset) {
+            int next = zone.getOffset(localMillis - actual);
+            if (next != actual) {
+                //Skipped wall time, use the offset in force before the transition
+                return localMillis - Math.min(actual, next);
+            }
+            offset = actual;
+        }
+
+        //Repeated wall time, prefer the offset in force after the transition
+        long utc   = localMillis - offset;
+        int  later = zone.getOffset(utc + MILLIS_PER_DAY);
+        if (later < offset && zone.getOffset(localMillis - later) == later) {
+            return localMillis - later;
+        }
+        return utc;
+    }
+}
@@ -3,6 +3,8 @@ package com.farashian.pcalendar.util;
 import com.farashian.pcalendar.YMD;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Iranian Hijri (lunar) calendar converter, anchored to Iran's official data.
@@ -28,8 +30,29 @@ public class HijriConvertor {
     //1-based Hijri epoch date: 1447-07-01
     private static final YMD EPOCH_HIJRI = new YMD(1447, 7, 1);
 
+    //Epoch day (days since 1970-01-01) of EPOCH_HIJRI
+    private static final long EPOCH_DAY_OF_EPOCH_HIJRI = EpochDayConvertor.gregorianToEpochDay(2025, 12, 22);
+
     //Official Iranian Hijri month lengths (1-based months, index 0 = Muharram)
-    private static final Map<Integer, int[]> HIJRI_MONTH_DATA = getIranianHijriMonthData();
+    private static final Map<Integer, int[]> HIJRI_MONTH_DATA = new ConcurrentHashMap<>(getIranianHijriMonthData());
+
+    //Mean length of a Hijri year, only used to estimate the year before correcting it
+    private static final double MEAN_HIJRI_YEAR = 354.367;
+
+    //Bumped whenever HIJRI_MONTH_DATA changes, so caches built from Hijri dates can be rebuilt
+    private static final AtomicInteger DATA_VERSION = new AtomicInteger();
+
+    //Tabular leap years in a 30-year cycle before each year of the cycle
+    private static final int[] LEAPS_BEFORE_CYCLE_YEAR = new int[31];
+
+    static {
+        for (int year = 0; year < 30; year++) {
+            LEAPS_BEFORE_CYCLE_YEAR[year + 1] = LEAPS_BEFORE_CYCLE_YEAR[year] + (isHijriLeapYear(year) ? 1 : 0);
+        }
+    }
+
+    //Month starts of the official years and the tabular years between them, rebuilt when data changes
+    private static volatile MonthTable monthTable = buildMonthTable();
 
     static {
         EPOCH_GREGORIAN_TEHRAN = new GregorianCalendar(TEHRAN_TIMEZONE);
@@ -82,6 +105,58 @@ public class HijriConvertor {
         return hijriToGregorian(new YMD(year, month, day), outputTimezone);
     }
 
+    /**
+     * Convert a Hijri date to an epoch day (days since 1970-01-01), a table lookup inside the
+     * official years and a closed form outside them
+     *
+     * @param month 1-based Hijri month
+     */
+    public static long hijriToEpochDay(int year, int month, int day) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Hijri month out of range: " + month);
+        }
+        int maxDay = getMonthLength(year, month);
+        if (day < 1 || day > maxDay) {
+            throw new IllegalArgumentException("Hijri day out of range: " + day + " for " + year + "/" + month);
+        }
+        return monthStart(monthTable, year, month) + day - 1;
+    }
+
+    /**
+     * Hijri year containing an epoch day
+     */
+    public static int hijriYearOf(long epochDay) {
+        MonthTable table = monthTable;
+        if (!table.contains(epochDay)) {
+            return tabularYearOf(table, epochDay);
+        }
+        return table.firstYear + table.monthIndexOf(epochDay) / 12;
+    }
+
+    /**
+     * Convert an epoch day to a Hijri date, a binary search inside the official years and a
+     * closed form outside them
+     *
+     * @param out receives year, 1-based month and day
+     */
+    public static void epochDayToHijri(long epochDay, int[] out) {
+        MonthTable table = monthTable;
+        if (!table.contains(epochDay)) {
+            int year      = tabularYearOf(table, epochDay);
+            int dayOfYear = (int) (epochDay - monthStart(table, year, 1));
+            //Months alternate 30 and 29 days, the 12th gets the leap day
+            int month     = Math.min(12, dayOfYear / 59 * 2 + (dayOfYear % 59 >= 30 ? 2 : 1));
+            out[0] = year;
+            out[1] = month;
+            out[2] = dayOfYear - tabularMonthOffset(month) + 1;
+            return;
+        }
+        int index = table.monthIndexOf(epochDay);
+        out[0] = table.firstYear + index / 12;
+        out[1] = index % 12 + 1;
+        out[2] = (int) (epochDay - table.monthStarts[index]) + 1;
+    }
+
     /**
      * Month index is 0-based in this helper: islamicMonth0 = 0 => Muharram.
      */
@@ -145,6 +220,125 @@ public class HijriConvertor {
         return HIJRI_MONTH_DATA.containsKey(year);
     }
 
+    /**
+     * Add or replace the official month lengths of a Hijri year, e.g. once a new year is announced.
+     *
+     * @param monthLengths 12 lengths of 29 or 30 days, index 0 = Muharram
+     */
+    public static synchronized void setOfficialMonthLengths(int year, int[] monthLengths) {
+        if (monthLengths == null || monthLengths.length != 12) {
+            throw new IllegalArgumentException("Month lengths must contain 12 values");
+        }
+        for (int length : monthLengths) {
+            if (length != 29 && length != 30) {
+                throw new IllegalArgumentException("Hijri month length must be 29 or 30, got: " + length);
+            }
+        }
+        HIJRI_MONTH_DATA.put(year, Arrays.copyOf(monthLengths, 12));
+        monthTable = buildMonthTable();
+        DATA_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Version of the official month data, changes on every {@link #setOfficialMonthLengths(int, int[])}
+     */
+    public static int getDataVersion() {
+        return DATA_VERSION.get();
+    }
+
+    /**
+     * Epoch day of the 1st of a Hijri month, from the table or counted in tabular years from its ends
+     */
+    private static long monthStart(MonthTable table, int year, int month) {
+        if (year < table.firstYear) {
+            return table.monthStarts[0] - tabularDaysBetween(year, table.firstYear) + tabularMonthOffset(month);
+        }
+        if (year > table.lastYear) {
+            return table.monthStarts[table.monthStarts.length - 1] + tabularDaysBetween(table.lastYear + 1, year)
+                   + tabularMonthOffset(month);
+        }
+        return table.monthStarts[(year - table.firstYear) * 12 + month - 1];
+    }
+
+    //Year of an epoch day outside the table, estimated from the mean year and corrected
+    private static int tabularYearOf(MonthTable table, long epochDay) {
+        int year = table.firstYear + (int) Math.floor((epochDay - table.monthStarts[0]) / MEAN_HIJRI_YEAR);
+        while (monthStart(table, year, 1) > epochDay) {
+            year--;
+        }
+        while (monthStart(table, year + 1, 1) <= epochDay) {
+            year++;
+        }
+        return year;
+    }
+
+    //Days from the 1st of tabular year `from` to the 1st of tabular year `to`
+    private static long tabularDaysBetween(int from, int to) {
+        return 354L * (to - from) + tabularLeapsBefore(to) - tabularLeapsBefore(from);
+    }
+
+    private static long tabularLeapsBefore(int year) {
+        return Math.floorDiv(year, 30) * 11L + LEAPS_BEFORE_CYCLE_YEAR[Math.floorMod(year, 30)];
+    }
+
+    //Days from the 1st of a tabular year to the 1st of a 1-based month
+    private static int tabularMonthOffset(int month) {
+        return 29 * (month - 1) + month / 2;
+    }
+
+    private static MonthTable buildMonthTable() {
+        Set<Integer> years     = HIJRI_MONTH_DATA.keySet();
+        int          firstYear = Math.min(EPOCH_HIJRI.year, Collections.min(years));
+        int          lastYear  = Math.max(EPOCH_HIJRI.year, Collections.max(years));
+
+        //Walk back from the epoch to the 1st of the first year
+        long day = EPOCH_DAY_OF_EPOCH_HIJRI - (EPOCH_HIJRI.day - 1);
+        for (int month = EPOCH_HIJRI.month - 1; month >= 1; month--) {
+            day -= getMonthLength(EPOCH_HIJRI.year, month);
+        }
+        for (int year = EPOCH_HIJRI.year - 1; year >= firstYear; year--) {
+            for (int month = 1; month <= 12; month++) {
+                day -= getMonthLength(year, month);
+            }
+        }
+
+        long[] monthStarts = new long[(lastYear - firstYear + 1) * 12 + 1];
+        int    index       = 0;
+        for (int year = firstYear; year <= lastYear; year++) {
+            for (int month = 1; month <= 12; month++) {
+                monthStarts[index++] = day;
+                day += getMonthLength(year, month);
+            }
+        }
+        monthStarts[index] = day;
+        return new MonthTable(firstYear, lastYear, monthStarts);
+    }
+
+    /**
+     * Epoch day of the 1st of every month from firstYear to lastYear, plus the day after the last month
+     */
+    private static final class MonthTable {
+        final int    firstYear;
+        final int    lastYear;
+        final long[] monthStarts;
+
+        MonthTable(int firstYear, int lastYear, long[] monthStarts) {
+            this.firstYear   = firstYear;
+            this.lastYear    = lastYear;
+            this.monthStarts = monthStarts;
+        }
+
+        boolean contains(long epochDay) {
+            return epochDay >= monthStarts[0] && epochDay < monthStarts[monthStarts.length - 1];
+        }
+
+        //Month index (year - firstYear) * 12 + month - 1 of a contained epoch day
+        int monthIndexOf(long epochDay) {
+            int index = Arrays.binarySearch(monthStarts, epochDay);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
     /**
      * Convert a Tehran-normalized Gregorian date to Hijri using the epoch anchor
      * and walking day-by-day, respecting official data when available.
@@ -0,0 +1,521 @@
+package com.farashian.pcalendar.util;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Official Iranian holidays plus a weekend policy, precomputed as one bitset per Persian year.
+ * <p>
+ * Solar holidays are fixed Persian dates, lunar holidays are Hijri dates converted through
+ * HijriConvertor. A year is built on first use, instances are safe to share between threads,
+ * and years are rebuilt after HijriConvertor data changes.
+ * <p>
+ * The shared calendars are immutable. {@link #overlay()} layers tenant closures and working days
+ * on top of one: the overlay keeps bitsets only for the years it changes and hands out the base
+ * years by reference otherwise. Changes swap an immutable snapshot atomically, so reads never lock.
+ * <pre>HolidayCalendar.getDefault().isHoliday(cal.toEpochDay())</pre>
+ */
+public final class HolidayCalendar {
+
+    public enum WeekendPolicy {
+        FRIDAY(1 << Calendar.FRIDAY),
+        THURSDAY_FRIDAY(1 << Calendar.THURSDAY | 1 << Calendar.FRIDAY);
+
+        private final int mask;
+
+        WeekendPolicy(int mask) {
+            this.mask = mask;
+        }
+
+        /**
+         * @param dayOfWeek Calendar constant (Calendar.SUNDAY ... Calendar.SATURDAY)
+         */
+        public boolean isWeekend(int dayOfWeek) {
+            return (mask & 1 << dayOfWeek) != 0;
+        }
+    }
+
+    //Persian month, day
+    private static final int[][] SOLAR_HOLIDAYS = {
+            {1, 1}, {1, 2}, {1, 3}, {1, 4}, //Nowruz
+            {1, 12},                        //Islamic Republic Day
+            {1, 13},                        //Sizdah Bedar
+            {3, 14},                        //Demise of Imam Khomeini
+            {3, 15},                        //15 Khordad uprising
+            {11, 22},                       //Victory of the Islamic Revolution
+            {12, 29},                       //Nationalization of the oil industry
+    };
+
+    //Hijri month, day. Day 0 is the last day of the month
+    private static final int[][] LUNAR_HOLIDAYS = {
+            {1, 9}, {1, 10},   //Tasua, Ashura
+            {2, 20},           //Arbaeen
+            {2, 28},           //Demise of the Prophet, martyrdom of Imam Hasan
+            {2, 0},            //Martyrdom of Imam Reza
+            {3, 8},            //Martyrdom of Imam Hasan Askari
+            {3, 17},           //Birth of the Prophet
+            {6, 3},            //Martyrdom of Fatima
+            {7, 13},           //Birth of Imam Ali
+            {7, 27},           //Mab'as
+            {8, 15},           //Birth of Imam Mahdi
+            {9, 21},           //Martyrdom of Imam Ali
+            {10, 1}, {10, 2},  //Eid al-Fitr
+            {10, 25},          //Martyrdom of Imam Sadiq
+            {12, 10},          //Eid al-Adha
+            {12, 18},          //Eid al-Ghadir
+    };
+
+    private static final HolidayCalendar FRIDAY_WEEKEND          = new HolidayCalendar(WeekendPolicy.FRIDAY);
+    private static final HolidayCalendar THURSDAY_FRIDAY_WEEKEND = new HolidayCalendar(WeekendPolicy.THURSDAY_FRIDAY);
+
+    private final WeekendPolicy                        weekendPolicy;
+    private final ConcurrentHashMap<Integer, YearBits> years = new ConcurrentHashMap<>();
+
+    //Calendar underneath an overlay, null for the shared calendars
+    private final HolidayCalendar           base;
+    private final AtomicReference<Overrides> overrides = new AtomicReference<>(new Overrides(new HashMap<>(), 0));
+
+    private HolidayCalendar(WeekendPolicy weekendPolicy, HolidayCalendar base) {
+        this.weekendPolicy = weekendPolicy;
+        this.base          = base;
+    }
+
+    private HolidayCalendar(WeekendPolicy weekendPolicy) {
+        this(weekendPolicy, null);
+    }
+
+    /**
+     * Official holidays with a Friday weekend
+     */
+    public static HolidayCalendar getDefault() {
+        return FRIDAY_WEEKEND;
+    }
+
+    public static HolidayCalendar of(WeekendPolicy weekendPolicy) {
+        if (weekendPolicy == null) {
+            throw new IllegalArgumentException("Weekend policy cannot be null");
+        }
+        return weekendPolicy == WeekendPolicy.FRIDAY ? FRIDAY_WEEKEND : THURSDAY_FRIDAY_WEEKEND;
+    }
+
+    public WeekendPolicy getWeekendPolicy() {
+        return weekendPolicy;
+    }
+
+    /**
+     * New empty overlay on this calendar, e.g. one per tenant. Overlays can be stacked.
+     */
+    public HolidayCalendar overlay() {
+        return new HolidayCalendar(weekendPolicy, this);
+    }
+
+    public boolean isOverlay() {
+        return base != null;
+    }
+
+    /**
+     * Close on a day, on top of the base holidays. Only overlays can be changed.
+     */
+    public void addClosure(long epochDay) {
+        addClosures(epochDay, epochDay);
+    }
+
+    /**
+     * Close on every day in [firstDay, lastDay], published as one change
+     */
+    public void addClosures(long firstDay, long lastDay) {
+        update(firstDay, lastDay, true, false);
+    }
+
+    /**
+     * Work on a day the base treats as a holiday or weekend
+     */
+    public void addWorkingDay(long epochDay) {
+        update(epochDay, epochDay, false, true);
+    }
+
+    /**
+     * Drop closures and working days in [firstDay, lastDay], falling back to the base
+     */
+    public void clearOverrides(long firstDay, long lastDay) {
+        update(firstDay, lastDay, false, false);
+    }
+
+    /**
+     * True for weekend days and official holidays
+     *
+     * @param epochDay days since 1970-01-01
+     */
+    public boolean isHoliday(long epochDay) {
+        YearBits year = yearOf(epochDay);
+        return YearBits.test(year.holidays, (int) (epochDay - year.firstDay));
+    }
+
+    /**
+     * True for official holidays, whatever the weekday
+     */
+    public boolean isOfficialHoliday(long epochDay) {
+        YearBits year = yearOf(epochDay);
+        return YearBits.test(year.official, (int) (epochDay - year.firstDay));
+    }
+
+    public boolean isWeekend(long epochDay) {
+        return weekendPolicy.isWeekend(dayOfWeek(epochDay));
+    }
+
+    public boolean isBusinessDay(long epochDay) {
+        return !isHoliday(epochDay);
+    }
+
+    /**
+     * Move by business days, skipping 64-day words and whole years by popcount
+     *
+     * @param epochDay start day, not counted itself
+     * @param days     business days to move, negative to go back
+     * @return the target epoch day, or epochDay when days is 0
+     */
+    public long addBusinessDays(long epochDay, int days) {
+        if (days > 0) {
+            return nthBusinessDayFrom(epochDay + 1, days);
+        }
+        if (days < 0) {
+            return nthBusinessDayBefore(epochDay - 1, -(long) days);
+        }
+        return epochDay;
+    }
+
+    /**
+     * First business day after epochDay
+     */
+    public long nextBusinessDay(long epochDay) {
+        return nthBusinessDayFrom(epochDay + 1, 1);
+    }
+
+    /**
+     * Last business day before epochDay
+     */
+    public long previousBusinessDay(long epochDay) {
+        return nthBusinessDayBefore(epochDay - 1, 1);
+    }
+
+    /**
+     * Business days in [firstDay, lastDay], counted a word at a time
+     *
+     * @return 0 when lastDay is before firstDay
+     */
+    public int countBusinessDays(long firstDay, long lastDay) {
+        Overrides snapshot = overrides.get();
+        int       count    = 0;
+        for (long day = firstDay; day <= lastDay; ) {
+            YearBits year = yearOf(day, snapshot);
+            int      from = (int) (day - year.firstDay);
+            int      to   = (int) Math.min(lastDay - year.firstDay, year.length - 1);
+            if (from == 0 && to == year.length - 1) {
+                count += year.businessDays;
+            } else {
+                for (int w = from >>> 6; w <= to >>> 6; w++) {
+                    long word = year.businessWord(w);
+                    if (w == from >>> 6) word &= -1L << from;
+                    if (w == to >>> 6) word &= -1L >>> (63 - (to & 63));
+                    count += Long.bitCount(word);
+                }
+            }
+            day = year.firstDay + year.length;
+        }
+        return count;
+    }
+
+    //The n-th business day on or after epochDay
+    private long nthBusinessDayFrom(long epochDay, long n) {
+        Overrides snapshot = overrides.get();
+        YearBits  year     = yearOf(epochDay, snapshot);
+        int      index = (int) (epochDay - year.firstDay);
+        while (true) {
+            if (index == 0 && year.businessDays < n) {
+                n -= year.businessDays;
+            } else {
+                for (int w = index >>> 6; w < year.holidays.length; w++) {
+                    long word = year.businessWord(w);
+                    if (w == index >>> 6) word &= -1L << index;
+                    int count = Long.bitCount(word);
+                    if (count >= n) {
+                        //Drop the lower business days, the lowest remaining bit is the target
+                        for (; n > 1; n--) word &= word - 1;
+                        return year.firstDay + (w << 6) + Long.numberOfTrailingZeros(word);
+                    }
+                    n -= count;
+                }
+            }
+            year  = yearBits(year.persianYear + 1, year.hijriVersion, snapshot);
+            index = 0;
+        }
+    }
+
+    //The n-th business day on or before epochDay, counting backwards
+    private long nthBusinessDayBefore(long epochDay, long n) {
+        Overrides snapshot = overrides.get();
+        YearBits  year     = yearOf(epochDay, snapshot);
+        int      index = (int) (epochDay - year.firstDay);
+        while (true) {
+            if (index == year.length - 1 && year.businessDays < n) {
+                n -= year.businessDays;
+            } else {
+                for (int w = index >>> 6; w >= 0; w--) {
+                    long word = year.businessWord(w);
+                    if (w == index >>> 6) word &= -1L >>> (63 - (index & 63));
+                    int count = Long.bitCount(word);
+                    if (count >= n) {
+                        //Drop the higher business days, the highest remaining bit is the target
+                        for (; n > 1; n--) word &= ~Long.highestOneBit(word);
+                        return year.firstDay + (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+                    }
+                    n -= count;
+                }
+            }
+            year  = yearBits(year.persianYear - 1, year.hijriVersion, snapshot);
+            index = year.length - 1;
+        }
+    }
+
+    private YearBits yearOf(long epochDay) {
+        return yearOf(epochDay, overrides.get());
+    }
+
+    private YearBits yearOf(long epochDay, Overrides snapshot) {
+        long     stamp = dataVersion();
+        LastYear last  = snapshot.lastYear;
+        if (last != null && last.stamp == stamp && last.year.contains(epochDay)) {
+            return last.year;
+        }
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        YearBits year = yearBits(persian[0], HijriConvertor.getDataVersion(), snapshot);
+        snapshot.lastYear = new LastYear(year, stamp);
+        return year;
+    }
+
+    private YearBits yearBits(int persianYear, int version, Overrides snapshot) {
+        if (base != null) {
+            YearBits     baseYear = base.yearBits(persianYear, version, base.overrides.get());
+            YearOverride changes  = snapshot.years.get(persianYear);
+            return changes == null ? baseYear : changes.merge(baseYear);
+        }
+        YearBits year = years.get(persianYear);
+        if (year != null && year.hijriVersion == version) {
+            return year;
+        }
+        //Built once per year and version, concurrent callers wait for the same result
+        return years.compute(persianYear, (key, old) ->
+                old != null && old.hijriVersion == version ? old : build(key, version));
+    }
+
+    private YearBits build(int persianYear, int version) {
+        long   firstDay = persianToEpochDay(persianYear, 1, 1);
+        int    length   = (int) (persianToEpochDay(persianYear + 1, 1, 1) - firstDay);
+        long[] official = new long[(length + 63) >>> 6];
+
+        for (int[] holiday : SOLAR_HOLIDAYS) {
+            YearBits.set(official, persianDayOfYear(holiday[0], holiday[1]) - 1);
+        }
+
+        //A Persian year overlaps at most three Hijri years
+        int hijriYear = HijriConvertor.hijriYearOf(firstDay);
+        for (int y = hijriYear; y <= hijriYear + 2; y++) {
+            for (int[] holiday : LUNAR_HOLIDAYS) {
+                int  day      = holiday[1] == 0 ? HijriConvertor.getMonthLength(y, holiday[0]) : holiday[1];
+                long epochDay = HijriConvertor.hijriToEpochDay(y, holiday[0], day);
+                if (epochDay >= firstDay && epochDay < firstDay + length) {
+                    YearBits.set(official, (int) (epochDay - firstDay));
+                }
+            }
+        }
+
+        long[] holidays = official.clone();
+        for (int i = 0; i < length; i++) {
+            if (weekendPolicy.isWeekend(dayOfWeek(firstDay + i))) {
+                YearBits.set(holidays, i);
+            }
+        }
+        return new YearBits(persianYear, firstDay, length, version, holidays, official, null);
+    }
+
+    private void update(long firstDay, long lastDay, boolean close, boolean open) {
+        if (base == null) {
+            throw new IllegalStateException("Shared holiday calendars cannot be changed, use overlay()");
+        }
+        if (lastDay < firstDay) {
+            throw new IllegalArgumentException("Last day is before first day");
+        }
+        while (true) {
+            Overrides                  current = overrides.get();
+            Map<Integer, YearOverride> next    = new HashMap<>(current.years);
+            int[]                      persian = new int[3];
+            for (long day = firstDay; day <= lastDay; ) {
+                epochDayToPersian(day, persian);
+                long         yearStart = persianToEpochDay(persian[0], 1, 1);
+                long         yearEnd   = persianToEpochDay(persian[0] + 1, 1, 1) - 1;
+                YearOverride changes   = next.get(persian[0]);
+                changes = changes == null ? new YearOverride() : changes.copy();
+                for (long d = day; d <= Math.min(lastDay, yearEnd); d++) {
+                    changes.set((int) (d - yearStart), close, open);
+                }
+                if (changes.isEmpty()) {
+                    next.remove(persian[0]);
+                } else {
+                    next.put(persian[0], changes);
+                }
+                day = yearEnd + 1;
+            }
+            //Unchanged years keep their YearOverride, and with it the merged bitset
+            if (overrides.compareAndSet(current, new Overrides(next, current.version + 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Changes when any year could have changed: Hijri data or an overlay in the chain.
+     * All parts only grow, so the sum does too. Caches built from this calendar compare it.
+     */
+    public long dataVersion() {
+        long version = HijriConvertor.getDataVersion();
+        for (HolidayCalendar calendar = this; calendar != null; calendar = calendar.base) {
+            version += calendar.overrides.get().version;
+        }
+        return version;
+    }
+
+    /**
+     * One immutable overlay state, replaced as a whole on every change
+     */
+    private static final class Overrides {
+        final Map<Integer, YearOverride> years;
+        final long                       version;
+
+        //Year of the last lookup, consecutive lookups usually fall in the same year
+        volatile LastYear lastYear;
+
+        Overrides(Map<Integer, YearOverride> years, long version) {
+            this.years   = years;
+            this.version = version;
+        }
+    }
+
+    private static final class LastYear {
+        final YearBits year;
+        final long     stamp;
+
+        LastYear(YearBits year, long stamp) {
+            this.year  = year;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * Overlay changes for one Persian year, bit i is day of year i + 1.
+     * Only mutated while being built inside update(), before it is published.
+     */
+    private static final class YearOverride {
+        final long[] closed;
+        final long[] opened;
+
+        //Merged with the base year it was built from, rebuilt when the base year changes
+        volatile YearBits merged;
+
+        YearOverride() {
+            this(new long[6], new long[6]);
+        }
+
+        private YearOverride(long[] closed, long[] opened) {
+            this.closed = closed;
+            this.opened = opened;
+        }
+
+        YearOverride copy() {
+            return new YearOverride(closed.clone(), opened.clone());
+        }
+
+        void set(int index, boolean close, boolean open) {
+            long bit = 1L << index;
+            closed[index >>> 6] = close ? closed[index >>> 6] | bit : closed[index >>> 6] & ~bit;
+            opened[index >>> 6] = open ? opened[index >>> 6] | bit : opened[index >>> 6] & ~bit;
+        }
+
+        boolean isEmpty() {
+            for (int w = 0; w < closed.length; w++) {
+                if ((closed[w] | opened[w]) != 0) return false;
+            }
+            return true;
+        }
+
+        YearBits merge(YearBits baseYear) {
+            YearBits year = merged;
+            if (year == null || year.base != baseYear) {
+                long[] holidays = new long[baseYear.holidays.length];
+                for (int w = 0; w < holidays.length; w++) {
+                    holidays[w] = (baseYear.holidays[w] | closed[w]) & ~opened[w];
+                }
+                //Official holidays stay as they are, they describe the base calendar
+                year   = new YearBits(baseYear.persianYear, baseYear.firstDay, baseYear.length,
+                        baseYear.hijriVersion, holidays, baseYear.official, baseYear);
+                merged = year;
+            }
+            return year;
+        }
+    }
+
+    /**
+     * One Persian year, bit i is day of year i + 1
+     */
+    private static final class YearBits {
+        final int      persianYear;
+        final long     firstDay;
+        final int      length;
+        final int      hijriVersion;
+        final long[]   holidays;
+        final long[]   official;
+        final YearBits base;
+        final int      businessDays;
+
+        YearBits(int persianYear, long firstDay, int length, int hijriVersion, long[] holidays, long[] official,
+                 YearBits base) {
+            this.persianYear  = persianYear;
+            this.firstDay     = firstDay;
+            this.length       = length;
+            this.hijriVersion = hijriVersion;
+            this.holidays     = holidays;
+            this.official     = official;
+            this.base         = base;
+
+            int business = 0;
+            for (int w = 0; w < holidays.length; w++) {
+                business += Long.bitCount(businessWord(w));
+            }
+            this.businessDays = business;
+        }
+
+        //Business days of word w as set bits, days past the end of the year cleared
+        long businessWord(int w) {
+            long word  = ~holidays[w];
+            int  valid = length - (w << 6);
+            return valid >= 64 ? word : word & (1L << valid) - 1;
+        }
+
+        boolean contains(long epochDay) {
+            return epochDay >= firstDay && epochDay < firstDay + length;
+        }
+
+        static boolean test(long[] bits, int index) {
+            return (bits[index >>> 6] & 1L << index) != 0;
+        }
+
+        static void set(long[] bits, int index) {
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.farashian.pcalendar.util;
+
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Five field cron expression, "minute hour day-of-month month day-of-week", read on the Persian calendar.
+ * <p>
+ * Months are Persian (1=Farvardin, 12=Esfand), days of month follow Persian month lengths, so
+ * "0 9 30 12 *" only fires in leap years, and L stands for the last day of the month. Weekdays
+ * are Saturday-first: 0=Saturday ... 6=Friday. Each field takes *, numbers, a-b ranges, /step
+ * and comma lists. As in standard cron, when both day fields are restricted a day matching
+ * either one fires. A day field starting with *, such as a step over *, counts as unrestricted,
+ * and then a day has to match both fields. A wall time repeated when clocks go back fires on its
+ * first pass.
+ * <p>
+ * Fields are kept as bit masks, so the next fire time is found by skipping whole months and
+ * days and picking the hour and minute with bit scans. Wall times are resolved to instants
+ * through the zone on every call, so offset changes are followed without polling. Immutable.
+ * <pre>
+ * PersianCronExpression.parse("30 8 L * *")     //08:30 on the last day of every month
+ * PersianCronExpression.parse("0 18 * * 5")     //18:00 every Thursday
+ * </pre>
+ */
+public final class PersianCronExpression {
+
+    //Returned by nextFireTime when nothing matches within MAX_YEARS
+    public static final long NONE = Long.MIN_VALUE;
+
+    //A full leap year gap past the current year, with margin
+    private static final int MAX_YEARS = MAX_LEAP_GAP_YEARS + 3;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    private final String  expression;
+    private final long    minutes;
+    private final int     hours;
+    private final long    days;
+    private final boolean lastDay;
+    private final int     months;
+    private final int     weekdays;
+    private final boolean anyDay;
+    private final boolean anyWeekday;
+
+    private PersianCronExpression(String expression, long minutes, int hours, long days, boolean lastDay,
+                                  int months, int weekdays, boolean anyDay, boolean anyWeekday) {
+        this.expression = expression;
+        this.minutes    = minutes;
+        this.hours      = hours;
+        this.days       = days;
+        this.lastDay    = lastDay;
+        this.months     = months;
+        this.weekdays   = weekdays;
+        this.anyDay     = anyDay;
+        this.anyWeekday = anyWeekday;
+    }
+
+    public static PersianCronExpression parse(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Cron expression cannot be null");
+        }
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression needs 5 fields, got: " + expression);
+        }
+        String  dayField = fields[2];
+        boolean lastDay  = false;
+        if (dayField.equals("L")) {
+            dayField = null;
+            lastDay  = true;
+        } else if (dayField.endsWith(",L")) {
+            dayField = dayField.substring(0, dayField.length() - 2);
+            lastDay  = true;
+        }
+        return new PersianCronExpression(expression.trim(),
+                                         parseField(fields[0], 0, 59),
+                                         (int) parseField(fields[1], 0, 23),
+                                         dayField == null ? 0 : parseField(dayField, 1, 31),
+                                         lastDay,
+                                         (int) parseField(fields[3], 1, 12),
+                                         (int) parseField(fields[4], 0, 6),
+                                         fields[2].startsWith("*"),
+                                         fields[4].startsWith("*"));
+    }
+
+    /**
+     * First fire time strictly after an instant, in the given zone
+     *
+     * @return UTC millis, or NONE when no day matches within the next 8 years
+     */
+    public long nextFireTime(long afterMillis, TimeZone zone) {
+        long local       = toLocalMillis(afterMillis, zone);
+        long epochDay    = Math.floorDiv(local, MILLIS_PER_DAY);
+        int  minuteOfDay = (int) (Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE) + 1;
+
+        int[] persian = new int[3];
+        epochDayToPersian(epochDay, persian);
+        long lastSearchDay = epochDay + MAX_YEARS * 366L;
+        while (epochDay <= lastSearchDay) {
+            int  length     = monthLength(persian[0], persian[1]);
+            long monthStart = epochDay - (persian[2] - 1);
+            if ((months >>> persian[1] & 1) == 0) {
+                //Skip the rest of the month
+                epochDay    = monthStart + length;
+                minuteOfDay = 0;
+                nextMonth(persian);
+                continue;
+            }
+            for (int day = persian[2]; day <= length; day++, epochDay++, minuteOfDay = 0) {
+                if (!dayMatches(epochDay, day, length)) {
+                    continue;
+                }
+                for (int minute = firstMinuteFrom(minuteOfDay); minute >= 0; minute = firstMinuteFrom(minute + 1)) {
+                    long wallTime = epochDay * MILLIS_PER_DAY + minute * MILLIS_PER_MINUTE;
+                    long fire     = toUtcMillis(wallTime, zone);
+                    //A wall time repeated by a clock set back fires on its first pass when that is still ahead
+                    long first = firstPass(wallTime, fire, zone);
+                    if (first > afterMillis) {
+                        return first;
+                    }
+                    //A wall time moved back by an offset change may not be after the instant
+                    if (fire > afterMillis) {
+                        return fire;
+                    }
+                }
+            }
+            nextMonth(persian);
+        }
+        return NONE;
+    }
+
+    public long nextFireTime(long afterMillis) {
+        return nextFireTime(afterMillis, TimeZone.getDefault());
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    //=== INTERNALS ===
+
+    private boolean dayMatches(long epochDay, int day, int length) {
+        boolean dayMatch     = (days >>> day & 1) != 0 || lastDay && day == length;
+        boolean weekdayMatch = (weekdays >>> persianWeekdayIndex(epochDay) & 1) != 0;
+        if (anyDay || anyWeekday) return dayMatch && weekdayMatch;
+        return dayMatch || weekdayMatch;
+    }
+
+    //Earlier instant of a repeated wall time, toUtcMillis picks the later one
+    private static long firstPass(long localMillis, long utcMillis, TimeZone zone) {
+        int earlier = zone.getOffset(utcMillis - MILLIS_PER_DAY);
+        if (earlier > zone.getOffset(utcMillis) && zone.getOffset(localMillis - earlier) == earlier) {
+            return localMillis - earlier;
+        }
+        return utcMillis;
+    }
+
+    //First matching minute of day at or after minuteOfDay, -1 when none is left in the day
+    private int firstMinuteFrom(int minuteOfDay) {
+        for (int hour = minuteOfDay / 60; hour < 24; hour++) {
+            if ((hours >>> hour & 1) == 0) {
+                continue;
+            }
+            int  from = hour == minuteOfDay / 60 ? minuteOfDay % 60 : 0;
+            long left = minutes & (-1L << from);
+            if (left != 0) {
+                return hour * 60 + Long.numberOfTrailingZeros(left);
+            }
+        }
+        return -1;
+    }
+
+    private static void nextMonth(int[] persian) {
+        if (++persian[1] > 12) {
+            persian[1] = 1;
+            persian[0]++;
+        }
+        persian[2] = 1;
+    }
+
+    private static int monthLength(int year, int month) {
+        long next = month == 12 ? persianToEpochDay(year + 1, 1, 1) : persianToEpochDay(year, month + 1, 1);
+        return (int) (next - persianToEpochDay(year, month, 1));
+    }
+
+    //Bit mask of the values a field allows
+    private static long parseField(String field, int min, int max) {
+        long mask = 0;
+        for (String part : field.split(",")) {
+            int    step  = 1;
+            String range = part;
+            int    slash = part.indexOf('/');
+            if (slash >= 0) {
+                step  = parseNumber(part.substring(slash + 1), 1, max - min + 1, field);
+                range = part.substring(0, slash);
+            }
+            int first;
+            int last;
+            if (range.equals("*")) {
+                first = min;
+                last  = max;
+            } else {
+                int dash = range.indexOf('-');
+                first = parseNumber(dash >= 0 ? range.substring(0, dash) : range, min, max, field);
+                last  = dash >= 0 ? parseNumber(range.substring(dash + 1), min, max, field)
+                                  : slash >= 0 ? max : first;
+                if (last < first) {
+                    throw new IllegalArgumentException("Invalid range in cron field: " + field);
+                }
+            }
+            for (int value = first; value <= last; value += step) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    private static int parseNumber(String text, int min, int max, String field) {
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Invalid cron field: " + field + ", values must be between " + min + " and " + max);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersianCronExpression)) return false;
+        PersianCronExpression other = (PersianCronExpression) o;
+        return minutes == other.minutes && hours == other.hours && days == other.days && lastDay == other.lastDay
+               && months == other.months && weekdays == other.weekdays
+               && anyDay == other.anyDay && anyWeekday == other.anyWeekday;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) ((minutes * 31 + hours) * 31 + days) * 31 + months * 7 + weekdays;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
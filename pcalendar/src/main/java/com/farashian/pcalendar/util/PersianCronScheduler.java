@@ -0,0 +1,123 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.Today;
+
+import java.util.TimeZone;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a ScheduledExecutorService at the fire times of PersianCronExpressions.
+ * <p>
+ * Each run is a one-shot task. After it finishes, the next fire time is the first one after
+ * both the planned time and the current time, so a run that ends late skips the times it
+ * missed instead of catching up, and no time fires twice. Fire times are instants resolved
+ * in the scheduler's zone, so a zone offset change between two runs is followed without polling.
+ * A task that throws is not run again, as with ScheduledExecutorService.
+ * <pre>
+ * PersianCronScheduler scheduler = new PersianCronScheduler(Executors.newSingleThreadScheduledExecutor());
+ * scheduler.schedule("0 2 1 * *", this::monthlyReport);
+ * </pre>
+ */
+public final class PersianCronScheduler {
+
+    private final ScheduledExecutorService executor;
+    private final TimeZone                 zone;
+
+    /**
+     * Scheduler in the default time zone, like PersianCronExpression.nextFireTime(long)
+     */
+    public PersianCronScheduler(ScheduledExecutorService executor) {
+        this(executor, TimeZone.getDefault());
+    }
+
+    public PersianCronScheduler(ScheduledExecutorService executor, TimeZone zone) {
+        if (executor == null || zone == null) {
+            throw new IllegalArgumentException("Executor and time zone cannot be null");
+        }
+        this.executor = executor;
+        this.zone     = (TimeZone) zone.clone();
+    }
+
+    public CronTask schedule(String expression, Runnable task) {
+        return schedule(PersianCronExpression.parse(expression), task);
+    }
+
+    public CronTask schedule(PersianCronExpression cron, Runnable task) {
+        if (cron == null || task == null) {
+            throw new IllegalArgumentException("Cron expression and task cannot be null");
+        }
+        CronTask cronTask = new CronTask(cron, task);
+        cronTask.scheduleAfter(Today.currentTimeMillis());
+        return cronTask;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    /**
+     * Handle of a scheduled cron task
+     */
+    public final class CronTask {
+        private final PersianCronExpression cron;
+        private final Runnable              task;
+
+        private ScheduledFuture<?> future;
+        private long               nextFireTime;
+        private boolean            cancelled;
+
+        private CronTask(PersianCronExpression cron, Runnable task) {
+            this.cron = cron;
+            this.task = task;
+        }
+
+        /**
+         * UTC millis of the next run, PersianCronExpression.NONE once there is none
+         */
+        public synchronized long getNextFireTime() {
+            return nextFireTime;
+        }
+
+        public PersianCronExpression getExpression() {
+            return cron;
+        }
+
+        /**
+         * Stop future runs, a run in progress is not interrupted
+         */
+        public synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        private synchronized void scheduleAfter(long afterMillis) {
+            nextFireTime = cron.nextFireTime(afterMillis, zone);
+            if (cancelled || nextFireTime == PersianCronExpression.NONE) {
+                return;
+            }
+            long delay = Math.max(0, nextFireTime - Today.currentTimeMillis());
+            future = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void run() {
+            long planned;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                planned = nextFireTime;
+            }
+            task.run();
+            //Skip fire times missed while running late, but never fire twice for one
+            scheduleAfter(Math.max(planned, Today.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.function.LongConsumer;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+
+/**
+ * Two level hashed timing wheel of reminders keyed on local epoch minutes.
+ * <p>
+ * The upper level has one bucket per local day, hashed over DAY_SLOTS days, and the lower level
+ * one bucket per minute of the current day. When the wheel reaches a new day its day bucket is
+ * spread over the minute buckets in one pass; a day passed over entirely is expired straight from
+ * its bucket. Reminders live in parallel primitive arrays linked by index, about 28 bytes each,
+ * so schedule and cancel are O(1) and no object is allocated per reminder.
+ * <p>
+ * Due times are wall clock minutes in the wheel's zone; a reminder in a wall clock hour repeated
+ * by a DST change fires on the first pass. Not thread-safe, drive it from one thread.
+ * <pre>
+ * ReminderWheel wheel = new ReminderWheel(TimeZone.getTimeZone("Asia/Tehran"), now);
+ * long handle = wheel.schedule(1403, 1, 13, 9, 0, reminderId);
+ * wheel.advanceTo(System.currentTimeMillis(), id -> send(id));
+ * </pre>
+ */
+public final class ReminderWheel {
+
+    //Days in the upper wheel, later days share buckets and are told apart by their due minute
+    private static final int DAY_SLOTS       = 1024;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int NIL             = -1;
+
+    private final TimeZone zone;
+
+    //Per reminder, indexed by slot; free slots are chained through next
+    private long[] dueMinutes;
+    private long[] payloads;
+    private int[]  next;
+    private int[]  prev;
+    private int[]  generations;
+    private int    freeHead = NIL;
+    private int    used;
+    private int    size;
+
+    private final int[] dayHeads    = new int[DAY_SLOTS];
+    private final int[] minuteHeads = new int[MINUTES_PER_DAY];
+
+    //Every reminder due at or before processedMinute has fired, minute buckets hold loadedDay
+    private long processedMinute;
+    private long loadedDay;
+
+    public ReminderWheel(TimeZone zone, long nowMillis) {
+        this(zone, nowMillis, 1024);
+    }
+
+    public ReminderWheel(TimeZone zone, long nowMillis, int initialCapacity) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Time zone cannot be null");
+        }
+        int capacity = Math.max(initialCapacity, 16);
+        this.zone        = (TimeZone) zone.clone();
+        this.dueMinutes  = new long[capacity];
+        this.payloads    = new long[capacity];
+        this.next        = new int[capacity];
+        this.prev        = new int[capacity];
+        this.generations = new int[capacity];
+        Arrays.fill(dayHeads, NIL);
+        Arrays.fill(minuteHeads, NIL);
+        processedMinute = localMinute(nowMillis);
+        loadedDay       = Math.floorDiv(processedMinute, MINUTES_PER_DAY);
+    }
+
+    //=== SCHEDULING ===
+
+    /**
+     * @param dueMillis instant to fire at, rounded down to its minute; past instants fire on the next advance
+     * @param payload   passed back when the reminder fires, usually an id
+     * @return handle for cancel
+     */
+    public long schedule(long dueMillis, long payload) {
+        return scheduleAtMinute(localMinute(dueMillis), payload);
+    }
+
+    public long schedule(FastPersianCalendar due, long payload) {
+        return schedule(due.getTimeInMillis(), payload);
+    }
+
+    /**
+     * Schedule at a Persian wall clock time in the wheel's zone, without building a calendar
+     *
+     * @param month 1-based Persian month
+     */
+    public long schedule(int year, int month, int day, int hour, int minute, long payload) {
+        if (month < 1 || month > 12 || day < 1 || day > FastPersianCalendar.getDaysInMonthStatic(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw new IllegalArgumentException("Invalid Persian date time: " + year + "/" + month + "/" + day
+                                               + " " + hour + ":" + minute);
+        }
+        return scheduleAtMinute(persianToEpochDay(year, month, day) * MINUTES_PER_DAY + hour * 60 + minute, payload);
+    }
+
+    /**
+     * Remove a pending reminder
+     *
+     * @return false when it already fired or was cancelled
+     */
+    public boolean cancel(long handle) {
+        int index = (int) handle;
+        if (index < 0 || index >= used || generations[index] != (int) (handle >>> 32)) {
+            return false;
+        }
+        unlink(index);
+        release(index);
+        return true;
+    }
+
+    /**
+     * Fire every reminder due up to an instant. Reminders of a day passed over entirely fire in
+     * bucket order, the others minute by minute.
+     *
+     * @return number of reminders fired
+     */
+    public int advanceTo(long nowMillis, LongConsumer expired) {
+        long target = localMinute(nowMillis);
+        int  fired  = 0;
+        while (processedMinute < target) {
+            long minute = processedMinute + 1;
+            long day    = Math.floorDiv(minute, MINUTES_PER_DAY);
+            if (day != loadedDay) {
+                if (target >= (day + 1) * MINUTES_PER_DAY - 1) {
+                    //The whole day has passed, expire its bucket in one batch
+                    processedMinute = (day + 1) * MINUTES_PER_DAY - 1;
+                    fired += expireDay(day, expired);
+                    loadedDay = day;
+                    continue;
+                }
+                loadedDay = day;
+                cascade(day);
+            }
+            //Mark the minute first, so reminders scheduled by the callback go to a later one
+            processedMinute = minute;
+            int slot = (int) (minute - day * MINUTES_PER_DAY);
+            for (int index = minuteHeads[slot]; index != NIL; index = minuteHeads[slot]) {
+                long payload = payloads[index];
+                unlink(index);
+                release(index);
+                expired.accept(payload);
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Number of pending reminders
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public TimeZone getTimeZone() {
+        return (TimeZone) zone.clone();
+    }
+
+    //=== INTERNALS ===
+
+    private long scheduleAtMinute(long dueMinute, long payload) {
+        //Overdue reminders fire on the next advance
+        long minute = Math.max(dueMinute, processedMinute + 1);
+        int  index  = allocate();
+        dueMinutes[index] = minute;
+        payloads[index]   = payload;
+        link(index);
+        size++;
+        return (long) generations[index] << 32 | index;
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int index = freeHead;
+            freeHead = next[index];
+            return index;
+        }
+        if (used == dueMinutes.length) {
+            int capacity = used * 2;
+            dueMinutes  = Arrays.copyOf(dueMinutes, capacity);
+            payloads    = Arrays.copyOf(payloads, capacity);
+            next        = Arrays.copyOf(next, capacity);
+            prev        = Arrays.copyOf(prev, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        return used++;
+    }
+
+    //Bump the generation so old handles stop matching, then chain the slot as free
+    private void release(int index) {
+        generations[index]++;
+        next[index] = freeHead;
+        freeHead    = index;
+        size--;
+    }
+
+    //Minute bucket for reminders of the loaded day, day bucket otherwise
+    private int[] headsOf(int index) {
+        return Math.floorDiv(dueMinutes[index], MINUTES_PER_DAY) == loadedDay ? minuteHeads : dayHeads;
+    }
+
+    private int slotOf(int index, int[] heads) {
+        long minute = dueMinutes[index];
+        return heads == minuteHeads
+               ? (int) Math.floorMod(minute, (long) MINUTES_PER_DAY)
+               : (int) (Math.floorDiv(minute, MINUTES_PER_DAY) & (DAY_SLOTS - 1));
+    }
+
+    private void link(int index) {
+        int[] heads = headsOf(index);
+        int   slot  = slotOf(index, heads);
+        int   head  = heads[slot];
+        next[index] = head;
+        prev[index] = NIL;
+        if (head != NIL) {
+            prev[head] = index;
+        }
+        heads[slot] = index;
+    }
+
+    private void unlink(int index) {
+        int before = prev[index];
+        int after  = next[index];
+        if (before == NIL) {
+            int[] heads = headsOf(index);
+            heads[slotOf(index, heads)] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    //Move the reminders of a day from its day bucket to the minute buckets
+    private void cascade(long day) {
+        int slot  = (int) (day & (DAY_SLOTS - 1));
+        int index = dayHeads[slot];
+        while (index != NIL) {
+            int following = next[index];
+            if (Math.floorDiv(dueMinutes[index], MINUTES_PER_DAY) == day) {
+                unlinkFromDay(index, slot);
+                link(index);
+            }
+            index = following;
+        }
+    }
+
+    private int expireDay(long day, LongConsumer expired) {
+        int slot  = (int) (day & (DAY_SLOTS - 1));
+        int fired = 0;
+        int index = dayHeads[slot];
+        while (index != NIL) {
+            int following = next[index];
+            if (Math.floorDiv(dueMinutes[index], MINUTES_PER_DAY) == day) {
+                long payload    = payloads[index];
+                int  generation = following == NIL ? 0 : generations[following];
+                unlink(index);
+                release(index);
+                expired.accept(payload);
+                fired++;
+                //The callback cancelled the next reminder, start over from the bucket head
+                if (following != NIL && generations[following] != generation) {
+                    following = dayHeads[slot];
+                }
+            }
+            index = following;
+        }
+        return fired;
+    }
+
+    //Unlink from a day bucket after loadedDay already points headsOf at the minute buckets
+    private void unlinkFromDay(int index, int slot) {
+        int before = prev[index];
+        int after  = next[index];
+        if (before == NIL) {
+            dayHeads[slot] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    private long localMinute(long epochMillis) {
+        return Math.floorDiv(toLocalMillis(epochMillis, zone), 60 * 1000L);
+    }
+}
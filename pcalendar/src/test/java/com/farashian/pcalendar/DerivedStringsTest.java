@@ -0,0 +1,87 @@
+package com.farashian.pcalendar;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DerivedStringsTest {
+
+    private static final TimeZone UTC            = TimeZone.getTimeZone("UTC");
+    //1402/08/23 22:13:20 UTC
+    private static final long     MILLIS         = 1700000000000L;
+    private static final long     MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    @Test
+    void persianCalendarStringsFollowSet() {
+        assertStringsFollowSet(PersianCalendar::new);
+        assertCloneKeepsOwnStrings(PersianCalendar::new);
+    }
+
+    @Test
+    void fastPersianCalendarStringsFollowSet() {
+        assertStringsFollowSet(FastPersianCalendar::new);
+        assertCloneKeepsOwnStrings(FastPersianCalendar::new);
+    }
+
+    //Reads the cached strings before each batch of set() calls, then compares them with a fresh calendar
+    private static void assertStringsFollowSet(Function<TimeZone, Calendar> factory) {
+        Calendar calendar = at(factory, MILLIS);
+        strings(calendar);
+
+        calendar.set(Calendar.HOUR_OF_DAY, 3);
+        calendar.set(Calendar.MINUTE, 7);
+        long time = MILLIS - (22 * 60 + 13 - 3 * 60 - 7) * 60 * 1000L;
+        assertEquals(strings(at(factory, time)), strings(calendar));
+        assertEquals(time, calendar.getTimeInMillis());
+
+        calendar.set(Calendar.DAY_OF_MONTH, 5);
+        time -= 18 * MILLIS_PER_DAY;
+        assertEquals(strings(at(factory, time)), strings(calendar));
+        assertEquals(time, calendar.getTimeInMillis());
+
+        calendar.set(Calendar.MONTH, 0);
+        calendar.set(Calendar.YEAR, 1400);
+        assertEquals(strings(at(factory, calendar.getTimeInMillis())), strings(calendar));
+        assertEquals(1400, calendar.get(Calendar.YEAR));
+        assertEquals(0, calendar.get(Calendar.MONTH));
+        assertEquals(5, calendar.get(Calendar.DAY_OF_MONTH));
+        assertEquals(3, calendar.get(Calendar.HOUR_OF_DAY));
+    }
+
+    private static void assertCloneKeepsOwnStrings(Function<TimeZone, Calendar> factory) {
+        Calendar calendar = at(factory, MILLIS);
+        String   original = strings(calendar);
+        Calendar clone    = (Calendar) calendar.clone();
+        clone.set(Calendar.HOUR_OF_DAY, 3);
+        assertEquals(strings(at(factory, clone.getTimeInMillis())), strings(clone));
+        assertNotEquals(original, strings(clone));
+        assertEquals(original, strings(calendar));
+
+        //A clone taken with a set() still pending resolves it on its own
+        calendar.set(Calendar.MINUTE, 7);
+        Calendar pending = (Calendar) calendar.clone();
+        assertEquals(strings(at(factory, pending.getTimeInMillis())), strings(pending));
+        assertEquals(strings(pending), strings(calendar));
+        assertNotEquals(original, strings(calendar));
+    }
+
+    private static Calendar at(Function<TimeZone, Calendar> factory, long millis) {
+        Calendar calendar = factory.apply(UTC);
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    private static String strings(Calendar calendar) {
+        if (calendar instanceof FastPersianCalendar) {
+            FastPersianCalendar fast = (FastPersianCalendar) calendar;
+            return fast.getLongDate() + " | " + fast.getLongDateTime() + " | " + fast.getShortDate();
+        }
+        PersianCalendar persian = (PersianCalendar) calendar;
+        return persian.getLongDate() + " | " + persian.getLongDateTime() + " | " + persian.getShortDate();
+    }
+}
@@ -0,0 +1,145 @@
+package com.farashian.pcalendar.fast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityBitmapTest {
+
+    private static final long FIRST_DAY = FastPersianCalendar.ofPersian(1400, 1, 1).toEpochDay();
+    private static final int  SPAN      = 5 * 366;
+
+    @Test
+    void setAndClearMatchBitSet() {
+        Random random = new Random(43);
+        for (int i = 0; i < 50; i++) {
+            BitSet             days   = new BitSet();
+            AvailabilityBitmap bitmap = randomBitmap(random, days);
+            assertMatches(days, bitmap);
+        }
+    }
+
+    @Test
+    void setOperationsMatchBitSet() {
+        Random random = new Random(430);
+        for (int i = 0; i < 50; i++) {
+            BitSet             aDays = new BitSet();
+            BitSet             bDays = new BitSet();
+            AvailabilityBitmap a     = randomBitmap(random, aDays);
+            AvailabilityBitmap b     = randomBitmap(random, bDays);
+
+            BitSet and = (BitSet) aDays.clone();
+            and.and(bDays);
+            assertMatches(and, a.and(b));
+
+            BitSet or = (BitSet) aDays.clone();
+            or.or(bDays);
+            assertMatches(or, a.or(b));
+
+            BitSet andNot = (BitSet) aDays.clone();
+            andNot.andNot(bDays);
+            assertMatches(andNot, a.andNot(b));
+        }
+    }
+
+    @Test
+    void findRunMatchesDayScan() {
+        Random random = new Random(431);
+        for (int i = 0; i < 50; i++) {
+            BitSet             days   = new BitSet();
+            AvailabilityBitmap bitmap = randomBitmap(random, days);
+            for (int j = 0; j < 50; j++) {
+                int from   = random.nextInt(SPAN);
+                int length = 1 + random.nextInt(j % 2 == 0 ? 5 : 120);
+                assertEquals(scanRun(days, from, length), bitmap.findRun(FIRST_DAY + from, length),
+                             from + " " + length);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AvailabilityBitmap().findRun(FIRST_DAY, 0));
+    }
+
+    @Test
+    void fullMonthsShareOneContainer() {
+        AvailabilityBitmap bitmap = new AvailabilityBitmap();
+        bitmap.set(PersianDateRange.ofPersianYear(1403));
+        bitmap.set(PersianDateRange.ofPersianYear(1404));
+        assertEquals(1, bitmap.containerCount());
+        assertEquals(366 + 365, bitmap.cardinality());
+        assertEquals((1 << 30) - 1, bitmap.getMonth(1403, 12));
+        assertEquals((1 << 29) - 1, bitmap.getMonth(1404, 12));
+
+        //Clearing a day splits the run around a partly set month
+        bitmap.clear(FastPersianCalendar.ofPersian(1403, 6, 10));
+        assertEquals(3, bitmap.containerCount());
+        assertFalse(bitmap.get(FastPersianCalendar.ofPersian(1403, 6, 10)));
+        assertEquals(~(1 << 9) & ((1 << 31) - 1), bitmap.getMonth(1403, 6));
+
+        AvailabilityBitmap copy = bitmap.copy();
+        copy.set(FastPersianCalendar.ofPersian(1403, 6, 10));
+        assertEquals(1, copy.containerCount());
+        assertNotEquals(bitmap, copy);
+        assertThrows(IllegalArgumentException.class, () -> bitmap.getMonth(1403, 0));
+    }
+
+    private static void assertMatches(BitSet days, AvailabilityBitmap bitmap) {
+        for (int day = 0; day < SPAN; day++) {
+            assertEquals(days.get(day), bitmap.get(FIRST_DAY + day), "day " + day);
+        }
+        assertEquals(days.cardinality(), bitmap.cardinality());
+        assertEquals(days.isEmpty(), bitmap.isEmpty());
+        assertEquals(days.cardinality(), bitmap.toDateSet().totalDays());
+
+        for (int year = 1400; year < 1405; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int  expected = 0;
+                long first    = FastPersianCalendar.ofPersian(year, month, 1).toEpochDay() - FIRST_DAY;
+                for (int d = 0; d < FastPersianCalendar.getDaysInMonthStatic(year, month); d++) {
+                    if (days.get((int) first + d)) {
+                        expected |= 1 << d;
+                    }
+                }
+                assertEquals(expected, bitmap.getMonth(year, month), year + "/" + month);
+            }
+        }
+
+        //Bitmaps with the same days have the same containers
+        AvailabilityBitmap rebuilt = new AvailabilityBitmap();
+        for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+            rebuilt.set(FIRST_DAY + day);
+        }
+        assertEquals(rebuilt, bitmap);
+        assertEquals(rebuilt.hashCode(), bitmap.hashCode());
+    }
+
+    //Whole months, month runs and single days, set and cleared at random
+    private static AvailabilityBitmap randomBitmap(Random random, BitSet days) {
+        AvailabilityBitmap bitmap = new AvailabilityBitmap();
+        for (int i = 0; i < 40; i++) {
+            int     start = random.nextInt(SPAN);
+            int     end   = Math.min(SPAN - 1, start + random.nextInt(i % 3 == 0 ? 400 : 20));
+            boolean set   = random.nextInt(3) > 0;
+            if (set) {
+                bitmap.set(FIRST_DAY + start, FIRST_DAY + end);
+                days.set(start, end + 1);
+            } else {
+                bitmap.clear(FIRST_DAY + start, FIRST_DAY + end);
+                days.clear(start, end + 1);
+            }
+        }
+        return bitmap;
+    }
+
+    private static PersianDateRange scanRun(BitSet days, int from, int length) {
+        int run = 0;
+        for (int day = from; day < SPAN; day++) {
+            run = days.get(day) ? run + 1 : 0;
+            if (run == length) {
+                return PersianDateRange.of(FIRST_DAY + day - length + 1, FIRST_DAY + day);
+            }
+        }
+        return PersianDateRange.empty();
+    }
+}
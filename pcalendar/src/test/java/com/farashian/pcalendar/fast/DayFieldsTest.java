@@ -0,0 +1,105 @@
+package com.farashian.pcalendar.fast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.util.EpochDayConvertor.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayFieldsTest {
+
+    //1403/07/10 12:00 UTC
+    private static final long NOON = 19997 * MILLIS_PER_DAY + 12 * 3600000L;
+
+    @Test
+    void sameIdWithOtherRulesIsNeverShared() {
+        TimeZone tehran = TimeZone.getTimeZone("Asia/Tehran");
+        TimeZone custom = new SimpleTimeZone(14 * 3600000, "Asia/Tehran");
+        TimeZone moved  = TimeZone.getTimeZone("Asia/Tehran");
+        moved.setRawOffset(-10 * 3600000);
+
+        DayFields.clear();
+        DayFields cached = DayFields.of(NOON, tehran);
+        assertSame(cached, DayFields.of(NOON, tehran));
+        for (TimeZone zone : new TimeZone[]{custom, moved}) {
+            DayFields fields = DayFields.of(NOON, zone);
+            assertNotSame(cached, fields);
+            assertMatches(fields, NOON, zone);
+            //Not cached either, so the system zone keeps its entry
+            assertNotSame(fields, DayFields.of(NOON, zone));
+            assertSame(cached, DayFields.of(NOON, tehran));
+        }
+
+        //The other way round, an entry of the custom zone is never handed to the system zone
+        DayFields.clear();
+        assertMatches(DayFields.of(NOON, custom), NOON, custom);
+        assertMatches(DayFields.of(NOON, tehran), NOON, tehran);
+        assertEquals(2, DayFields.misses());
+
+        FastPersianCalendar calendar  = FastPersianCalendar.ofEpochMillis(NOON, custom);
+        GregorianCalendar   gregorian = new GregorianCalendar(custom);
+        gregorian.setTimeInMillis(NOON);
+        assertEquals(gregorian.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.HOUR_OF_DAY));
+        assertEquals(gregorian.get(Calendar.ZONE_OFFSET), calendar.get(Calendar.ZONE_OFFSET));
+    }
+
+    @Test
+    void otherIdsAreNeverShared() {
+        //Iran is an alias with the same rules as Asia/Tehran
+        String[] ids = {"Asia/Tehran", "Iran", "UTC", "GMT", "Etc/UTC", "America/New_York", "US/Eastern",
+                        "Asia/Kolkata", "Asia/Tokyo", "Europe/London", "Australia/Sydney"};
+        DayFields.clear();
+        for (int round = 0; round < 2; round++) {
+            for (String id : ids) {
+                TimeZone  zone   = TimeZone.getTimeZone(id);
+                DayFields fields = DayFields.of(NOON, zone);
+                assertEquals(id, fields.zoneId);
+                assertMatches(fields, NOON, zone);
+            }
+        }
+        assertEquals(ids.length, DayFields.misses());
+        assertEquals(ids.length, DayFields.hits());
+    }
+
+    @Test
+    void fieldsAreRightAfterEviction() {
+        TimeZone[] zones  = {TimeZone.getTimeZone("Asia/Tehran"), TimeZone.getTimeZone("America/New_York"),
+                             TimeZone.getTimeZone("UTC")};
+        Random     random = new Random(39);
+        DayFields.clear();
+        //Three zones over two years hold far more days than the 256 slots
+        for (int i = 0; i < 20000; i++) {
+            TimeZone zone   = zones[random.nextInt(zones.length)];
+            long     millis = NOON + (long) ((random.nextDouble() - 0.5) * 730 * MILLIS_PER_DAY);
+            assertMatches(DayFields.of(millis, zone), millis, zone);
+        }
+        assertTrue(DayFields.hits() > 0);
+        assertTrue(DayFields.misses() > 256);
+    }
+
+    private static void assertMatches(DayFields fields, long millis, TimeZone zone) {
+        int   offset   = zone.getOffset(millis);
+        long  epochDay = Math.floorDiv(millis + offset, MILLIS_PER_DAY);
+        int[] persian  = new int[3];
+        epochDayToPersian(epochDay, persian);
+        String label = zone.getID() + " " + millis;
+        assertEquals(epochDay, fields.epochDay, label);
+        assertEquals(persian[0], fields.year, label);
+        assertEquals(persian[1] - 1, fields.month, label);
+        assertEquals(persian[2], fields.day, label);
+        assertEquals(dayOfWeek(epochDay), fields.dayOfWeek, label);
+        assertEquals(Math.floorMod(millis + offset, MILLIS_PER_DAY), fields.millisOfDay(millis), label);
+        assertTrue(fields.startMillis <= millis && millis < fields.endMillis, label);
+
+        GregorianCalendar gregorian = new GregorianCalendar(zone);
+        gregorian.setTimeInMillis(millis);
+        long offsets = fields.zoneOffsets(millis, zone);
+        assertEquals(gregorian.get(Calendar.ZONE_OFFSET), (int) (offsets >> 32), label);
+        assertEquals(gregorian.get(Calendar.DST_OFFSET), (int) offsets, label);
+    }
+}
@@ -0,0 +1,125 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HolidayCalendar;
+import com.farashian.pcalendar.util.HolidayCalendar.WeekendPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastPersianCalendarBusinessDaysTest {
+
+    private static final long FIRST_DAY = FastPersianCalendar.ofPersian(1398, 1, 1).toEpochDay();
+    private static final int  SPAN      = 365 * 10;
+
+    @Test
+    void businessDaysBetweenMatchDayScan() {
+        HolidayCalendar thursdayFriday = HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY);
+        Random          random         = new Random(35);
+        for (int i = 0; i < 2000; i++) {
+            long day1 = FIRST_DAY + random.nextInt(SPAN);
+            long day2 = day1 + random.nextInt(801) - 400;
+            FastPersianCalendar date1 = FastPersianCalendar.ofEpochDay(day1);
+            FastPersianCalendar date2 = FastPersianCalendar.ofEpochDay(day2);
+
+            int expected = scanBusinessDays(HolidayCalendar.getDefault(), day1, day2);
+            assertEquals(expected, date1.calculateBusinessDaysBetween(date2));
+            assertEquals(expected, date2.calculateBusinessDaysBetween(date1));
+            assertEquals(expected, FastPersianCalendar.countBusinessDays(day1, day2));
+            assertEquals(expected, FastPersianCalendar.countBusinessDays(day2, day1));
+            assertEquals(scanBusinessDays(thursdayFriday, day1, day2),
+                         date1.calculateBusinessDaysBetween(date2, thursdayFriday));
+        }
+    }
+
+    @Test
+    void nonFridaysMatchDayScan() {
+        Random random = new Random(33);
+        for (int i = 0; i < 2000; i++) {
+            long day1     = FIRST_DAY + random.nextInt(SPAN);
+            long day2     = day1 + random.nextInt(801) - 400;
+            int  expected = 0;
+            for (long day = Math.min(day1, day2); day <= Math.max(day1, day2); day++) {
+                if (FastPersianCalendar.ofEpochDay(day).getDayOfWeek() != Calendar.FRIDAY) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, FastPersianCalendar.countNonFridays(day1, day2));
+        }
+    }
+
+    @Test
+    void bulkCountsMatchSingleCounts() {
+        Random                random = new Random(7);
+        long[]                starts = new long[100];
+        long[]                ends   = new long[100];
+        FastPersianCalendar[] from   = new FastPersianCalendar[100];
+        FastPersianCalendar[] to     = new FastPersianCalendar[100];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = FIRST_DAY + random.nextInt(SPAN);
+            ends[i]   = starts[i] + random.nextInt(801) - 400;
+            from[i]   = FastPersianCalendar.ofEpochDay(starts[i]);
+            to[i]     = FastPersianCalendar.ofEpochDay(ends[i]);
+        }
+
+        int[] business  = FastPersianCalendar.countBusinessDays(starts, ends);
+        int[] calendars = FastPersianCalendar.calculateBusinessDaysBetween(from, to);
+        int[] fridays   = FastPersianCalendar.countNonFridays(starts, ends);
+        for (int i = 0; i < starts.length; i++) {
+            assertEquals(FastPersianCalendar.countBusinessDays(starts[i], ends[i]), business[i]);
+            assertEquals(business[i], calendars[i]);
+            assertEquals(FastPersianCalendar.countNonFridays(starts[i], ends[i]), fridays[i]);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> FastPersianCalendar.countBusinessDays(starts, new long[1]));
+        assertThrows(IllegalArgumentException.class, () -> FastPersianCalendar.countNonFridays(null, ends));
+        assertThrows(IllegalArgumentException.class,
+                     () -> FastPersianCalendar.calculateBusinessDaysBetween(from, new FastPersianCalendar[1]));
+        assertThrows(IllegalArgumentException.class, () -> from[0].calculateBusinessDaysBetween(null));
+    }
+
+    @Test
+    void addBusinessDaysKeepsTimeOfDay() {
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        Random          random   = new Random(36);
+        for (int i = 0; i < 500; i++) {
+            long                day  = FIRST_DAY + 400 + random.nextInt(SPAN - 800);
+            int                 days = random.nextInt(401) - 200;
+            FastPersianCalendar date = FastPersianCalendar.ofEpochDay(day);
+            date.set(Calendar.HOUR_OF_DAY, 14);
+            date.set(Calendar.MINUTE, 25);
+
+            date.addBusinessDays(days);
+            assertEquals(holidays.addBusinessDays(day, days), date.toEpochDay());
+            assertEquals(14, date.getHourOfDay());
+            assertEquals(25, date.get(Calendar.MINUTE));
+        }
+    }
+
+    @Test
+    void nextAndPreviousBusinessDayReturnNewInstances() {
+        //Nowruz 1404: Esfand 30 1403 is a Thursday, Farvardin 1 to 4 are holidays
+        FastPersianCalendar nowruz = FastPersianCalendar.ofPersian(1404, 1, 1);
+        FastPersianCalendar next   = nowruz.nextBusinessDay();
+        FastPersianCalendar before = nowruz.previousBusinessDay();
+        assertEquals(FastPersianCalendar.ofPersian(1404, 1, 5).toEpochDay(), next.toEpochDay());
+        assertEquals(FastPersianCalendar.ofPersian(1403, 12, 30).toEpochDay(), before.toEpochDay());
+        assertEquals(FastPersianCalendar.ofPersian(1404, 1, 1).toEpochDay(), nowruz.toEpochDay());
+
+        HolidayCalendar thursdayFriday = HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY);
+        assertEquals(FastPersianCalendar.ofPersian(1403, 12, 28).toEpochDay(),
+                     nowruz.previousBusinessDay(thursdayFriday).toEpochDay());
+    }
+
+    private static int scanBusinessDays(HolidayCalendar holidays, long day1, long day2) {
+        int count = 0;
+        for (long day = Math.min(day1, day2); day <= Math.max(day1, day2); day++) {
+            if (!holidays.isHoliday(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
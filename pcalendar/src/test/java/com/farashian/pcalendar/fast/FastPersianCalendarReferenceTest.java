@@ -0,0 +1,408 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.PersianCalendar;
+import com.farashian.pcalendar.util.EpochDayConvertor;
+import com.farashian.pcalendar.util.HolidayCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static java.util.Calendar.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FastPersianCalendar against GregorianCalendar and java.time for the instants and wall times, and the
+ * GregorianCalendar-backed PersianCalendar for the Persian dates of local days
+ */
+class FastPersianCalendarReferenceTest {
+
+    //Tehran observed DST until 1401 (2022), New York moves its clocks at 02:00
+    private static final String[] ZONES          = {"Asia/Tehran", "America/New_York", "UTC"};
+    private static final long     MILLIS_PER_DAY = EpochDayConvertor.MILLIS_PER_DAY;
+    private static final int      FIRST_YEAR     = 1384;
+    private static final int      LAST_YEAR      = 1411;
+    private static final int      INSTANTS       = 300;
+
+    //Epoch day of the 1st of every month of FIRST_YEAR..LAST_YEAR, plus Farvardin 1 of the year after
+    private static final long[] MONTH_STARTS = new long[(LAST_YEAR - FIRST_YEAR + 1) * 12 + 1];
+
+    static {
+        PersianCalendar persian = new PersianCalendar(TimeZone.getTimeZone("UTC"));
+        long            day     = LocalDate.of(2005, 1, 1).toEpochDay();
+        for (int month = 0; month < MONTH_STARTS.length; day++) {
+            persian.setTimeInMillis(day * MILLIS_PER_DAY);
+            if (persian.getDayOfMonth() == 1 && persian.getYear() >= FIRST_YEAR) {
+                assertEquals(FIRST_YEAR * 12 + month, persian.getYear() * 12 + persian.getMonth() - 1);
+                MONTH_STARTS[month++] = day;
+            }
+        }
+    }
+
+    @Test
+    void fieldsMatchReference() {
+        for (String id : ZONES) {
+            TimeZone zone   = TimeZone.getTimeZone(id);
+            Random   random = new Random(id.hashCode());
+            for (long millis : instants(zone, random)) {
+                assertFields(FastPersianCalendar.ofEpochMillis(millis, zone), millis, zone, id);
+            }
+        }
+    }
+
+    @Test
+    void addAndRollMatchReference() {
+        for (String id : ZONES) {
+            TimeZone zone   = TimeZone.getTimeZone(id);
+            Random   random = new Random(id.hashCode() + 27);
+            for (long millis : instants(zone, random)) {
+                for (int field = 0; field < FIELD_COUNT; field++) {
+                    int    amount = amount(field, random);
+                    String label  = id + " field " + field + " by " + amount + " from " + millis;
+
+                    FastPersianCalendar added = FastPersianCalendar.ofEpochMillis(millis, zone);
+                    added.add(field, amount);
+                    assertFields(added, expectedAdd(millis, zone, field, amount), zone, "add " + label);
+
+                    FastPersianCalendar rolled = FastPersianCalendar.ofEpochMillis(millis, zone);
+                    rolled.roll(field, amount);
+                    assertFields(rolled, expectedRoll(millis, zone, field, amount), zone, "roll " + label);
+                }
+            }
+        }
+    }
+
+    @Test
+    void setBatchesMatchReference() {
+        int[] settable = {YEAR, MONTH, DAY_OF_MONTH, HOUR_OF_DAY, MINUTE, SECOND, MILLISECOND};
+        for (String id : ZONES) {
+            TimeZone zone   = TimeZone.getTimeZone(id);
+            Random   random = new Random(id.hashCode() + 33);
+            for (long millis : instants(zone, random)) {
+                FastPersianCalendar calendar = FastPersianCalendar.ofEpochMillis(millis, zone);
+                LocalDateTime       wall     = wallTime(millis, zone);
+                StringBuilder       label    = new StringBuilder(id + " from " + millis);
+                boolean             pending  = false;
+                for (int i = random.nextInt(5) + 1; i > 0; i--) {
+                    int field = settable[random.nextInt(settable.length)];
+                    if (field >= HOUR_OF_DAY && pending) {
+                        //set() on a time field resolves the pending fields first, like Calendar.complete()
+                        wall = wallTime(resolve(wall, zone), zone);
+                    }
+                    int[] date  = persianDate(wall.toLocalDate().toEpochDay());
+                    int   value = setValue(field, date, random);
+                    calendar.set(field, value);
+                    wall    = applySet(wall, field, value);
+                    pending = true;
+                    label.append(", set ").append(field).append('=').append(value);
+                }
+                assertFields(calendar, resolve(wall, zone), zone, label.toString());
+            }
+        }
+    }
+
+    @Test
+    void dayCountsMatchReference() {
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        for (String id : ZONES) {
+            TimeZone zone   = TimeZone.getTimeZone(id);
+            Random   random = new Random(id.hashCode() + 39);
+            for (long millis : instants(zone, random)) {
+                long                other  = millis + (long) ((random.nextDouble() - 0.5) * 800 * MILLIS_PER_DAY);
+                FastPersianCalendar date1  = FastPersianCalendar.ofEpochMillis(millis, zone);
+                FastPersianCalendar date2  = FastPersianCalendar.ofEpochMillis(other, zone);
+                LocalDateTime       wall1  = wallTime(millis, zone);
+                LocalDateTime       wall2  = wallTime(other, zone);
+                String              label  = id + " " + millis + " " + other;
+                assertEquals(ChronoUnit.DAYS.between(wall2, wall1), date1.daysBetween(date2), label);
+                assertEquals(ChronoUnit.DAYS.between(wall1, wall2), date2.daysBetween(date1), label);
+                assertEquals(ChronoUnit.DAYS.between(wall2.toLocalDate(), wall1.toLocalDate()),
+                             date1.calculateDaysBetween(date2), label);
+
+                LocalDate first    = wall1.isBefore(wall2) ? wall1.toLocalDate() : wall2.toLocalDate();
+                LocalDate last     = wall1.isBefore(wall2) ? wall2.toLocalDate() : wall1.toLocalDate();
+                int       business = 0;
+                int       fridays  = 0;
+                long[]    weekdays = new long[8];
+                for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                    DayOfWeek dayOfWeek = day.getDayOfWeek();
+                    weekdays[dayOfWeek.getValue() % 7 + SUNDAY]++;
+                    if (dayOfWeek == DayOfWeek.FRIDAY) {
+                        fridays++;
+                    } else if (!holidays.isOfficialHoliday(day.toEpochDay())) {
+                        business++;
+                    }
+                }
+                long days = last.toEpochDay() - first.toEpochDay() + 1;
+                assertEquals(business, date1.calculateBusinessDaysBetween(date2), label);
+                long day1 = date1.toEpochDay();
+                long day2 = date2.toEpochDay();
+                assertEquals(business, FastPersianCalendar.countBusinessDays(day2, day1), label);
+                assertEquals(days - fridays, FastPersianCalendar.countNonFridays(day1, day2), label);
+                for (int dayOfWeek = SUNDAY; dayOfWeek <= SATURDAY; dayOfWeek++) {
+                    assertEquals(weekdays[dayOfWeek], EpochDayConvertor.countDaysOfWeek(first.toEpochDay(),
+                                                                                         last.toEpochDay(), dayOfWeek));
+                }
+            }
+        }
+    }
+
+    //Every calendar field, the instant and the epoch day against GregorianCalendar and the Persian table
+    private static void assertFields(FastPersianCalendar calendar, long millis, TimeZone zone, String label) {
+        GregorianCalendar gregorian = new GregorianCalendar(zone);
+        gregorian.setTimeInMillis(millis);
+        long  epochDay   = wallTime(millis, zone).toLocalDate().toEpochDay();
+        int[] date       = persianDate(epochDay);
+        long  monthStart = monthStart(date[0], date[1]);
+        int   dayOfYear  = (int) (epochDay - monthStart(date[0], 1)) + 1;
+        int   dayOfWeek  = gregorian.get(DAY_OF_WEEK);
+        int   firstDay   = LocalDate.ofEpochDay(monthStart).getDayOfWeek().getValue() % 7 + SUNDAY;
+
+        int[] expected = new int[FIELD_COUNT];
+        expected[ERA]                  = GregorianCalendar.AD;
+        expected[YEAR]                 = date[0];
+        expected[MONTH]                = date[1] - 1;
+        expected[WEEK_OF_YEAR]         = (dayOfYear - 1 + (dayOfWeek - SATURDAY + 7) % 7) / 7 + 1;
+        expected[WEEK_OF_MONTH]        = (date[2] - 1 + (dayOfWeek - firstDay + 7) % 7) / 7 + 1;
+        expected[DAY_OF_MONTH]         = date[2];
+        expected[DAY_OF_YEAR]          = dayOfYear;
+        expected[DAY_OF_WEEK]          = dayOfWeek;
+        expected[DAY_OF_WEEK_IN_MONTH] = (date[2] - 1) / 7 + 1;
+        for (int field : new int[]{AM_PM, HOUR, HOUR_OF_DAY, MINUTE, SECOND, MILLISECOND, ZONE_OFFSET, DST_OFFSET}) {
+            expected[field] = gregorian.get(field);
+        }
+
+        assertEquals(millis, calendar.getTimeInMillis(), label);
+        assertEquals(epochDay, calendar.toEpochDay(), label);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            assertEquals(expected[field], calendar.get(field), label + ", get " + field);
+        }
+    }
+
+    private static long expectedAdd(long millis, TimeZone zone, int field, int amount) {
+        if (amount == 0) {
+            return millis;
+        }
+        LocalDateTime wall = wallTime(millis, zone);
+        int[]         date = persianDate(wall.toLocalDate().toEpochDay());
+        switch (field) {
+            case YEAR:
+                return resolve(withPersianDate(wall, date[0] + amount, date[1], date[2]), zone);
+            case MONTH:
+                int months = date[0] * 12 + date[1] - 1 + amount;
+                return resolve(withPersianDate(wall, months / 12, months % 12 + 1, date[2]), zone);
+            case DAY_OF_MONTH:
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+                return resolve(wall.plusDays(amount), zone);
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return resolve(wall.plusWeeks(amount), zone);
+            case AM_PM:
+                return resolve(wall.plusHours(12L * amount), zone);
+            case HOUR:
+            case HOUR_OF_DAY:
+            case MINUTE:
+            case SECOND:
+            case MILLISECOND:
+                GregorianCalendar gregorian = new GregorianCalendar(zone);
+                gregorian.setTimeInMillis(millis);
+                gregorian.add(field, amount);
+                return gregorian.getTimeInMillis();
+            default:
+                return millis;
+        }
+    }
+
+    private static long expectedRoll(long millis, TimeZone zone, int field, int amount) {
+        if (amount == 0) {
+            return millis;
+        }
+        LocalDateTime wall      = wallTime(millis, zone);
+        LocalTime     time      = wall.toLocalTime();
+        long          day       = wall.toLocalDate().toEpochDay();
+        int[]         date      = persianDate(day);
+        long          monthFrom = monthStart(date[0], date[1]);
+        long          monthTo   = monthStart(date[0], date[1] + 1) - 1;
+        long          yearFrom  = monthStart(date[0], 1);
+        long          yearTo    = monthStart(date[0] + 1, 1) - 1;
+        switch (field) {
+            case YEAR:
+            case MONTH:
+                return expectedAdd(millis, zone, field, amount);
+            case DAY_OF_MONTH:
+                return resolve(day(wrap(day, monthFrom, monthTo, amount), time), zone);
+            case DAY_OF_YEAR:
+                return resolve(day(wrap(day, yearFrom, yearTo, amount), time), zone);
+            case DAY_OF_WEEK:
+                //Saturday-first week
+                long saturday = day - (wall.getDayOfWeek().getValue() + 1) % 7;
+                return resolve(day(wrap(day, saturday, saturday + 6, amount), time), zone);
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return resolve(day(sameWeekday(day, monthFrom, monthTo, amount), time), zone);
+            case WEEK_OF_YEAR:
+                return resolve(day(sameWeekday(day, yearFrom, yearTo, amount), time), zone);
+            case AM_PM:
+                return resolve(day(day, time.plusHours(12L * amount)), zone);
+            case HOUR:
+                int hour = time.getHour();
+                return resolve(day(day, time.withHour(hour - hour % 12 + Math.floorMod(hour % 12 + amount, 12))), zone);
+            case HOUR_OF_DAY:
+                return resolve(day(day, time.plusHours(amount)), zone);
+            case MINUTE:
+                return resolve(day(day, time.withMinute(Math.floorMod(time.getMinute() + amount, 60))), zone);
+            case SECOND:
+                return resolve(day(day, time.withSecond(Math.floorMod(time.getSecond() + amount, 60))), zone);
+            case MILLISECOND:
+                int nanos = Math.floorMod(time.getNano() / 1000000 + amount, 1000) * 1000000;
+                return resolve(day(day, time.withNano(nanos)), zone);
+            default:
+                return millis;
+        }
+    }
+
+    //The day amount days away, wrapping inside [first, last]
+    private static long wrap(long day, long first, long last, int amount) {
+        return first + Math.floorMod(day - first + amount, last - first + 1);
+    }
+
+    //The day amount steps away among the days in [first, last] falling on the same weekday
+    private static long sameWeekday(long day, long first, long last, int amount) {
+        List<Long> days = new ArrayList<>();
+        for (long candidate = first; candidate <= last; candidate++) {
+            if ((candidate - day) % 7 == 0) {
+                days.add(candidate);
+            }
+        }
+        return days.get(Math.floorMod(days.indexOf(day) + amount, days.size()));
+    }
+
+    private static LocalDateTime applySet(LocalDateTime wall, int field, int value) {
+        int[] date = persianDate(wall.toLocalDate().toEpochDay());
+        switch (field) {
+            case YEAR:
+                return withPersianDate(wall, value, date[1], date[2]);
+            case MONTH:
+                return withPersianDate(wall, date[0], value + 1, date[2]);
+            case DAY_OF_MONTH:
+                return withPersianDate(wall, date[0], date[1], value);
+            case HOUR_OF_DAY:
+                return wall.withHour(value);
+            case MINUTE:
+                return wall.withMinute(value);
+            case SECOND:
+                return wall.withSecond(value);
+            default:
+                return wall.withNano(value * 1000000);
+        }
+    }
+
+    private static int setValue(int field, int[] date, Random random) {
+        switch (field) {
+            case YEAR:
+                return FIRST_YEAR + 2 + random.nextInt(LAST_YEAR - FIRST_YEAR - 3);
+            case MONTH:
+                return random.nextInt(12);
+            case DAY_OF_MONTH:
+                return 1 + random.nextInt((int) (monthStart(date[0], date[1] + 1) - monthStart(date[0], date[1])));
+            case HOUR_OF_DAY:
+                return random.nextInt(24);
+            case MINUTE:
+            case SECOND:
+                return random.nextInt(60);
+            default:
+                return random.nextInt(1000);
+        }
+    }
+
+    //Persian date of a wall time replaced, the day clamped to the month length
+    private static LocalDateTime withPersianDate(LocalDateTime wall, int year, int month, int day) {
+        long first  = monthStart(year, month);
+        int  length = (int) (monthStart(year, month + 1) - first);
+        return day(first + Math.min(day, length) - 1, wall.toLocalTime());
+    }
+
+    private static LocalDateTime day(long epochDay, LocalTime time) {
+        return LocalDate.ofEpochDay(epochDay).atTime(time);
+    }
+
+    private static LocalDateTime wallTime(long millis, TimeZone zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone.toZoneId());
+    }
+
+    //Wall time to an instant, skipped and repeated times resolved by GregorianCalendar
+    private static long resolve(LocalDateTime wall, TimeZone zone) {
+        GregorianCalendar gregorian = new GregorianCalendar(zone);
+        gregorian.clear();
+        gregorian.set(wall.getYear(), wall.getMonthValue() - 1, wall.getDayOfMonth(),
+                      wall.getHour(), wall.getMinute(), wall.getSecond());
+        gregorian.set(MILLISECOND, wall.getNano() / 1000000);
+        return gregorian.getTimeInMillis();
+    }
+
+    //1-based month, 13 is Farvardin of the next year
+    private static long monthStart(int year, int month) {
+        return MONTH_STARTS[(year - FIRST_YEAR) * 12 + month - 1];
+    }
+
+    private static int[] persianDate(long epochDay) {
+        //Months are at most 31 days long, so the estimate is never past the month
+        int index = (int) ((epochDay - MONTH_STARTS[0]) / 31);
+        while (MONTH_STARTS[index + 1] <= epochDay) {
+            index++;
+        }
+        return new int[]{FIRST_YEAR + index / 12, index % 12 + 1, (int) (epochDay - MONTH_STARTS[index]) + 1};
+    }
+
+    private static int amount(int field, Random random) {
+        switch (field) {
+            case YEAR:
+                return random.nextInt(5) - 2;
+            case MONTH:
+                return random.nextInt(51) - 25;
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return random.nextInt(121) - 60;
+            default:
+                return random.nextInt(1001) - 500;
+        }
+    }
+
+    //Random instants of 1386..1408, half of them within three hours of a DST transition
+    private static long[] instants(TimeZone zone, Random random) {
+        long       from        = monthStart(FIRST_YEAR + 2, 1) * MILLIS_PER_DAY;
+        long       to          = monthStart(LAST_YEAR - 2, 1) * MILLIS_PER_DAY;
+        List<Long> transitions = new ArrayList<>();
+        ZoneRules  rules       = zone.toZoneId().getRules();
+        for (ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(from));
+             transition != null && transition.toEpochSecond() * 1000 < to;
+             transition = rules.nextTransition(transition.getInstant())) {
+            transitions.add(transition.toEpochSecond() * 1000);
+        }
+
+        long[] instants = new long[INSTANTS];
+        for (int i = 0; i < instants.length; i++) {
+            if (i % 2 == 1 && !transitions.isEmpty()) {
+                long transition = transitions.get(random.nextInt(transitions.size()));
+                instants[i] = transition + (long) ((random.nextDouble() - 0.5) * 6 * 3600000);
+            } else {
+                instants[i] = from + (long) (random.nextDouble() * (to - from));
+            }
+        }
+        return instants;
+    }
+}
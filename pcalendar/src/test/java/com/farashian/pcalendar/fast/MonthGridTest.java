@@ -0,0 +1,118 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+import com.farashian.pcalendar.util.HolidayCalendar;
+import com.farashian.pcalendar.util.HolidayCalendar.WeekendPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.fast.MonthGrid.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthGridTest {
+
+    @Test
+    void cellsMatchCalendarDays() {
+        for (HolidayCalendar holidays : new HolidayCalendar[]{HolidayCalendar.getDefault(),
+                                                              HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY)}) {
+            MonthGridCache cache = new MonthGridCache(holidays, 12);
+            for (int year = 1398; year <= 1408; year++) {
+                for (int month = 1; month <= 12; month++) {
+                    assertMatchesCalendar(cache.get(year, month), holidays);
+                }
+            }
+        }
+    }
+
+    @Test
+    void todayIsFlaggedWhenRead() {
+        MonthGrid grid  = new MonthGridCache(HolidayCalendar.getDefault(), 1).get(1403, 7);
+        long      noon  = FastPersianCalendar.ofPersian(1403, 7, 10, 12, 0, 0, 0, TimeZone.getDefault())
+                                             .getTimeInMillis();
+        int       today = grid.cellOf(10);
+        try {
+            Today.setClock(Clock.fixed(Instant.ofEpochMilli(noon), ZoneOffset.UTC));
+            for (int cell = 0; cell < CELLS; cell++) {
+                assertEquals(cell == today, grid.isToday(cell), "cell " + cell);
+                assertEquals(cell == today, (grid.getFlags(cell) & TODAY) != 0, "cell " + cell);
+            }
+            Today.setClock(Clock.fixed(Instant.ofEpochMilli(noon + 24 * 60 * 60 * 1000L), ZoneOffset.UTC));
+            assertTrue(grid.isToday(today + 1));
+            assertFalse(grid.isToday(today));
+        } finally {
+            Today.setClock(Clock.systemUTC());
+        }
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsed() {
+        HolidayCalendar tenant = HolidayCalendar.getDefault().overlay();
+        MonthGridCache  cache  = new MonthGridCache(tenant, 2);
+        MonthGrid       mehr   = cache.get(1403, 7);
+        MonthGrid       aban   = cache.get(1403, 8);
+        assertSame(mehr, cache.get(FastPersianCalendar.ofPersian(1403, 7, 15)));
+        cache.get(1403, 9);
+        assertEquals(2, cache.size());
+        assertSame(mehr, cache.get(1403, 7));
+        assertNotSame(aban, cache.get(1403, 8));
+
+        //Grids are rebuilt once the holiday data changes
+        tenant.addClosure(mehr.getEpochDay(20));
+        assertNotSame(mehr, cache.get(1403, 7));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.prefetchAdjacent(1404, 1);
+        assertEquals(2, cache.size());
+        cache.prefetchAdjacent(1403, 12, Runnable::run);
+        assertSame(cache.get(1404, 1), cache.get(1404, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> new MonthGridCache(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> new MonthGridCache(tenant, 0));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1403, 13));
+        assertThrows(IllegalArgumentException.class, () -> mehr.getEpochDay(CELLS));
+        assertThrows(IllegalArgumentException.class, () -> mehr.cellOf(32));
+    }
+
+    private static void assertMatchesCalendar(MonthGrid grid, HolidayCalendar holidays) {
+        MonthInfo         month     = grid.getMonthInfo();
+        GregorianCalendar gregorian = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        int[]             hijri     = new int[3];
+        assertEquals(Calendar.SATURDAY, FastPersianCalendar.ofEpochDay(grid.getFirstCellEpochDay()).getDayOfWeek());
+        assertEquals(month.getWeekCount(), grid.getUsedRows());
+        for (int cell = 0; cell < CELLS; cell++) {
+            long                epochDay = grid.getEpochDay(cell);
+            FastPersianCalendar date     = FastPersianCalendar.ofEpochDay(epochDay);
+            String              label    = grid + " cell " + cell;
+            assertEquals(grid.getFirstCellEpochDay() + cell, epochDay, label);
+            assertEquals(date.getDayOfMonth(), grid.getPersianDay(cell), label);
+
+            gregorian.setTimeInMillis(epochDay * 24 * 60 * 60 * 1000L);
+            assertEquals(gregorian.get(Calendar.DAY_OF_MONTH), grid.getGregorianDay(cell), label);
+            assertEquals(gregorian.get(Calendar.MONTH) + 1, grid.getGregorianMonth(cell), label);
+            HijriConvertor.epochDayToHijri(epochDay, hijri);
+            assertEquals(hijri[2], grid.getHijriDay(cell), label);
+            assertEquals(hijri[1], grid.getHijriMonth(cell), label);
+
+            boolean inMonth = date.getYear() == grid.getYear() && date.getMonth() == grid.getMonth();
+            int     flags   = grid.getFlags(cell) & ~TODAY;
+            assertEquals(inMonth, grid.isInMonth(cell), label);
+            assertEquals(inMonth, (flags & IN_MONTH) != 0, label);
+            assertEquals(holidays.isWeekend(epochDay), (flags & WEEKEND) != 0, label);
+            assertEquals(holidays.isOfficialHoliday(epochDay), (flags & HOLIDAY) != 0, label);
+            assertEquals(holidays.isWeekend(epochDay) || holidays.isOfficialHoliday(epochDay), grid.isHoliday(cell));
+            assertEquals(grid.getGregorianDay(cell) == 1, (flags & GREGORIAN_MONTH_START) != 0, label);
+            assertEquals(hijri[2] == 1, (flags & HIJRI_MONTH_START) != 0, label);
+            if (inMonth) {
+                assertEquals(cell, grid.cellOf(date.getDayOfMonth()), label);
+                assertEquals(month.getRow(date.getDayOfMonth()), cell / COLUMNS, label);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.fast.PersianBuckets.Granularity;
+import com.farashian.pcalendar.fast.PersianBuckets.Totals;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianBucketsTest {
+
+    private static final String[] ZONES = {"Asia/Tehran", "UTC", "America/Los_Angeles"};
+
+    @Test
+    void bucketsMatchCalendarFields() {
+        Random random = new Random(49);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            long     from = FastPersianCalendar.ofPersian(1398, 11, 20, 15, 30, 0, 0, zone).getTimeInMillis();
+            long     to   = FastPersianCalendar.ofPersian(1403, 2, 3, 7, 0, 0, 0, zone).getTimeInMillis();
+            for (Granularity granularity : Granularity.values()) {
+                PersianBuckets buckets = PersianBuckets.of(granularity, zone, from, to);
+                String         label   = id + " " + granularity;
+                assertEquals(0, buckets.bucketOf(from), label);
+                assertEquals(buckets.bucketCount() - 1, buckets.bucketOf(to), label);
+
+                for (int bucket = 0; bucket < buckets.bucketCount(); bucket++) {
+                    long start = buckets.getStartMillis(bucket);
+                    long end   = buckets.getEndMillis(bucket);
+                    assertEquals(key(start, granularity, zone), key(end - 1, granularity, zone), label);
+                    assertNotEquals(key(start, granularity, zone), key(start - 1, granularity, zone), label);
+                    assertEquals(expectedLabel(start, granularity, zone), buckets.getLabel(bucket), label);
+                    assertEquals(localDay(start, zone), buckets.getRange(bucket).getFirstDay(), label);
+                    assertEquals(localDay(end - 1, zone), buckets.getRange(bucket).getLastDay(), label);
+                }
+
+                long first = buckets.getStartMillis(0);
+                long last  = buckets.getEndMillis(buckets.bucketCount() - 1);
+                for (int i = 0; i < 3000; i++) {
+                    long millis = first - 86400000L + (long) (random.nextDouble() * (last - first + 2 * 86400000L));
+                    int  bucket = buckets.bucketOf(millis);
+                    if (millis < first || millis >= last) {
+                        assertEquals(-1, bucket, label);
+                    } else {
+                        assertTrue(buckets.getStartMillis(bucket) <= millis && millis < buckets.getEndMillis(bucket));
+                        assertEquals(key(buckets.getStartMillis(bucket), granularity, zone),
+                                     key(millis, granularity, zone), label + " " + millis);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void aggregationMatchesSingleLookups() {
+        TimeZone            tehran = TimeZone.getTimeZone("Asia/Tehran");
+        FastPersianCalendar from   = FastPersianCalendar.ofPersian(1402, 1, 1, 0, 0, 0, 0, tehran);
+        FastPersianCalendar to     = FastPersianCalendar.ofPersian(1403, 12, 30, 23, 59, 59, 999, tehran);
+        long                span   = to.getTimeInMillis() - from.getTimeInMillis() + 2 * 86400000L;
+        Random              random = new Random(490);
+        for (Granularity granularity : Granularity.values()) {
+            PersianBuckets buckets = PersianBuckets.of(granularity, from, to);
+            long[]         millis  = new long[20000];
+            long[]         values  = new long[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                millis[i] = from.getTimeInMillis() - 86400000L + (long) (random.nextDouble() * span);
+                values[i] = random.nextInt(1000) - 100;
+            }
+            //Time-ordered input takes the hinted path, shuffled input the binary search
+            if (granularity.ordinal() % 2 == 0) {
+                Arrays.sort(millis);
+            }
+
+            long[] counts  = new long[buckets.bucketCount()];
+            long[] sums    = new long[buckets.bucketCount()];
+            long   outside = 0;
+            int[]  out     = new int[millis.length];
+            buckets.bucketsOf(millis, out);
+            for (int i = 0; i < millis.length; i++) {
+                int bucket = buckets.bucketOf(millis[i]);
+                assertEquals(bucket, out[i]);
+                if (bucket < 0) {
+                    outside++;
+                } else {
+                    counts[bucket]++;
+                    sums[bucket] += values[i];
+                }
+            }
+
+            Totals totals = buckets.aggregate(millis, values);
+            assertArrayEquals(counts, totals.getCounts(), granularity.name());
+            assertArrayEquals(sums, totals.getSums(), granularity.name());
+            assertEquals(outside, totals.getOutside());
+            assertArrayEquals(counts, buckets.aggregate(millis, null).getCounts());
+
+            Totals collected = IntStream.range(0, millis.length).boxed().parallel()
+                                        .collect(buckets.collector(i -> millis[i], i -> values[i]));
+            assertArrayEquals(sums, collected.getSums());
+            assertEquals(outside, collected.getOutside());
+            Totals counted = Arrays.stream(millis).boxed().collect(buckets.counting(Long::longValue));
+            assertArrayEquals(counts, counted.getCounts());
+            assertEquals(0, counted.getSum(0));
+        }
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        TimeZone       utc     = TimeZone.getTimeZone("UTC");
+        PersianBuckets buckets = PersianBuckets.of(Granularity.MONTH, utc, 0, 0);
+        assertEquals(1, buckets.bucketCount());
+        assertEquals("1348/10", buckets.getLabel(0));
+        assertThrows(IllegalArgumentException.class, () -> buckets.getLabel(1));
+        assertThrows(IllegalArgumentException.class, () -> buckets.getStartMillis(-1));
+        assertThrows(IllegalArgumentException.class, () -> buckets.bucketsOf(new long[2], new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> buckets.aggregate(new long[2], new long[1]));
+        assertThrows(IllegalArgumentException.class, () -> PersianBuckets.of(Granularity.DAY, utc, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> PersianBuckets.of(null, utc, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PersianBuckets.of(Granularity.DAY, null, 0, 1));
+    }
+
+    //Day, Saturday-first week, month, quarter or year holding an instant in a zone
+    private static long key(long millis, Granularity granularity, TimeZone zone) {
+        FastPersianCalendar date = FastPersianCalendar.ofEpochMillis(millis, zone);
+        switch (granularity) {
+            case DAY:
+                return localDay(millis, zone);
+            case WEEK:
+                return localDay(millis, zone) - date.getDayOfWeek() % 7;
+            case MONTH:
+                return date.getYear() * 12L + date.getMonth();
+            case QUARTER:
+                return date.getYear() * 4L + (date.getMonth() - 1) / 3;
+            default:
+                return date.getYear();
+        }
+    }
+
+    private static String expectedLabel(long millis, Granularity granularity, TimeZone zone) {
+        FastPersianCalendar date = FastPersianCalendar.ofEpochMillis(millis, zone);
+        switch (granularity) {
+            case YEAR:
+                return String.valueOf(date.getYear());
+            case QUARTER:
+                return date.getYear() + "-Q" + ((date.getMonth() - 1) / 3 + 1);
+            case MONTH:
+                return String.format(Locale.US, "%04d/%02d", date.getYear(), date.getMonth());
+            default:
+                return String.format(Locale.US, "%04d/%02d/%02d",
+                                     date.getYear(), date.getMonth(), date.getDayOfMonth());
+        }
+    }
+
+    private static long localDay(long millis, TimeZone zone) {
+        FastPersianCalendar date = FastPersianCalendar.ofEpochMillis(millis, zone);
+        return FastPersianCalendar.ofPersian(date.getYear(), date.getMonth(), date.getDayOfMonth()).toEpochDay();
+    }
+}
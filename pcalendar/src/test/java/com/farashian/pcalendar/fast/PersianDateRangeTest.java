@@ -0,0 +1,135 @@
+package com.farashian.pcalendar.fast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianDateRangeTest {
+
+    private static final long FIRST_DAY = FastPersianCalendar.ofPersian(1400, 1, 1).toEpochDay();
+
+    @Test
+    void persianPeriods() {
+        assertEquals(366, PersianDateRange.ofPersianYear(1403).length());
+        assertEquals(365, PersianDateRange.ofPersianYear(1404).length());
+        assertEquals(30, PersianDateRange.ofPersianMonth(1403, 12).length());
+        assertEquals(29, PersianDateRange.ofPersianMonth(1404, 12).length());
+        assertEquals(93, PersianDateRange.ofPersianQuarter(1403, 1).length());
+        assertEquals(89, PersianDateRange.ofPersianQuarter(1404, 4).length());
+        assertEquals("[1403/01/01..1403/12/30]", PersianDateRange.ofPersianYear(1403).toString());
+        assertEquals(PersianDateRange.ofPersianYear(1404).getFirstDay(),
+                     PersianDateRange.ofPersianMonth(1403, 12).getLastDay() + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> PersianDateRange.ofPersianMonth(1403, 13));
+        assertThrows(IllegalArgumentException.class, () -> PersianDateRange.ofPersianQuarter(1403, 0));
+        assertThrows(IllegalArgumentException.class, () -> PersianDateRange.of(10, 9));
+        assertThrows(IllegalArgumentException.class, () -> PersianDateRange.of(null, FastPersianCalendar.ofEpochDay(0)));
+    }
+
+    @Test
+    void setOperationsMatchDayScan() {
+        Random random = new Random(41);
+        for (int i = 0; i < 2000; i++) {
+            PersianDateRange a = randomRange(random);
+            PersianDateRange b = randomRange(random);
+
+            long both = 0;
+            for (long day = a.getFirstDay(); day <= a.getLastDay(); day++) {
+                if (b.contains(day)) {
+                    both++;
+                }
+            }
+            PersianDateRange intersection = a.intersect(b);
+            assertEquals(both, a.overlapDays(b));
+            assertEquals(both, intersection.length());
+            assertEquals(both > 0, a.overlaps(b));
+            assertEquals(both == b.length(), a.contains(b));
+            assertEquals(intersection, b.intersect(a));
+            if (both > 0) {
+                assertTrue(a.contains(intersection) && b.contains(intersection));
+            } else {
+                assertSame(PersianDateRange.empty(), intersection);
+            }
+        }
+        assertTrue(PersianDateRange.of(5, 9).contains(PersianDateRange.empty()));
+        assertEquals(0, PersianDateRange.empty().length());
+        assertEquals("[]", PersianDateRange.empty().toString());
+    }
+
+    @Test
+    void slicesCoverTheRangeInOrder() {
+        Random random = new Random(410);
+        for (int i = 0; i < 200; i++) {
+            PersianDateRange range = randomRange(random);
+            checkSlices(range, range.months(), Slice.MONTH);
+            checkSlices(range, range.quarters(), Slice.QUARTER);
+            checkSlices(range, range.weeks(), Slice.WEEK);
+        }
+        assertEquals(12, PersianDateRange.ofPersianYear(1403).months().size());
+        assertEquals(4, PersianDateRange.ofPersianYear(1403).quarters().size());
+    }
+
+    @Test
+    void streamsVisitEveryDayOnce() {
+        PersianDateRange range = PersianDateRange.of(FIRST_DAY, FIRST_DAY + 3650);
+        long             sum   = (range.getFirstDay() + range.getLastDay()) * range.length() / 2;
+        assertEquals(sum, range.epochDays().sum());
+        assertEquals(sum, range.epochDays().parallel().sum());
+        assertEquals(range.length(), range.epochDays().parallel().distinct().count());
+
+        Spliterator.OfLong whole = range.spliterator();
+        assertTrue(whole.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        assertEquals(range.length(), whole.estimateSize());
+        Spliterator.OfLong first = whole.trySplit();
+        assertNotNull(first);
+        assertEquals(range.length(), first.estimateSize() + whole.estimateSize());
+
+        TimeZone                  tehran = TimeZone.getTimeZone("Asia/Tehran");
+        List<FastPersianCalendar> days   = PersianDateRange.ofPersianMonth(1403, 12).stream(tehran)
+                                                           .collect(Collectors.toList());
+        assertEquals(30, days.size());
+        assertEquals(30, days.get(29).getDayOfMonth());
+        assertEquals(0, days.get(0).get(Calendar.HOUR_OF_DAY));
+        assertEquals(tehran.getID(), days.get(0).getTimeZone().getID());
+    }
+
+    private enum Slice { MONTH, QUARTER, WEEK }
+
+    private static void checkSlices(PersianDateRange range, List<PersianDateRange> slices, Slice slice) {
+        long next = range.getFirstDay();
+        for (PersianDateRange part : slices) {
+            assertEquals(next, part.getFirstDay());
+            assertEquals(key(part.getFirstDay(), slice), key(part.getLastDay(), slice));
+            next = part.getLastDay() + 1;
+        }
+        assertEquals(range.getLastDay() + 1, next);
+        for (int i = 1; i < slices.size(); i++) {
+            assertNotEquals(key(slices.get(i - 1).getLastDay(), slice), key(slices.get(i).getFirstDay(), slice));
+        }
+    }
+
+    //Month, quarter or Saturday-first week holding a day
+    private static long key(long epochDay, Slice slice) {
+        FastPersianCalendar date = FastPersianCalendar.ofEpochDay(epochDay);
+        switch (slice) {
+            case MONTH:
+                return date.getYear() * 12L + date.getMonth();
+            case QUARTER:
+                return date.getYear() * 4L + (date.getMonth() - 1) / 3;
+            default:
+                return epochDay - (date.getDayOfWeek() % 7);
+        }
+    }
+
+    private static PersianDateRange randomRange(Random random) {
+        long first = FIRST_DAY + random.nextInt(2000);
+        return PersianDateRange.of(first, first + random.nextInt(400));
+    }
+}
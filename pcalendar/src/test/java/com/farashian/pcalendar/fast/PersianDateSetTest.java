@@ -0,0 +1,119 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HolidayCalendar;
+import com.farashian.pcalendar.util.HolidayCalendar.WeekendPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianDateSetTest {
+
+    private static final long FIRST_DAY = FastPersianCalendar.ofPersian(1400, 1, 1).toEpochDay();
+    private static final int  SPAN      = 2000;
+
+    @Test
+    void setsMatchBitSets() {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            BitSet         aDays = new BitSet();
+            BitSet         bDays = new BitSet();
+            PersianDateSet a     = randomSet(random, aDays);
+            PersianDateSet b     = randomSet(random, bDays);
+            assertMatches(aDays, a);
+
+            BitSet union = (BitSet) aDays.clone();
+            union.or(bDays);
+            assertMatches(union, a.union(b));
+
+            BitSet intersection = (BitSet) aDays.clone();
+            intersection.and(bDays);
+            assertMatches(intersection, a.intersect(b));
+
+            BitSet difference = (BitSet) aDays.clone();
+            difference.andNot(bDays);
+            assertMatches(difference, a.difference(b));
+
+            assertEquals(a.union(b), b.union(a));
+            assertEquals(a.intersect(b), b.intersect(a));
+        }
+    }
+
+    @Test
+    void businessDaysMatchDayScan() {
+        HolidayCalendar thursdayFriday = HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY);
+        Random          random         = new Random(420);
+        for (int i = 0; i < 100; i++) {
+            BitSet         days             = new BitSet();
+            PersianDateSet set              = randomSet(random, days);
+            long           expected         = 0;
+            long           expectedThursday = 0;
+            for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+                expected         += HolidayCalendar.getDefault().isBusinessDay(FIRST_DAY + day) ? 1 : 0;
+                expectedThursday += thursdayFriday.isBusinessDay(FIRST_DAY + day) ? 1 : 0;
+            }
+            assertEquals(expected, set.businessDays());
+            assertEquals(expectedThursday, set.businessDays(thursdayFriday));
+        }
+    }
+
+    @Test
+    void builderCoalescesInAnyOrder() {
+        PersianDateSet set = PersianDateSet.builder()
+                                           .add(FIRST_DAY + 20, FIRST_DAY + 29)
+                                           .add(FIRST_DAY, FIRST_DAY + 9)
+                                           .add(FIRST_DAY + 10, FIRST_DAY + 12)
+                                           .add(FIRST_DAY + 25, FIRST_DAY + 40)
+                                           .add(PersianDateRange.empty())
+                                           .build();
+        assertEquals(2, set.intervalCount());
+        assertEquals(PersianDateRange.of(FIRST_DAY, FIRST_DAY + 12), set.interval(0));
+        assertEquals(PersianDateRange.of(FIRST_DAY + 20, FIRST_DAY + 40), set.interval(1));
+        assertEquals(34, set.totalDays());
+
+        //The builder keeps collecting after build
+        PersianDateSet.Builder builder = PersianDateSet.builder().add(FIRST_DAY, FIRST_DAY);
+        PersianDateSet         first   = builder.build();
+        PersianDateSet         second  = builder.add(FIRST_DAY + 1, FIRST_DAY + 1).build();
+        assertEquals(1, first.totalDays());
+        assertEquals(2, second.totalDays());
+        assertEquals(1, second.intervalCount());
+
+        assertSame(PersianDateSet.empty(), PersianDateSet.builder().build());
+        assertSame(PersianDateSet.empty(), PersianDateSet.of(PersianDateRange.empty()));
+        assertThrows(IllegalArgumentException.class, () -> PersianDateSet.builder().add(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> PersianDateSet.of(new long[2], new long[1]));
+    }
+
+    private static void assertMatches(BitSet days, PersianDateSet set) {
+        for (int day = -1; day <= SPAN + 10; day++) {
+            assertEquals(day >= 0 && days.get(day), set.contains(FIRST_DAY + day), "day " + day);
+        }
+        assertEquals(days.cardinality(), set.totalDays());
+
+        //Intervals are sorted, disjoint and never adjacent
+        long previous = Long.MIN_VALUE;
+        for (PersianDateRange interval : set.intervals()) {
+            assertTrue(interval.getFirstDay() > previous + 1);
+            previous = interval.getLastDay();
+        }
+        assertEquals(set.intervals().size(), set.intervalCount());
+        assertEquals(days.isEmpty(), set.isEmpty());
+    }
+
+    private static PersianDateSet randomSet(Random random, BitSet days) {
+        int    count = random.nextInt(30);
+        long[] first = new long[count];
+        long[] last  = new long[count];
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(SPAN);
+            int end   = Math.min(SPAN - 1, start + random.nextInt(60));
+            first[i] = FIRST_DAY + start;
+            last[i]  = FIRST_DAY + end;
+            days.set(start, end + 1);
+        }
+        return PersianDateSet.of(first, last);
+    }
+}
@@ -0,0 +1,121 @@
+package com.farashian.pcalendar.fast;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianDateSnapshotTest {
+
+    private static final TimeZone TEHRAN  = TimeZone.getTimeZone("Asia/Tehran");
+    private static final Locale   FARSI   = new Locale("fa");
+    private static final int      READERS = 4;
+    private static final int      WRITES  = 20_000;
+
+    @Test
+    void snapshotMatchesCalendar() {
+        FastPersianCalendar calendar = FastPersianCalendar.ofPersian(1403, 12, 30, 23, 59, 59, 999, TEHRAN);
+        assertMatches(calendar.snapshot(), calendar);
+    }
+
+    @Test
+    void snapshotIgnoresLaterChanges() {
+        FastPersianCalendar calendar = new FastPersianCalendar(TEHRAN, FARSI);
+        calendar.setDate(1403, 1, 1);
+        PersianDateSnapshot snapshot = calendar.snapshot();
+
+        calendar.add(Calendar.DAY_OF_MONTH, 40);
+        assertEquals(1403, snapshot.getYear());
+        assertEquals(1, snapshot.getMonth());
+        assertEquals(1, snapshot.getDayOfMonth());
+        assertNotEquals(calendar.toEpochDay(), snapshot.toEpochDay());
+    }
+
+    //One writer publishes snapshots through a volatile field and a map, readers check every field
+    //against a private calendar
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void concurrentReadersSeeConsistentSnapshots() throws Exception {
+        FastPersianCalendar shared = new FastPersianCalendar(TEHRAN, FARSI);
+        Published           state  = new Published(shared.snapshot());
+        AtomicLong          checks = new AtomicLong();
+
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        try {
+            Future<?>[] results = new Future<?>[READERS];
+            for (int i = 0; i < READERS; i++) {
+                results[i] = readers.submit(() -> read(state, checks));
+            }
+
+            Random random = new Random(42);
+            for (int i = 0; i < WRITES; i++) {
+                shared.setTimeInMillis(random.nextLong() % 4000000000000L);
+                shared.add(Calendar.DAY_OF_MONTH, random.nextInt(100) - 50);
+                shared.add(Calendar.MINUTE, random.nextInt(10000));
+                PersianDateSnapshot snapshot = shared.snapshot();
+                state.latest = snapshot;
+                state.cache.put(random.nextInt(64), snapshot);
+            }
+            state.running = false;
+
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertTrue(checks.get() > 0, "readers checked no snapshots");
+    }
+
+    private static void read(Published state, AtomicLong checks) {
+        FastPersianCalendar expected = new FastPersianCalendar(TEHRAN, FARSI);
+        Random              random   = new Random();
+        while (state.running) {
+            PersianDateSnapshot snapshot = random.nextBoolean() ? state.latest : state.cache.get(random.nextInt(64));
+            if (snapshot == null) {
+                continue;
+            }
+            expected.setTimeInMillis(snapshot.getTimeInMillis());
+            assertMatches(snapshot, expected);
+            checks.incrementAndGet();
+        }
+    }
+
+    private static void assertMatches(PersianDateSnapshot snapshot, FastPersianCalendar expected) {
+        for (int field = 0; field < Calendar.FIELD_COUNT; field++) {
+            assertEquals(expected.get(field), snapshot.get(field), "field " + field);
+        }
+        assertEquals(expected.toEpochDay(), snapshot.toEpochDay());
+        assertEquals(expected.getGrgYear(), snapshot.getGrgYear());
+        assertEquals(expected.getGrgMonth(), snapshot.getGrgMonth());
+        assertEquals(expected.getGrgDay(), snapshot.getGrgDay());
+        assertEquals(expected.getDaysInMonth(), snapshot.getDaysInMonth());
+        assertEquals(expected.getMonthName(), snapshot.getMonthName());
+        assertEquals(expected.getWeekdayName(), snapshot.getWeekdayName());
+        assertEquals(expected.getLongDate(), snapshot.getLongDate());
+        assertEquals(expected.getLongDateTime(), snapshot.getLongDateTime());
+        assertEquals(expected.getShortDate(), snapshot.getShortDate());
+    }
+
+    private static final class Published {
+        final ConcurrentHashMap<Integer, PersianDateSnapshot> cache = new ConcurrentHashMap<>();
+
+        volatile PersianDateSnapshot latest;
+        volatile boolean             running = true;
+
+        Published(PersianDateSnapshot latest) {
+            this.latest = latest;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.PrimitiveIterator;
+import java.util.TimeZone;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianRecurrenceTest {
+
+    private static final long FIRST_DAY = FastPersianCalendar.ofPersian(1395, 1, 1).toEpochDay();
+    private static final int  SPAN      = 15 * 365;
+
+    @Test
+    void monthlyOnDayMatchesDayScan() {
+        for (int day : new int[]{1, 15, 29, 30, 31, -1, -2, -29, -30, -31}) {
+            assertMatchesScan(PersianRecurrence.monthlyOnDay(day), d -> dayOfMonthMatches(d, day));
+        }
+    }
+
+    @Test
+    void monthlyOnWeekdayMatchesDayScan() {
+        for (int ordinal : new int[]{1, 2, 4, 5, -1, -2, -5}) {
+            for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek += 3) {
+                int weekday = dayOfWeek;
+                assertMatchesScan(PersianRecurrence.monthlyOnWeekday(ordinal, weekday), d -> {
+                    FastPersianCalendar date = FastPersianCalendar.ofEpochDay(d);
+                    int                 day  = date.getDayOfMonth();
+                    int                 nth  = ordinal > 0 ? (day - 1) / 7 + 1
+                                                           : -((date.getDaysInMonth() - day) / 7 + 1);
+                    return date.getDayOfWeek() == weekday && nth == ordinal;
+                });
+            }
+        }
+    }
+
+    @Test
+    void yearlyOnPersianMatchesDayScan() {
+        //Esfand 30 only exists in leap years
+        int[][] dates = {{1, 1}, {6, 31}, {7, 30}, {12, 29}, {12, 30}, {12, -1}, {1, -31}};
+        for (int[] date : dates) {
+            assertMatchesScan(PersianRecurrence.yearlyOnPersian(date[0], date[1]),
+                              d -> FastPersianCalendar.ofEpochDay(d).getMonth() == date[0]
+                                   && dayOfMonthMatches(d, date[1]));
+        }
+        PersianRecurrence esfand30 = PersianRecurrence.yearlyOnPersian(12, 30);
+        assertEquals(FastPersianCalendar.ofPersian(1403, 12, 30).toEpochDay(),
+                     esfand30.nextAfter(FastPersianCalendar.ofPersian(1399, 12, 30).toEpochDay()));
+    }
+
+    @Test
+    void yearlyOnHijriMatchesDayScan() {
+        int[][] dates = {{1, 10}, {8, 15}, {9, 30}, {2, -1}, {12, 10}};
+        int[]   hijri = new int[3];
+        for (int[] date : dates) {
+            assertMatchesScan(PersianRecurrence.yearlyOnHijri(date[0], date[1]), d -> {
+                HijriConvertor.epochDayToHijri(d, hijri);
+                int length = HijriConvertor.getMonthLength(hijri[0], hijri[1]);
+                int day    = date[1] > 0 ? date[1] : length + date[1] + 1;
+                return hijri[1] == date[0] && hijri[2] == day;
+            });
+        }
+    }
+
+    @Test
+    void weeklyMatchesDayScan() {
+        for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek++) {
+            int weekday = dayOfWeek;
+            assertMatchesScan(PersianRecurrence.weekly(weekday),
+                              d -> FastPersianCalendar.ofEpochDay(d).getDayOfWeek() == weekday);
+        }
+    }
+
+    @Test
+    void iterationAndCalendars() {
+        PersianRecurrence lastThursday = PersianRecurrence.monthlyOnWeekday(-1, Calendar.THURSDAY);
+        long              from         = FastPersianCalendar.ofPersian(1403, 1, 1).toEpochDay();
+
+        long[] year = lastThursday.between(PersianDateRange.ofPersianYear(1403)).toArray();
+        assertEquals(12, year.length);
+        assertArrayEquals(year, lastThursday.epochDays(from).limit(12).toArray());
+
+        PrimitiveIterator.OfLong iterator = lastThursday.iterator(from);
+        for (long day : year) {
+            assertEquals(day, iterator.nextLong());
+        }
+
+        TimeZone            tehran = TimeZone.getTimeZone("Asia/Tehran");
+        FastPersianCalendar start  = FastPersianCalendar.ofPersian(1403, 1, 1, 10, 0, 0, 0, tehran);
+        FastPersianCalendar next   = lastThursday.nextAfter(start);
+        assertEquals(year[0], next.toEpochDay());
+        assertEquals(0, next.get(Calendar.HOUR_OF_DAY));
+        assertEquals(tehran.getID(), next.getTimeZone().getID());
+        assertTrue(lastThursday.matches(next));
+        assertEquals(LongStream.of(year).boxed().collect(Collectors.toList()),
+                     lastThursday.stream(start).limit(12).map(FastPersianCalendar::toEpochDay)
+                                 .collect(Collectors.toList()));
+
+        assertEquals(0, lastThursday.between(PersianDateRange.empty()).count());
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.monthlyOnDay(0));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.monthlyOnDay(32));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.monthlyOnWeekday(0, Calendar.MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.monthlyOnWeekday(6, Calendar.MONDAY));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.weekly(8));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.yearlyOnPersian(7, 31));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.yearlyOnPersian(13, 1));
+        assertThrows(IllegalArgumentException.class, () -> PersianRecurrence.yearlyOnHijri(9, 31));
+    }
+
+    //nextAfter, nextOnOrAfter and matches against the first matching day found by stepping
+    private static void assertMatchesScan(PersianRecurrence rule, LongPredicate predicate) {
+        long next = Long.MAX_VALUE;
+        for (long day = FIRST_DAY + SPAN; day >= FIRST_DAY; day--) {
+            boolean match = predicate.test(day);
+            assertEquals(match, rule.matches(day), rule + " on " + day);
+            if (next != Long.MAX_VALUE) {
+                assertEquals(next, rule.nextAfter(day), rule + " after " + day);
+            }
+            if (match) {
+                next = day;
+            }
+            if (next != Long.MAX_VALUE) {
+                assertEquals(next, rule.nextOnOrAfter(day), rule + " on or after " + day);
+            }
+        }
+        assertEquals(rule.between(FIRST_DAY, FIRST_DAY + SPAN).count(),
+                     LongStream.rangeClosed(FIRST_DAY, FIRST_DAY + SPAN).filter(predicate).count());
+    }
+
+    private static boolean dayOfMonthMatches(long epochDay, int day) {
+        FastPersianCalendar date = FastPersianCalendar.ofEpochDay(epochDay);
+        return date.getDayOfMonth() == (day > 0 ? day : date.getDaysInMonth() + day + 1);
+    }
+}
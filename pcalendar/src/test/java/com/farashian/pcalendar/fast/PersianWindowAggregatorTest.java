@@ -0,0 +1,162 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.fast.PersianBuckets.Granularity;
+import com.farashian.pcalendar.fast.PersianWindowAggregator.Window;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianWindowAggregatorTest {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    @Test
+    void windowsMatchBucketTotals() {
+        Random random = new Random(50);
+        for (String id : new String[]{"Asia/Tehran", "America/Los_Angeles"}) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (Granularity granularity : Granularity.values()) {
+                for (int periods : new int[]{1, 3, 7}) {
+                    check(granularity, periods, zone, random);
+                }
+            }
+        }
+    }
+
+    @Test
+    void openWindowAndValidation() {
+        TimeZone                utc        = TimeZone.getTimeZone("UTC");
+        List<Window>            windows    = new ArrayList<>();
+        PersianWindowAggregator aggregator = PersianWindowAggregator.tumbling(Granularity.MONTH, utc, windows::add);
+        assertNull(aggregator.getOpenWindow());
+        aggregator.advanceTo(Long.MAX_VALUE);
+        assertTrue(windows.isEmpty());
+
+        long mehr = FastPersianCalendar.ofPersian(1403, 7, 1, 0, 0, 0, 0, utc).getTimeInMillis();
+        long aban = FastPersianCalendar.ofPersian(1403, 8, 1, 0, 0, 0, 0, utc).getTimeInMillis();
+        aggregator.add(mehr + 5, 10);
+        aggregator.add(mehr, -3);
+        Window open = aggregator.getOpenWindow();
+        assertEquals("1403/07", open.getLabel());
+        assertEquals(2, open.getCount());
+        assertEquals(-3, open.getMin());
+        assertEquals(10, open.getMax());
+        assertEquals(mehr, open.getStartMillis());
+        assertEquals(aban, open.getEndMillis());
+        assertEquals(PersianDateRange.ofPersianMonth(1403, 7), open.getRange());
+
+        //The boundary instant belongs to the next period, and older events are late from then on
+        aggregator.add(aban, 1);
+        assertEquals(1, windows.size());
+        assertEquals(7, windows.get(0).getSum());
+        aggregator.add(aban - 1, 100);
+        assertEquals(1, aggregator.getLateCount());
+        aggregator.advanceTo(aban + 60 * MILLIS_PER_DAY);
+        assertEquals(3, windows.size());
+        assertTrue(windows.get(2).isEmpty());
+        assertEquals(Long.MAX_VALUE, windows.get(2).getMin());
+        assertEquals(Long.MIN_VALUE, windows.get(2).getMax());
+        assertEquals("1403/09 count=0 sum=0", windows.get(2).toString());
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> PersianWindowAggregator.sliding(Granularity.DAY, 0, utc, window -> { }));
+        assertThrows(IllegalArgumentException.class,
+                     () -> PersianWindowAggregator.tumbling(null, utc, window -> { }));
+        assertThrows(IllegalArgumentException.class,
+                     () -> PersianWindowAggregator.tumbling(Granularity.DAY, utc, null));
+    }
+
+    //Feeds a random ordered stream with late events and compares every window with PersianBuckets
+    private static void check(Granularity granularity, int periods, TimeZone zone, Random random) {
+        long           first   = FastPersianCalendar.ofPersian(1398, 6, 1, 0, 0, 0, 0, zone).getTimeInMillis()
+                                 + random.nextInt(30) * MILLIS_PER_DAY + random.nextInt((int) MILLIS_PER_DAY);
+        long           end     = first + 4 * 365 * MILLIS_PER_DAY;
+        //Buckets reach past both ends of the stream, for the empty periods of the first and last windows
+        PersianBuckets buckets = PersianBuckets.of(granularity, zone, first - 10 * 366 * MILLIS_PER_DAY,
+                                                   end + 2 * 366 * MILLIS_PER_DAY);
+        int            count   = buckets.bucketCount();
+        long[]         counts  = new long[count];
+        long[]         sums    = new long[count];
+        long[]         mins    = new long[count];
+        long[]         maxs    = new long[count];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+
+        List<Window>            windows     = new ArrayList<>();
+        PersianWindowAggregator aggregator  = PersianWindowAggregator.sliding(granularity, periods, zone, windows::add);
+        long                    late        = 0;
+        int                     firstBucket = -1;
+        int                     current     = buckets.bucketOf(first);
+        long                    millis      = first;
+        long                    scale       = granularity == Granularity.DAY ? MILLIS_PER_DAY / 4 : 3 * MILLIS_PER_DAY;
+        while (millis < end) {
+            long time = millis;
+            if (random.nextInt(10) == 0) {
+                //Out of order, within the current period or late
+                time = millis - (long) (random.nextDouble() * 2 * scale);
+            } else if (random.nextInt(50) == 0) {
+                millis = buckets.getStartMillis(Math.min(count - 1, current + 1 + random.nextInt(3)));
+                time   = millis;
+            } else {
+                millis += (long) (random.nextDouble() * scale);
+                time    = millis;
+            }
+            if (time >= end) {
+                break;
+            }
+            long value  = random.nextInt(2000) - 1000;
+            int  bucket = buckets.bucketOf(time);
+            aggregator.add(time, value);
+            if (firstBucket < 0) {
+                firstBucket = bucket;
+            } else if (bucket < current) {
+                late++;
+                continue;
+            }
+            current = bucket;
+            counts[bucket]++;
+            sums[bucket] += value;
+            mins[bucket] = Math.min(mins[bucket], value);
+            maxs[bucket] = Math.max(maxs[bucket], value);
+        }
+        String label = zone.getID() + " " + granularity + " x" + periods;
+        assertEquals(late, aggregator.getLateCount(), label);
+        assertEquals(current - firstBucket, windows.size(), label);
+
+        //Closing the last period and one more adds two windows, the last one empty when periods is 1
+        aggregator.advanceTo(buckets.getEndMillis(current + 1));
+        assertEquals(current - firstBucket + 2, windows.size(), label);
+        for (int i = 0; i < windows.size(); i++) {
+            int    last   = firstBucket + i;
+            int    oldest = last - periods + 1;
+            Window window = windows.get(i);
+            long   sum    = 0;
+            long   total  = 0;
+            long   min    = Long.MAX_VALUE;
+            long   max    = Long.MIN_VALUE;
+            for (int bucket = oldest; bucket <= last; bucket++) {
+                total += counts[bucket];
+                sum   += sums[bucket];
+                min    = Math.min(min, mins[bucket]);
+                max    = Math.max(max, maxs[bucket]);
+            }
+            String at = label + " window " + i;
+            assertEquals(total, window.getCount(), at);
+            assertEquals(sum, window.getSum(), at);
+            assertEquals(min, window.getMin(), at);
+            assertEquals(max, window.getMax(), at);
+            assertEquals(buckets.getStartMillis(oldest), window.getStartMillis(), at);
+            assertEquals(buckets.getEndMillis(last), window.getEndMillis(), at);
+            assertEquals(buckets.getRange(oldest).getFirstDay(), window.getRange().getFirstDay(), at);
+            assertEquals(buckets.getRange(last).getLastDay(), window.getRange().getLastDay(), at);
+            String expected = buckets.getLabel(oldest) + " - " + buckets.getLabel(last);
+            assertEquals(periods == 1 ? buckets.getLabel(last) : expected, window.getLabel(), at);
+        }
+    }
+}
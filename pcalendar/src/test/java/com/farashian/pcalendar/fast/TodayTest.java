@@ -0,0 +1,135 @@
+package com.farashian.pcalendar.fast;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodayTest {
+
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+    private static final long MILLIS_PER_DAY  = 24 * MILLIS_PER_HOUR;
+
+    @Test
+    void rollsOverAtLocalMidnight() {
+        long         midnight = FastPersianCalendar.ofPersian(1403, 7, 10).getTimeInMillis();
+        MutableClock clock    = new MutableClock(midnight - 1);
+        try {
+            Today.setClock(clock);
+            Today before = Today.get();
+            assertEquals(9, before.getDayOfMonth());
+            assertEquals(midnight, before.getEndMillis());
+            assertSame(before, Today.get());
+
+            clock.millis = midnight;
+            Today after = Today.get();
+            assertEquals(10, after.getDayOfMonth());
+            assertEquals(before.getEpochDay() + 1, after.getEpochDay());
+            assertEquals(midnight, after.getStartMillis());
+            assertEquals(FastPersianCalendar.ofPersian(1403, 7, 11).getTimeInMillis(), after.getEndMillis());
+            assertEquals(after.getEpochDay(), FastPersianCalendar.ofPersian(1403, 7, 10).toEpochDay());
+        } finally {
+            Today.setClock(Clock.systemUTC());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void thisYearFollowsNowruz() {
+        long         nowruz = FastPersianCalendar.ofPersian(1404, 1, 1).getTimeInMillis();
+        MutableClock clock  = new MutableClock(nowruz - 1);
+        try {
+            Today.setClock(clock);
+            assertEquals(1403, FDateUtils.thisYear());
+            assertEquals(1403, FDateUtils.THIS_YEAR);
+
+            clock.millis = nowruz;
+            assertEquals(1404, FDateUtils.thisYear());
+            assertEquals(1404, FDateUtils.THIS_YEAR);
+        } finally {
+            Today.setClock(Clock.systemUTC());
+        }
+    }
+
+    @Test
+    void comparisonsUseTheClock() {
+        long now = FastPersianCalendar.ofPersian(1403, 7, 10, 12, 0, 0, 0, TimeZone.getDefault()).getTimeInMillis();
+        try {
+            Today.setClock(Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+            assertEquals(now, Today.currentTimeMillis());
+
+            FastPersianCalendar morning = FastPersianCalendar.ofPersian(1403, 7, 10);
+            assertTrue(morning.isToday());
+            assertTrue(morning.isPast());
+            assertFalse(morning.isFuture());
+            assertFalse(FastPersianCalendar.ofPersian(1403, 7, 9).isToday());
+            assertFalse(FastPersianCalendar.ofPersian(1403, 7, 11).isToday());
+            assertTrue(FastPersianCalendar.ofEpochMillis(now + 1, TimeZone.getDefault()).isFuture());
+            assertFalse(FastPersianCalendar.ofEpochMillis(now, TimeZone.getDefault()).isPast());
+
+            //Whole days elapsed, so three and a half days ago is within 3 days but not 2
+            long                ago     = 3 * MILLIS_PER_DAY + 12 * MILLIS_PER_HOUR;
+            FastPersianCalendar earlier = FastPersianCalendar.ofEpochMillis(now - ago, TimeZone.getDefault());
+            assertTrue(earlier.isWithinLastDays(3));
+            assertFalse(earlier.isWithinLastDays(2));
+            assertFalse(FastPersianCalendar.ofEpochMillis(now - 4 * MILLIS_PER_DAY, TimeZone.getDefault())
+                                           .isWithinLastDays(3));
+        } finally {
+            Today.setClock(Clock.systemUTC());
+        }
+    }
+
+    @Test
+    void refreshPicksUpTheDefaultZone() {
+        TimeZone saved = TimeZone.getDefault();
+        String   other = saved.getID().equals("Asia/Tokyo") ? "America/New_York" : "Asia/Tokyo";
+        try {
+            Today.refresh();
+            assertEquals(saved.getID(), Today.get().getTimeZone().getID());
+
+            //The default zone is only read when the snapshot is rebuilt
+            TimeZone.setDefault(TimeZone.getTimeZone(other));
+            assertEquals(saved.getID(), Today.get().getTimeZone().getID());
+            Today.refresh();
+            assertEquals(other, Today.get().getTimeZone().getID());
+        } finally {
+            TimeZone.setDefault(saved);
+            Today.refresh();
+        }
+    }
+
+    //Clock whose millis the test moves forward, without dropping the snapshot as setClock does
+    private static final class MutableClock extends Clock {
+
+        private volatile long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.farashian.pcalendar.fast;
+
+import com.farashian.pcalendar.util.HijriConvertor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YearInfoTest {
+
+    @Test
+    void monthsMatchCalendarDays() {
+        GregorianCalendar gregorian = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        int[]             hijri     = new int[3];
+        for (int year = 1395; year <= 1410; year++) {
+            YearInfo info = YearInfo.of(year);
+            assertEquals(FastPersianCalendar.ofPersian(year, 1, 1).toEpochDay(), info.getFirstEpochDay());
+            assertEquals(FastPersianCalendar.ofPersian(year + 1, 1, 1).toEpochDay() - 1, info.getLastEpochDay());
+            assertEquals(info.getLength() == 366, info.isLeapYear());
+            assertEquals(12, info.getMonths().size());
+
+            for (MonthInfo month : info.getMonths()) {
+                assertEquals(year, month.getYear());
+                assertEquals(FastPersianCalendar.getDaysInMonthStatic(year, month.getMonth()), month.getLength());
+                assertSame(month, MonthInfo.of(year, month.getMonth()));
+
+                gregorian.setTimeInMillis(month.getFirstEpochDay() * 24 * 60 * 60 * 1000L);
+                assertEquals(gregorian.get(Calendar.YEAR), month.getGrgYear());
+                assertEquals(gregorian.get(Calendar.MONTH) + 1, month.getGrgMonth());
+                assertEquals(gregorian.get(Calendar.DAY_OF_MONTH), month.getGrgDay());
+                HijriConvertor.epochDayToHijri(month.getFirstEpochDay(), hijri);
+                assertArrayEquals(hijri, new int[]{month.getHijriYear(), month.getHijriMonth(), month.getHijriDay()});
+
+                int rows = 0;
+                for (int day = 1; day <= month.getLength(); day++) {
+                    long                epochDay = month.getEpochDay(day);
+                    FastPersianCalendar date     = FastPersianCalendar.ofEpochDay(epochDay);
+                    String              label    = date.getYear() + "/" + date.getMonth() + "/" + day;
+                    assertEquals(month.getMonth(), date.getMonth(), label);
+                    assertEquals(day, date.getDayOfMonth(), label);
+                    assertEquals(date.getDayOfWeek(), month.getDayOfWeek(day), label);
+                    assertEquals(date.get(Calendar.DAY_OF_YEAR), month.getDayOfYear(day), label);
+                    assertEquals(date.get(Calendar.WEEK_OF_MONTH), month.getWeekOfMonth(day), label);
+                    assertEquals(date.get(Calendar.WEEK_OF_YEAR), month.getWeekOfYear(day), label);
+                    assertSame(month, info.monthOf(epochDay), label);
+                    assertTrue(month.contains(epochDay) && info.contains(epochDay), label);
+
+                    //Saturday-first rows, a new row starts on every Saturday
+                    int column = date.getDayOfWeek() % Calendar.SATURDAY;
+                    if (day == 1) {
+                        assertEquals(column, month.getFirstWeekdayIndex());
+                        assertEquals(date.getDayOfWeek(), month.getFirstDayOfWeek());
+                    } else if (column == 0) {
+                        rows++;
+                    }
+                    assertEquals(rows, month.getRow(day), label);
+                }
+                assertEquals(rows + 1, month.getWeekCount());
+                assertFalse(month.contains(month.getFirstEpochDay() - 1));
+                assertFalse(month.contains(month.getLastEpochDay() + 1));
+                assertEquals(month.toRange(), PersianDateRange.ofPersianMonth(year, month.getMonth()));
+            }
+            assertEquals(info.toRange(), PersianDateRange.ofPersianYear(year));
+        }
+    }
+
+    @Test
+    void cacheAndValidation() {
+        YearInfo year = YearInfo.of(1403);
+        assertSame(year, YearInfo.of(1403));
+        assertEquals("1403 (366 days)", year.toString());
+        assertEquals("1404/12 (29 days)", MonthInfo.of(1404, 12).toString());
+
+        //Years sharing a cache slot are rebuilt, with equal months
+        YearInfo.of(1403 + 64);
+        YearInfo rebuilt = YearInfo.of(1403);
+        assertNotSame(year, rebuilt);
+        assertEquals(year.getMonth(7), rebuilt.getMonth(7));
+        assertEquals(year.getMonth(7).hashCode(), rebuilt.getMonth(7).hashCode());
+        assertNotEquals(year.getMonth(7), year.getMonth(8));
+
+        List<MonthInfo> months = year.getMonths();
+        assertThrows(UnsupportedOperationException.class, () -> months.set(0, null));
+        assertThrows(IllegalArgumentException.class, () -> year.getMonth(0));
+        assertThrows(IllegalArgumentException.class, () -> year.getMonth(13));
+        assertThrows(IllegalArgumentException.class, () -> year.monthOf(year.getLastEpochDay() + 1));
+        assertThrows(IllegalArgumentException.class, () -> MonthInfo.of(1404, 12).getEpochDay(30));
+        assertThrows(IllegalArgumentException.class, () -> MonthInfo.of(1404, 7).getRow(0));
+    }
+}
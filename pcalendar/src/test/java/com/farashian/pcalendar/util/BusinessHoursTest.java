@@ -0,0 +1,135 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.util.BusinessHours.MILLIS_PER_MINUTE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessHoursTest {
+
+    private static final TimeZone TEHRAN         = TimeZone.getTimeZone("Asia/Tehran");
+    private static final long     MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+    private static final long     FIRST_MILLIS   = tehranMillis(1399, 1, 1, 0, 0);
+    private static final long     SPAN_MINUTES   = 5 * 365 * 24 * 60;
+
+    private final BusinessHours hours = BusinessHours.getDefault();
+
+    @Test
+    void workMinutesPerDay() {
+        assertEquals(8 * 60, hours.workMinutes(epochDay(1403, 7, 1)));    //Sunday
+        assertEquals(4 * 60, hours.workMinutes(epochDay(1403, 7, 5)));    //Thursday
+        assertEquals(0, hours.workMinutes(epochDay(1403, 7, 6)));         //Friday
+        assertEquals(0, hours.workMinutes(epochDay(1403, 11, 22)));       //Revolution Day, a Sunday
+    }
+
+    @Test
+    void workingTimeMatchesWeeklySchedule() {
+        Random random = new Random(36);
+        for (int i = 0; i < 20000; i++) {
+            long millis = FIRST_MILLIS + random.nextInt((int) SPAN_MINUTES) * MILLIS_PER_MINUTE + random.nextInt(60000);
+            assertEquals(isWorking(millis), hours.isWorkingTime(millis), String.valueOf(millis));
+        }
+    }
+
+    @Test
+    void deadlinesMatchMinuteStepping() {
+        Random random = new Random(360);
+        for (int i = 0; i < 300; i++) {
+            long opened  = FIRST_MILLIS + random.nextInt((int) SPAN_MINUTES) * MILLIS_PER_MINUTE;
+            long minutes = random.nextInt(3 * 8 * 60);
+            assertEquals(stepDeadline(opened, minutes), hours.addBusinessMinutes(opened, minutes),
+                         opened + " + " + minutes);
+        }
+        //Deadlines landing on closing time stay on that day
+        long sunday = tehranMillis(1403, 7, 1, 8, 0);
+        assertEquals(tehranMillis(1403, 7, 1, 16, 0), hours.addBusinessMinutes(sunday, 8 * 60));
+        assertEquals(tehranMillis(1403, 7, 2, 8, 1), hours.addBusinessMinutes(sunday, 8 * 60 + 1));
+        assertEquals(sunday, hours.addBusinessMinutes(sunday, 0));
+        assertThrows(IllegalArgumentException.class, () -> hours.addBusinessMinutes(sunday, -1));
+    }
+
+    @Test
+    void elapsedMinutesMatchMinuteStepping() {
+        Random random = new Random(361);
+        for (int i = 0; i < 300; i++) {
+            long start = FIRST_MILLIS + random.nextInt((int) SPAN_MINUTES) * MILLIS_PER_MINUTE;
+            long end   = start + random.nextInt(10 * 24 * 60) * MILLIS_PER_MINUTE;
+            long steps = 0;
+            for (long t = start; t < end; t += MILLIS_PER_MINUTE) {
+                if (isWorking(t)) {
+                    steps++;
+                }
+            }
+            assertEquals(steps, hours.businessMinutesBetween(start, end));
+            assertEquals(-steps, hours.businessMinutesBetween(end, start));
+        }
+    }
+
+    @Test
+    void customHoursAndOverlays() {
+        HolidayCalendar tenant   = HolidayCalendar.getDefault().overlay();
+        BusinessHours   custom   = BusinessHours.persianWorkWeek(tenant, TEHRAN)
+                                                .withWorkingHours(Calendar.THURSDAY, 0, 0)
+                                                .withWorkingHours(Calendar.SATURDAY, 9 * 60, 13 * 60);
+        long            thursday = epochDay(1403, 7, 5);
+        long            saturday = epochDay(1403, 7, 7);
+        long            sunday   = epochDay(1403, 7, 8);
+        assertEquals(0, custom.workMinutes(thursday));
+        assertEquals(4 * 60, custom.workMinutes(saturday));
+        assertEquals(8 * 60, custom.workMinutes(sunday));
+
+        //Tables are rebuilt when the overlay changes
+        tenant.addClosure(sunday);
+        assertEquals(0, custom.workMinutes(sunday));
+        assertEquals(tehranMillis(1403, 7, 9, 8, 30), custom.addBusinessMinutes(tehranMillis(1403, 7, 7, 12, 0), 90));
+
+        assertThrows(IllegalArgumentException.class, () -> custom.withWorkingHours(0, 0, 60));
+        assertThrows(IllegalArgumentException.class, () -> custom.withWorkingHours(Calendar.MONDAY, 600, 500));
+        assertThrows(IllegalArgumentException.class, () -> custom.withWorkingHours(Calendar.MONDAY, 0, 24 * 60 + 1));
+        assertThrows(IllegalArgumentException.class, () -> BusinessHours.persianWorkWeek(null, TEHRAN));
+
+        BusinessHours noWork = BusinessHours.getDefault();
+        for (int dow = Calendar.SUNDAY; dow <= Calendar.SATURDAY; dow++) {
+            if (dow != Calendar.SATURDAY) {
+                noWork = noWork.withWorkingHours(dow, 0, 0);
+            }
+        }
+        BusinessHours lastDay = noWork;
+        assertThrows(IllegalArgumentException.class, () -> lastDay.withWorkingHours(Calendar.SATURDAY, 0, 0));
+    }
+
+    //Saturday to Wednesday 08:00-16:00, Thursday 08:00-12:00, official holidays off, on Tehran wall time
+    private static boolean isWorking(long millis) {
+        long local  = millis + TEHRAN.getOffset(millis);
+        long day    = Math.floorDiv(local, MILLIS_PER_DAY);
+        long minute = Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE;
+        int  dow    = (int) Math.floorMod(day + 4, 7L) + 1; //1970-01-01 was a Thursday
+        if (dow == Calendar.FRIDAY || HolidayCalendar.getDefault().isOfficialHoliday(day)) {
+            return false;
+        }
+        return minute >= 8 * 60 && minute < (dow == Calendar.THURSDAY ? 12 * 60 : 16 * 60);
+    }
+
+    private static long stepDeadline(long opened, long minutes) {
+        long due = opened;
+        for (long left = minutes; left > 0; due += MILLIS_PER_MINUTE) {
+            if (isWorking(due)) {
+                left--;
+            }
+        }
+        return due;
+    }
+
+    private static long tehranMillis(int year, int month, int day, int hour, int minute) {
+        return FastPersianCalendar.ofPersian(year, month, day, hour, minute, 0, 0, TEHRAN).getTimeInMillis();
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        return FastPersianCalendar.ofPersian(year, month, day).toEpochDay();
+    }
+}
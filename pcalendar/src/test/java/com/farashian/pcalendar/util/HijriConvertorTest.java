@@ -0,0 +1,65 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.YMD;
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HijriConvertorTest {
+
+    @Test
+    void epochDaysRoundTrip() {
+        int[] hijri    = new int[3];
+        int[] previous = new int[3];
+        HijriConvertor.epochDayToHijri(-80001, previous);
+        for (long day = -80000; day <= 60000; day++) {
+            HijriConvertor.epochDayToHijri(day, hijri);
+            assertEquals(day, HijriConvertor.hijriToEpochDay(hijri[0], hijri[1], hijri[2]), "day " + day);
+            assertEquals(hijri[0], HijriConvertor.hijriYearOf(day), "day " + day);
+
+            //Each day follows the previous one, months roll over at their length
+            if (hijri[2] == 1) {
+                assertEquals(HijriConvertor.getMonthLength(previous[0], previous[1]), previous[2], "day " + day);
+                assertEquals(previous[1] == 12 ? 1 : previous[1] + 1, hijri[1], "day " + day);
+                assertEquals(previous[1] == 12 ? previous[0] + 1 : previous[0], hijri[0], "day " + day);
+            } else {
+                assertEquals(previous[2] + 1, hijri[2], "day " + day);
+                assertEquals(previous[1], hijri[1], "day " + day);
+            }
+            System.arraycopy(hijri, 0, previous, 0, 3);
+        }
+    }
+
+    @Test
+    void epochDaysMatchCalendarConversion() {
+        TimeZone tehran = TimeZone.getTimeZone("Asia/Tehran");
+        int[]    hijri  = new int[3];
+        for (long day = 17000; day <= 23000; day += 7) {
+            GregorianCalendar date = new GregorianCalendar(tehran);
+            date.clear();
+            date.setTimeInMillis(day * 24 * 60 * 60 * 1000L);
+            YMD expected = HijriConvertor.gregorianToHijri(date.get(Calendar.YEAR), date.get(Calendar.MONTH),
+                                                           date.get(Calendar.DAY_OF_MONTH));
+            HijriConvertor.epochDayToHijri(day, hijri);
+            assertArrayEquals(new int[]{expected.year, expected.month, expected.day}, hijri, "day " + day);
+        }
+        //Eid al-Fitr 1446 fell on 1404/1/11
+        assertEquals(FastPersianCalendar.ofPersian(1404, 1, 11).toEpochDay(),
+                     HijriConvertor.hijriToEpochDay(1446, 10, 1));
+    }
+
+    @Test
+    void invalidDatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.hijriToEpochDay(1446, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.hijriToEpochDay(1446, 13, 1));
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.hijriToEpochDay(1446, 1, 31));
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.getMonthLength(1446, 13));
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.setOfficialMonthLengths(1446, new int[11]));
+        assertThrows(IllegalArgumentException.class, () -> HijriConvertor.setOfficialMonthLengths(1446, new int[12]));
+    }
+}
@@ -0,0 +1,210 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.util.HolidayCalendar.WeekendPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HolidayCalendarTest {
+
+    private static final long FIRST_DAY = epochDay(1395, 1, 1);
+    private static final long LAST_DAY  = epochDay(1410, 12, 29);
+
+    //Official calendars of 1403 and 1404, month/day
+    private static final String[] HOLIDAYS_1403 = {
+            "1/1", "1/2", "1/3", "1/4", "1/12", "1/13", "1/22", "1/23", "2/15", "3/14", "3/15", "3/28", "4/5",
+            "4/25", "4/26", "6/4", "6/12", "6/14", "6/22", "6/31", "9/15", "10/25", "11/9", "11/22", "11/26",
+            "12/29",
+    };
+    private static final String[] HOLIDAYS_1404 = {
+            "1/1", "1/2", "1/3", "1/4", "1/11", "1/12", "1/13", "2/4", "3/14", "3/15", "3/16", "3/24", "4/14",
+            "4/15", "5/23", "5/31", "6/2", "6/10", "6/19", "9/3", "10/13", "10/27", "11/15", "11/22", "12/20",
+            "12/29",
+    };
+
+    @Test
+    void officialHolidaysOf1403() {
+        assertEquals(new TreeSet<>(Arrays.asList(HOLIDAYS_1403)), officialHolidays(1403));
+    }
+
+    @Test
+    void officialHolidaysOf1404() {
+        assertEquals(new TreeSet<>(Arrays.asList(HOLIDAYS_1404)), officialHolidays(1404));
+    }
+
+    @Test
+    void weekendPolicies() {
+        HolidayCalendar friday         = HolidayCalendar.getDefault();
+        HolidayCalendar thursdayFriday = HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY);
+        assertSame(friday, HolidayCalendar.of(WeekendPolicy.FRIDAY));
+        assertThrows(IllegalArgumentException.class, () -> HolidayCalendar.of(null));
+
+        for (long day = epochDay(1403, 7, 1); day <= epochDay(1403, 8, 30); day++) {
+            int     dayOfWeek = FastPersianCalendar.ofEpochDay(day).getDayOfWeek();
+            boolean official  = friday.isOfficialHoliday(day);
+            assertEquals(dayOfWeek == Calendar.FRIDAY, friday.isWeekend(day));
+            assertEquals(dayOfWeek == Calendar.FRIDAY || official, friday.isHoliday(day));
+            assertEquals(dayOfWeek == Calendar.THURSDAY || dayOfWeek == Calendar.FRIDAY || official,
+                         thursdayFriday.isHoliday(day));
+            assertEquals(!friday.isHoliday(day), friday.isBusinessDay(day));
+        }
+    }
+
+    @Test
+    void countBusinessDaysMatchesDayScan() {
+        Random random = new Random(34);
+        for (HolidayCalendar holidays : policies()) {
+            for (int i = 0; i < 2000; i++) {
+                long first = FIRST_DAY + random.nextInt((int) (LAST_DAY - FIRST_DAY - 800));
+                long last  = first + random.nextInt(800) - 1;
+                assertEquals(scanBusinessDays(holidays, first, last), holidays.countBusinessDays(first, last),
+                             first + ".." + last);
+            }
+            //Whole years are counted from the year totals
+            long year1403 = epochDay(1403, 1, 1);
+            long year1405 = epochDay(1405, 1, 1);
+            assertEquals(scanBusinessDays(holidays, year1403, year1405 - 1),
+                         holidays.countBusinessDays(year1403, year1405 - 1));
+        }
+    }
+
+    @Test
+    void addBusinessDaysMatchesDayScan() {
+        Random random = new Random(35);
+        for (HolidayCalendar holidays : policies()) {
+            for (int i = 0; i < 2000; i++) {
+                long start = FIRST_DAY + 800 + random.nextInt((int) (LAST_DAY - FIRST_DAY - 1600));
+                int  days  = random.nextInt(801) - 400;
+                assertEquals(scanAdd(holidays, start, days), holidays.addBusinessDays(start, days), start + " + " + days);
+            }
+        }
+    }
+
+    @Test
+    void nextAndPreviousBusinessDay() {
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        //Esfand 29 1403 is a holiday, Esfand 30 of the leap year is a Thursday, then Nowruz to Farvardin 4
+        assertEquals(epochDay(1403, 12, 30), holidays.nextBusinessDay(epochDay(1403, 12, 28)));
+        assertEquals(epochDay(1404, 1, 5), holidays.nextBusinessDay(epochDay(1403, 12, 30)));
+        assertEquals(epochDay(1403, 12, 30), holidays.previousBusinessDay(epochDay(1404, 1, 5)));
+
+        for (long day = epochDay(1403, 1, 1); day <= epochDay(1404, 12, 29); day++) {
+            assertEquals(scanAdd(holidays, day, 1), holidays.nextBusinessDay(day));
+            assertEquals(scanAdd(holidays, day, -1), holidays.previousBusinessDay(day));
+        }
+        assertEquals(epochDay(1403, 5, 5), holidays.addBusinessDays(epochDay(1403, 5, 5), 0));
+    }
+
+    @Test
+    void overlayClosesAndOpensDays() {
+        HolidayCalendar base    = HolidayCalendar.getDefault();
+        HolidayCalendar tenant  = base.overlay();
+        long            tuesday = epochDay(1403, 5, 2);
+        long            friday  = epochDay(1403, 5, 5);
+        assertTrue(tenant.isOverlay());
+        assertFalse(base.isOverlay());
+
+        tenant.addClosure(tuesday);
+        tenant.addWorkingDay(friday);
+        assertTrue(tenant.isHoliday(tuesday));
+        assertFalse(tenant.isHoliday(friday));
+        assertFalse(base.isHoliday(tuesday));
+        assertTrue(base.isHoliday(friday));
+
+        tenant.clearOverrides(tuesday, friday);
+        assertFalse(tenant.isHoliday(tuesday));
+        assertTrue(tenant.isHoliday(friday));
+    }
+
+    @Test
+    void overlayArithmeticMatchesDayScan() {
+        HolidayCalendar tenant = HolidayCalendar.getDefault().overlay();
+        Random          random = new Random(37);
+        //Closures across the 1403/1404 year boundary and scattered working days
+        tenant.addClosures(epochDay(1403, 12, 20), epochDay(1404, 1, 20));
+        for (int i = 0; i < 200; i++) {
+            tenant.addWorkingDay(FIRST_DAY + random.nextInt((int) (LAST_DAY - FIRST_DAY)));
+            tenant.addClosure(FIRST_DAY + random.nextInt((int) (LAST_DAY - FIRST_DAY)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            long first = FIRST_DAY + 800 + random.nextInt((int) (LAST_DAY - FIRST_DAY - 1600));
+            long last  = first + random.nextInt(800);
+            int  days  = random.nextInt(801) - 400;
+            assertEquals(scanBusinessDays(tenant, first, last), tenant.countBusinessDays(first, last));
+            assertEquals(scanAdd(tenant, first, days), tenant.addBusinessDays(first, days));
+        }
+    }
+
+    @Test
+    void stackedOverlaysSeeTheirBase() {
+        HolidayCalendar company = HolidayCalendar.getDefault().overlay();
+        HolidayCalendar branch  = company.overlay();
+        long            day     = epochDay(1403, 7, 1);
+        long            version = branch.dataVersion();
+
+        company.addClosure(day);
+        assertTrue(branch.isHoliday(day));
+        assertTrue(branch.dataVersion() > version);
+
+        branch.addWorkingDay(day);
+        assertFalse(branch.isHoliday(day));
+        assertTrue(company.isHoliday(day));
+    }
+
+    @Test
+    void invalidChangesAreRejected() {
+        HolidayCalendar tenant = HolidayCalendar.getDefault().overlay();
+        long            day    = epochDay(1403, 7, 1);
+        assertThrows(IllegalStateException.class, () -> HolidayCalendar.getDefault().addClosure(day));
+        assertThrows(IllegalArgumentException.class, () -> tenant.addClosures(day, day - 1));
+    }
+
+    private static Set<String> officialHolidays(int year) {
+        HolidayCalendar holidays = HolidayCalendar.getDefault();
+        Set<String>     result   = new TreeSet<>();
+        for (long day = epochDay(year, 1, 1); day < epochDay(year + 1, 1, 1); day++) {
+            if (holidays.isOfficialHoliday(day)) {
+                FastPersianCalendar date = FastPersianCalendar.ofEpochDay(day);
+                result.add(date.getMonth() + "/" + date.getDayOfMonth());
+            }
+        }
+        return result;
+    }
+
+    private static int scanBusinessDays(HolidayCalendar holidays, long first, long last) {
+        int count = 0;
+        for (long day = first; day <= last; day++) {
+            if (holidays.isBusinessDay(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long scanAdd(HolidayCalendar holidays, long start, int days) {
+        long day  = start;
+        int  step = days < 0 ? -1 : 1;
+        for (int left = Math.abs(days); left > 0; ) {
+            day += step;
+            if (holidays.isBusinessDay(day)) {
+                left--;
+            }
+        }
+        return day;
+    }
+
+    private static HolidayCalendar[] policies() {
+        return new HolidayCalendar[]{HolidayCalendar.getDefault(), HolidayCalendar.of(WeekendPolicy.THURSDAY_FRIDAY)};
+    }
+
+    static long epochDay(int year, int month, int day) {
+        return FastPersianCalendar.ofPersian(year, month, day).toEpochDay();
+    }
+}
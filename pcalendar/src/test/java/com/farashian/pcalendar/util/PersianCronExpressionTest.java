@@ -0,0 +1,215 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import com.farashian.pcalendar.fast.Today;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static com.farashian.pcalendar.util.BusinessHours.MILLIS_PER_MINUTE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersianCronExpressionTest {
+
+    private static final TimeZone UTC             = TimeZone.getTimeZone("UTC");
+    private static final TimeZone TEHRAN          = TimeZone.getTimeZone("Asia/Tehran");
+    private static final int      MINUTES_PER_DAY = 24 * 60;
+    private static final long     FIRST_DAY       = FastPersianCalendar.ofPersian(1399, 1, 1).toEpochDay();
+
+    @Test
+    void lastDayOfMonth() {
+        assertMatchesScan("30 8 L * *", minute -> minute == 8 * 60 + 30,
+                          date -> date.getDayOfMonth() == date.getDaysInMonth());
+        assertMatchesScan("0 0 10,L 7-12 *", minute -> minute == 0,
+                          date -> date.getMonth() >= 7 && (date.getDayOfMonth() == 10
+                                                           || date.getDayOfMonth() == date.getDaysInMonth()));
+    }
+
+    @Test
+    void esfand30OnlyInLeapYears() {
+        assertMatchesScan("0 9 30 12 *", minute -> minute == 9 * 60,
+                          date -> date.getMonth() == 12 && date.getDayOfMonth() == 30);
+        assertMatchesScan("0 12 31 * *", minute -> minute == 12 * 60, date -> date.getDayOfMonth() == 31);
+
+        PersianCronExpression esfand30 = PersianCronExpression.parse("0 9 30 12 *");
+        assertEquals(utcMillis(1403, 12, 30, 9, 0), esfand30.nextFireTime(utcMillis(1399, 12, 30, 9, 0), UTC));
+        assertEquals(PersianCronExpression.NONE, PersianCronExpression.parse("0 0 31 7-12 *").nextFireTime(0, UTC));
+
+        //The search bound relies on the gap between leap years
+        int lastLeap = 0;
+        for (int year = 1; year < 4000; year++) {
+            long nowruz = EpochDayConvertor.persianToEpochDay(year, 1, 1);
+            if (EpochDayConvertor.persianToEpochDay(year + 1, 1, 1) - nowruz == 366) {
+                assertTrue(lastLeap == 0 || year - lastLeap <= EpochDayConvertor.MAX_LEAP_GAP_YEARS, "leap " + year);
+                lastLeap = year;
+            }
+        }
+    }
+
+    @Test
+    void restrictedDayFieldsMatchEither() {
+        //Weekdays are Saturday-first, 5 is Thursday and 6 is Friday
+        assertMatchesScan("0 18 * * 5", minute -> minute == 18 * 60, date -> weekday(date) == 5);
+        assertMatchesScan("15,45 9-17/4 1,15 * 6",
+                          minute -> (minute / 60 == 9 || minute / 60 == 13 || minute / 60 == 17)
+                                    && (minute % 60 == 15 || minute % 60 == 45),
+                          date -> date.getDayOfMonth() == 1 || date.getDayOfMonth() == 15 || weekday(date) == 6);
+        assertMatchesScan("*/20 0 L 1-6 0", minute -> minute < 60 && minute % 20 == 0,
+                          date -> date.getMonth() <= 6 && (date.getDayOfMonth() == date.getDaysInMonth()
+                                                           || weekday(date) == 0));
+        assertMatchesScan("0 6 1-31 * 2", minute -> minute == 6 * 60, date -> true);
+    }
+
+    @Test
+    void dayFieldsStartingWithStarMatchBoth() {
+        assertMatchesScan("0 0 */2 * 1", minute -> minute == 0,
+                          date -> date.getDayOfMonth() % 2 == 1 && weekday(date) == 1);
+        assertMatchesScan("0 0 1-10 * */2", minute -> minute == 0,
+                          date -> date.getDayOfMonth() <= 10 && weekday(date) % 2 == 0);
+        assertMatchesScan("0 0 */2 * */3", minute -> minute == 0,
+                          date -> date.getDayOfMonth() % 2 == 1 && weekday(date) % 3 == 0);
+        assertEquals(PersianCronExpression.parse("0 0 * * 1"), PersianCronExpression.parse("0 0 */1 * 1"));
+        assertNotEquals(PersianCronExpression.parse("0 0 */2 * 1"), PersianCronExpression.parse("0 0 1-31/2 * 1"));
+    }
+
+    @Test
+    void wallTimesFollowTheZone() {
+        PersianCronExpression nine = PersianCronExpression.parse("0 9 * * *");
+        long                  now  = FastPersianCalendar.ofPersian(1403, 7, 1, 10, 0, 0, 0, TEHRAN).getTimeInMillis();
+        assertEquals(FastPersianCalendar.ofPersian(1403, 7, 2, 9, 0, 0, 0, TEHRAN).getTimeInMillis(),
+                     nine.nextFireTime(now, TEHRAN));
+        assertEquals(nine.nextFireTime(now, TimeZone.getDefault()), nine.nextFireTime(now));
+
+        //Strictly after: a fire time is never returned for itself
+        long fire = nine.nextFireTime(now, TEHRAN);
+        assertEquals(fire + 24 * 60 * MILLIS_PER_MINUTE, nine.nextFireTime(fire, TEHRAN));
+        assertEquals(fire, nine.nextFireTime(fire - 1, TEHRAN));
+    }
+
+    @Test
+    void repeatedWallTimesFireOnTheFirstPass() {
+        TimeZone              newYork  = TimeZone.getTimeZone("America/New_York");
+        PersianCronExpression halfHour = PersianCronExpression.parse("*/30 * * * *");
+
+        //Clocks went back from 02:00 EDT to 01:00 EST on 2023-11-05, 06:00Z
+        assertFireTimes(halfHour, newYork, Instant.parse("2023-11-05T04:00:00Z"),
+                        "2023-11-05T04:30:00Z", "2023-11-05T05:00:00Z", "2023-11-05T05:30:00Z",
+                        "2023-11-05T07:00:00Z", "2023-11-05T07:30:00Z");
+        assertEquals(Instant.parse("2023-11-05T05:30:00Z").toEpochMilli(),
+                     halfHour.nextFireTime(Instant.parse("2023-11-05T05:10:00Z").toEpochMilli(), newYork));
+
+        //Clocks went forward from 02:00 EST to 03:00 EDT on 2023-03-12, 07:00Z
+        assertFireTimes(halfHour, newYork, Instant.parse("2023-03-12T06:00:00Z"),
+                        "2023-03-12T06:30:00Z", "2023-03-12T07:00:00Z", "2023-03-12T07:30:00Z");
+        assertFireTimes(PersianCronExpression.parse("30 1 * * *"), newYork, Instant.parse("2023-11-04T12:00:00Z"),
+                        "2023-11-05T05:30:00Z", "2023-11-06T06:30:00Z");
+    }
+
+    @Test
+    void parseAndEquality() {
+        assertEquals(PersianCronExpression.parse("0 0 * * *"), PersianCronExpression.parse(" 0  0 * * * "));
+        assertEquals("0  0 * * *", PersianCronExpression.parse(" 0  0 * * * ").getExpression());
+        assertEquals(PersianCronExpression.parse("0,30 0 * * *"), PersianCronExpression.parse("*/30 0 * * *"));
+        assertNotEquals(PersianCronExpression.parse("0 0 * * *"), PersianCronExpression.parse("0 0 1-31 * *"));
+        assertNotEquals(PersianCronExpression.parse("0 0 L * *"), PersianCronExpression.parse("0 0 * * *"));
+
+        String[] invalid = {null, "0 0 * *", "0 0 * * * *", "60 0 * * *", "0 24 * * *", "0 0 0 * *", "0 0 32 * *",
+                            "0 0 * 13 *", "0 0 * * 7", "0 0 5-3 * *", "0 0 */0 * *", "a 0 * * *", "0 0 L,1 * *"};
+        for (String expression : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> PersianCronExpression.parse(expression), expression);
+        }
+    }
+
+    @Test
+    void schedulerRunsInTheDefaultZone() throws InterruptedException {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            PersianCronScheduler scheduler = new PersianCronScheduler(executor);
+            assertEquals(TimeZone.getDefault().getID(), scheduler.getTimeZone().getID());
+
+            PersianCronExpression cron = PersianCronExpression.parse("0 9 * * *");
+            long                  fire = cron.nextFireTime(utcMillis(1403, 7, 1, 0, 0));
+            Today.setClock(Clock.fixed(Instant.ofEpochMilli(fire - 1), ZoneOffset.UTC));
+
+            //Hold the executor's thread so the run cannot start before the first check
+            CountDownLatch gate = new CountDownLatch(1);
+            executor.submit(() -> gate.await(5, TimeUnit.SECONDS));
+
+            CountDownLatch                ran  = new CountDownLatch(1);
+            PersianCronScheduler.CronTask task = scheduler.schedule(cron, ran::countDown);
+            assertEquals(fire, task.getNextFireTime());
+            gate.countDown();
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+
+            //The next run is planned after the one that fired
+            long deadline = System.currentTimeMillis() + 5000;
+            while (task.getNextFireTime() == fire && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(cron.nextFireTime(fire), task.getNextFireTime());
+
+            task.cancel();
+            assertTrue(task.isCancelled());
+            assertThrows(IllegalArgumentException.class,
+                         () -> scheduler.schedule((PersianCronExpression) null, ran::countDown));
+            assertThrows(IllegalArgumentException.class, () -> new PersianCronScheduler(null));
+        } finally {
+            Today.setClock(Clock.systemUTC());
+            executor.shutdownNow();
+        }
+    }
+
+    //nextFireTime in UTC against stepping day by day, then minute by minute through matching days
+    private static void assertMatchesScan(String expression, IntPredicate minuteMatches,
+                                          Predicate<FastPersianCalendar> dayMatches) {
+        PersianCronExpression cron   = PersianCronExpression.parse(expression);
+        Random                random = new Random(expression.hashCode());
+        for (int i = 0; i < 300; i++) {
+            long after    = (FIRST_DAY * MINUTES_PER_DAY + random.nextInt(7 * 365 * MINUTES_PER_DAY))
+                            * MILLIS_PER_MINUTE + (i % 2 == 0 ? 0 : random.nextInt(60000));
+            long expected = PersianCronExpression.NONE;
+            long minute   = Math.floorDiv(after, MILLIS_PER_MINUTE) + 1;
+            for (long day = Math.floorDiv(minute, MINUTES_PER_DAY); expected == PersianCronExpression.NONE; day++) {
+                if (!dayMatches.test(FastPersianCalendar.ofEpochDay(day, UTC))) {
+                    continue;
+                }
+                for (int m = (int) Math.max(0, minute - day * MINUTES_PER_DAY); m < MINUTES_PER_DAY; m++) {
+                    if (minuteMatches.test(m)) {
+                        expected = (day * MINUTES_PER_DAY + m) * MILLIS_PER_MINUTE;
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, cron.nextFireTime(after, UTC), expression + " after " + after);
+        }
+    }
+
+    //Successive fire times from an instant on, each strictly after the previous one
+    private static void assertFireTimes(PersianCronExpression cron, TimeZone zone, Instant from, String... expected) {
+        long after = from.toEpochMilli();
+        for (String fire : expected) {
+            after = cron.nextFireTime(after, zone);
+            assertEquals(Instant.parse(fire), Instant.ofEpochMilli(after), cron + " in " + zone.getID());
+        }
+    }
+
+    //Saturday-first weekday index, as in cron expressions
+    private static int weekday(FastPersianCalendar date) {
+        return date.getDayOfWeek() % Calendar.SATURDAY;
+    }
+
+    private static long utcMillis(int year, int month, int day, int hour, int minute) {
+        return FastPersianCalendar.ofPersian(year, month, day, hour, minute, 0, 0, UTC).getTimeInMillis();
+    }
+}
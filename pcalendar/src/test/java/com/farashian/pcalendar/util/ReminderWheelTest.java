@@ -0,0 +1,147 @@
+package com.farashian.pcalendar.util;
+
+import com.farashian.pcalendar.fast.FastPersianCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static com.farashian.pcalendar.util.BusinessHours.MILLIS_PER_MINUTE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderWheelTest {
+
+    private static final TimeZone UTC             = TimeZone.getTimeZone("UTC");
+    private static final TimeZone TEHRAN          = TimeZone.getTimeZone("Asia/Tehran");
+    private static final int      MINUTES_PER_DAY = 24 * 60;
+    private static final long     START_MINUTE    = FastPersianCalendar.ofPersian(1403, 1, 1).toEpochDay()
+                                                    * MINUTES_PER_DAY;
+
+    @Test
+    void firesLikeASortedQueue() {
+        Random random = new Random(46);
+        for (int round = 0; round < 20; round++) {
+            ReminderWheel     wheel   = new ReminderWheel(UTC, START_MINUTE * MILLIS_PER_MINUTE, 16);
+            Map<Long, long[]> pending = new HashMap<>();
+            long              now     = START_MINUTE;
+            long              payload = 0;
+            for (int step = 0; step < 400; step++) {
+                for (int i = random.nextInt(20); i > 0; i--) {
+                    //Mostly within the day, some days ahead, some past the day wheel, some overdue
+                    int  range  = new int[]{120, MINUTES_PER_DAY, 3000 * MINUTES_PER_DAY}[random.nextInt(3)];
+                    long due    = now - 30 + random.nextInt(range);
+                    long handle = wheel.schedule(due * MILLIS_PER_MINUTE + random.nextInt(60000), ++payload);
+                    pending.put(handle, new long[]{Math.max(due, now + 1), payload});
+                }
+                if (!pending.isEmpty() && random.nextInt(3) == 0) {
+                    long handle = new ArrayList<>(pending.keySet()).get(random.nextInt(pending.size()));
+                    assertTrue(wheel.cancel(handle));
+                    assertFalse(wheel.cancel(handle));
+                    pending.remove(handle);
+                }
+                assertEquals(pending.size(), wheel.size());
+
+                now += random.nextInt(4) == 0 ? random.nextInt(10 * MINUTES_PER_DAY) : random.nextInt(90);
+                List<Long> expected = new ArrayList<>();
+                List<Long> handles  = new ArrayList<>();
+                for (Iterator<Map.Entry<Long, long[]>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                    Map.Entry<Long, long[]> entry = it.next();
+                    if (entry.getValue()[0] <= now) {
+                        expected.add(entry.getValue()[1]);
+                        handles.add(entry.getKey());
+                        it.remove();
+                    }
+                }
+                List<Long> fired = new ArrayList<>();
+                assertEquals(expected.size(),
+                             wheel.advanceTo(now * MILLIS_PER_MINUTE + random.nextInt(60000), fired::add));
+                Collections.sort(expected);
+                Collections.sort(fired);
+                assertEquals(expected, fired);
+                for (long handle : handles) {
+                    assertFalse(wheel.cancel(handle));
+                }
+            }
+        }
+    }
+
+    @Test
+    void firesMinuteByMinuteInOrder() {
+        ReminderWheel wheel  = new ReminderWheel(UTC, START_MINUTE * MILLIS_PER_MINUTE);
+        Random        random = new Random(460);
+        List<long[]>  due    = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long minute = START_MINUTE + 1 + random.nextInt(2 * MINUTES_PER_DAY);
+            wheel.schedule(minute * MILLIS_PER_MINUTE, minute);
+            due.add(new long[]{minute});
+        }
+        List<Long> fired = new ArrayList<>();
+        for (long now = START_MINUTE; now <= START_MINUTE + 2 * MINUTES_PER_DAY; now++) {
+            long minute = now;
+            int  count  = wheel.advanceTo(now * MILLIS_PER_MINUTE, payload -> {
+                assertEquals(minute, payload);
+                fired.add(payload);
+            });
+            assertEquals(due.stream().filter(d -> d[0] == minute).count(), count);
+        }
+        assertEquals(2000, fired.size());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void callbacksScheduleForLaterMinutes() {
+        ReminderWheel wheel = new ReminderWheel(UTC, START_MINUTE * MILLIS_PER_MINUTE);
+        wheel.schedule((START_MINUTE + 5) * MILLIS_PER_MINUTE, 1);
+        wheel.schedule((START_MINUTE + 3 * MINUTES_PER_DAY) * MILLIS_PER_MINUTE, 2);
+        List<Long> fired = new ArrayList<>();
+        long       now   = (START_MINUTE + 10) * MILLIS_PER_MINUTE;
+
+        //An overdue reminder from a callback goes to the next minute, still within this advance
+        assertEquals(2, wheel.advanceTo(now, payload -> {
+            fired.add(payload);
+            if (payload == 1) {
+                wheel.schedule(START_MINUTE * MILLIS_PER_MINUTE, 3);
+            }
+        }));
+        assertEquals(Arrays.asList(1L, 3L), fired);
+
+        //Likewise when a whole day is expired in one batch
+        fired.clear();
+        assertEquals(2, wheel.advanceTo(now + 5L * MINUTES_PER_DAY * MILLIS_PER_MINUTE, payload -> {
+            fired.add(payload);
+            if (payload == 2) {
+                wheel.schedule(now, 4);
+            }
+        }));
+        assertEquals(Arrays.asList(2L, 4L), fired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void persianWallTimes() {
+        long          start = FastPersianCalendar.ofPersian(1403, 6, 31, 12, 0, 0, 0, TEHRAN).getTimeInMillis();
+        long          nine  = FastPersianCalendar.ofPersian(1403, 7, 1, 9, 0, 0, 0, TEHRAN).getTimeInMillis();
+        ReminderWheel wheel = new ReminderWheel(TEHRAN, start);
+        wheel.schedule(1403, 7, 1, 9, 0, 7);
+        wheel.schedule(1403, 12, 30, 23, 59, 8);
+        assertEquals(0, wheel.advanceTo(nine - 1, payload -> fail()));
+        assertEquals(1, wheel.advanceTo(nine, payload -> assertEquals(7, payload)));
+        assertEquals(1, wheel.size());
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1403, 7, 31, 9, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1404, 12, 30, 9, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1404, 13, 1, 9, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1404, 1, 0, 9, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1404, 1, 1, 24, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1404, 1, 1, 9, 60, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ReminderWheel(null, start));
+        assertEquals(1, wheel.size());
+    }
+}